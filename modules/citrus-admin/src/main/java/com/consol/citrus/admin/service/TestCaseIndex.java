@@ -0,0 +1,504 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.admin.service;
+
+import com.consol.citrus.admin.model.TestCaseData;
+import com.consol.citrus.admin.model.TestCaseType;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Test case index holds test case information per test source file together with the last modification time of that
+ * file. Index is persisted on disk and updated incrementally so only test source files created or modified since the
+ * last update are parsed again. Changes are detected with a file system watch service registered on all test source
+ * directories. In case no watch service is available the index compares last modification time of all test source files
+ * with each update instead.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class TestCaseIndex {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(TestCaseIndex.class);
+
+    /** Index file header marks the index file format version */
+    private static final String INDEX_HEADER = "# Citrus admin test index v1";
+
+    /** Index file encoding */
+    private static final Charset INDEX_ENCODING = Charset.forName("UTF-8");
+
+    /** Test source directories */
+    private final File testDirectory;
+    private final File javaDirectory;
+
+    /** Index file location */
+    private final File indexFile;
+
+    /** Reads test case information from test source files */
+    private final TestFileReader testFileReader;
+
+    /** Index entries by test source file path, sorted by path */
+    private final Map<String, IndexEntry> xmlTests = new TreeMap<String, IndexEntry>();
+    private final Map<String, IndexEntry> javaTests = new TreeMap<String, IndexEntry>();
+
+    /** File system watch service and watched directories */
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+
+    /** Index has been loaded and synchronized with file system */
+    private boolean initialized = false;
+
+    /**
+     * Reads test case information from a test source file.
+     */
+    public interface TestFileReader {
+        /**
+         * Reads all tests in given test source file.
+         * @param file
+         * @param type
+         * @return
+         */
+        List<TestCaseData> read(File file, TestCaseType type);
+    }
+
+    /**
+     * Default constructor using test source directories, index file and test file reader.
+     * @param testDirectory
+     * @param javaDirectory
+     * @param indexFile
+     * @param testFileReader
+     */
+    public TestCaseIndex(File testDirectory, File javaDirectory, File indexFile, TestFileReader testFileReader) {
+        this.testDirectory = testDirectory;
+        this.javaDirectory = javaDirectory;
+        this.indexFile = indexFile;
+        this.testFileReader = testFileReader;
+    }
+
+    /**
+     * Gets all indexed tests. XML tests come first followed by Java tests each sorted by test source file path.
+     * @return
+     */
+    public synchronized List<TestCaseData> getTests() {
+        update();
+
+        List<TestCaseData> tests = new ArrayList<TestCaseData>();
+        for (IndexEntry entry : xmlTests.values()) {
+            entry.addTests(tests);
+        }
+
+        for (IndexEntry entry : javaTests.values()) {
+            entry.addTests(tests);
+        }
+
+        return tests;
+    }
+
+    /**
+     * Gets number of indexed tests.
+     * @return
+     */
+    public synchronized long getTestCount() {
+        update();
+
+        long testCount = 0L;
+        for (IndexEntry entry : xmlTests.values()) {
+            testCount += entry.tests.size();
+        }
+
+        for (IndexEntry entry : javaTests.values()) {
+            testCount += entry.tests.size();
+        }
+
+        return testCount;
+    }
+
+    /**
+     * Closes the file system watch service.
+     */
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Failed to close test directory watch service", e);
+            }
+
+            watchService = null;
+            watchedDirectories.clear();
+        }
+
+        initialized = false;
+    }
+
+    /**
+     * Brings index up to date with test source files and saves index to disk if anything has changed.
+     */
+    private void update() {
+        boolean changed;
+
+        if (!initialized) {
+            load();
+
+            if (watchService == null) {
+                try {
+                    watchService = FileSystems.getDefault().newWatchService();
+                } catch (IOException e) {
+                    log.warn("Unable to watch test directories - test index is refreshed by scanning all test sources", e);
+                }
+            }
+
+            changed = scan();
+            initialized = true;
+        } else if (watchService == null) {
+            changed = scan();
+        } else {
+            changed = processWatchEvents();
+        }
+
+        if (changed) {
+            save();
+        }
+    }
+
+    /**
+     * Scans all test source directories and updates index entries of new and modified test source files.
+     * Removes index entries of test source files that do not exist anymore.
+     * @return true if index has changed
+     */
+    private boolean scan() {
+        if (!testDirectory.exists()) {
+            throw new CitrusRuntimeException("Test directory " + testDirectory.getAbsolutePath() + " does not exist");
+        }
+
+        Set<String> found = new HashSet<String>();
+
+        boolean changed = scan(testDirectory, found);
+        changed |= scan(javaDirectory, found);
+
+        changed |= xmlTests.keySet().retainAll(found);
+        changed |= javaTests.keySet().retainAll(found);
+
+        return changed;
+    }
+
+    /**
+     * Scans directory and all sub directories for test source files. Registers directories with watch service.
+     * @param directory
+     * @param found collects paths of all test source files found
+     * @return true if index has changed
+     */
+    private boolean scan(File directory, Set<String> found) {
+        boolean changed = false;
+
+        Deque<File> directories = new ArrayDeque<File>();
+        if (directory.isDirectory()) {
+            directories.push(directory);
+        }
+
+        while (!directories.isEmpty()) {
+            File dir = directories.pop();
+            watch(dir);
+
+            File[] files = dir.listFiles();
+            if (files == null) {
+                continue;
+            }
+
+            for (File file : files) {
+                if (file.getName().startsWith("CVS") || file.getName().startsWith(".svn")) {
+                    continue;
+                }
+
+                if (file.isDirectory()) {
+                    directories.push(file);
+                } else if (getTestCaseType(file) != null) {
+                    found.add(file.getPath());
+                    changed |= index(file);
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Processes all pending file system events and updates index entries of affected test source files.
+     * Falls back to complete scan when events got lost.
+     * @return true if index has changed
+     */
+    private boolean processWatchEvents() {
+        boolean changed = false;
+        boolean overflow = false;
+
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = watchedDirectories.get(key);
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || directory == null) {
+                    overflow = true;
+                } else {
+                    changed |= update(directory.resolve((Path) event.context()).toFile());
+                }
+            }
+
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+
+        if (overflow) {
+            changed |= scan();
+        }
+
+        return changed;
+    }
+
+    /**
+     * Updates index for created, modified or deleted file or directory.
+     * @param file
+     * @return true if index has changed
+     */
+    private boolean update(File file) {
+        if (file.isDirectory()) {
+            return scan(file, new HashSet<String>());
+        } else if (file.exists()) {
+            return getTestCaseType(file) != null && index(file);
+        } else {
+            return remove(xmlTests, file) | remove(javaTests, file);
+        }
+    }
+
+    /**
+     * Reads tests from test source file if file is new or has been modified since last indexing.
+     * @param file
+     * @return true if index has changed
+     */
+    private boolean index(File file) {
+        TestCaseType type = getTestCaseType(file);
+        Map<String, IndexEntry> entries = type == TestCaseType.XML ? xmlTests : javaTests;
+
+        IndexEntry entry = entries.get(file.getPath());
+        long lastModified = file.lastModified();
+        if (entry != null && entry.lastModified == lastModified) {
+            return false;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Indexing test source file: " + file.getPath());
+        }
+
+        entries.put(file.getPath(), new IndexEntry(type, lastModified, testFileReader.read(file, type)));
+        return true;
+    }
+
+    /**
+     * Removes index entries for deleted file or deleted directory.
+     * @param entries
+     * @param file
+     * @return true if index has changed
+     */
+    private boolean remove(Map<String, IndexEntry> entries, File file) {
+        boolean changed = entries.remove(file.getPath()) != null;
+
+        String directoryPrefix = file.getPath() + File.separator;
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext();) {
+            if (it.next().startsWith(directoryPrefix)) {
+                it.remove();
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Registers directory with watch service.
+     * @param directory
+     */
+    private void watch(File directory) {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            Path path = directory.toPath();
+            WatchKey key = path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchedDirectories.put(key, path);
+        } catch (IOException e) {
+            log.warn("Failed to watch test directory: " + directory.getPath(), e);
+        }
+    }
+
+    /**
+     * Gets test type for test source file based on file location and extension. Returns null
+     * if file is not a test source file.
+     * @param file
+     * @return
+     */
+    private TestCaseType getTestCaseType(File file) {
+        String path = file.getPath();
+
+        if (path.endsWith(".xml") && path.startsWith(testDirectory.getPath() + File.separator)) {
+            return TestCaseType.XML;
+        } else if (path.endsWith(".java") && path.startsWith(javaDirectory.getPath() + File.separator)) {
+            return TestCaseType.JAVA;
+        }
+
+        return null;
+    }
+
+    /**
+     * Loads index from index file if present.
+     */
+    private void load() {
+        xmlTests.clear();
+        javaTests.clear();
+
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), INDEX_ENCODING));
+
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                log.info("Ignoring test index file with unknown format: " + indexFile.getPath());
+                return;
+            }
+
+            IndexEntry entry = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split("\t", -1);
+
+                if (tokens[0].equals("F") && tokens.length == 4) {
+                    entry = new IndexEntry(TestCaseType.valueOf(tokens[2]), Long.valueOf(tokens[3]), new ArrayList<TestCaseData>());
+                    (entry.type == TestCaseType.XML ? xmlTests : javaTests).put(tokens[1], entry);
+                } else if (tokens[0].equals("T") && tokens.length == 4 && entry != null) {
+                    TestCaseData testCase = new TestCaseData();
+                    testCase.setType(entry.type);
+                    testCase.setName(tokens[1]);
+                    testCase.setPackageName(tokens[2]);
+                    testCase.setFile(tokens[3]);
+                    testCase.setLastModified(entry.lastModified);
+
+                    entry.tests.add(testCase);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read test index file - rebuilding test index", e);
+            xmlTests.clear();
+            javaTests.clear();
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid test index file - rebuilding test index", e);
+            xmlTests.clear();
+            javaTests.clear();
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Saves index to index file.
+     */
+    private void save() {
+        if (!indexFile.getParentFile().exists() && !indexFile.getParentFile().mkdirs()) {
+            log.warn("Unable to create test index directory: " + indexFile.getParent());
+            return;
+        }
+
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(indexFile), INDEX_ENCODING));
+            writer.write(INDEX_HEADER);
+            writer.write('\n');
+
+            for (Map<String, IndexEntry> entries : Arrays.asList(xmlTests, javaTests)) {
+                for (Map.Entry<String, IndexEntry> entry : entries.entrySet()) {
+                    IndexEntry indexEntry = entry.getValue();
+                    writer.write("F\t" + entry.getKey() + "\t" + indexEntry.type.name() + "\t" + indexEntry.lastModified + "\n");
+
+                    for (TestCaseData testCase : indexEntry.tests) {
+                        writer.write("T\t" + testCase.getName() + "\t" + testCase.getPackageName() + "\t" + testCase.getFile() + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write test index file: " + indexFile.getPath(), e);
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    /**
+     * Closes reader or writer ignoring errors.
+     * @param closeable
+     */
+    private void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("Failed to close test index file", e);
+            }
+        }
+    }
+
+    /**
+     * Tests read from a single test source file.
+     */
+    private static class IndexEntry {
+        private final TestCaseType type;
+        private final long lastModified;
+        private final List<TestCaseData> tests;
+
+        IndexEntry(TestCaseType type, long lastModified, List<TestCaseData> tests) {
+            this.type = type;
+            this.lastModified = lastModified;
+            this.tests = tests;
+        }
+
+        /**
+         * Adds copies of indexed tests to given list so callers can not change the index.
+         * @param testList
+         */
+        void addTests(List<TestCaseData> testList) {
+            for (TestCaseData test : tests) {
+                TestCaseData testCase = new TestCaseData();
+                testCase.setType(test.getType());
+                testCase.setName(test.getName());
+                testCase.setPackageName(test.getPackageName());
+                testCase.setFile(test.getFile());
+                testCase.setLastModified(test.getLastModified());
+
+                testList.add(testCase);
+            }
+        }
+    }
+}
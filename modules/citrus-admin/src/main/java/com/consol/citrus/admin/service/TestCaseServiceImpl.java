@@ -29,6 +29,7 @@ import com.consol.citrus.util.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -42,12 +43,13 @@ import java.util.*;
 
 /**
  * Test case service reads tests from file system and delegates to file system test executor for
- * test execution.
+ * test execution. Tests are read from a test case index per project that only parses new and modified test
+ * sources.
  * @author Christoph Deppisch
  * @since 1.4
  */
 @Component
-public class TestCaseServiceImpl extends AbstractTestCaseService {
+public class TestCaseServiceImpl extends AbstractTestCaseService implements DisposableBean {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(TestCaseServiceImpl.class);
@@ -63,73 +65,110 @@ public class TestCaseServiceImpl extends AbstractTestCaseService {
     @Autowired
     private FileHelper fileHelper;
 
+    /** Test case index location relative to project home */
+    private static final String TEST_INDEX_FILE = "target" + File.separator + "citrus-admin" + File.separator + "test-index";
+
+    /** Test case indexes by project home */
+    private final Map<String, TestCaseIndex> testCaseIndexes = new HashMap<String, TestCaseIndex>();
+
     @Override
     public List<TestCaseData> getTests(Project project) {
-        List<TestCaseData> tests = new ArrayList<TestCaseData>();
+        return getTestCaseIndex(project).getTests();
+    }
 
-        List<File> testFiles = FileUtils.getTestFiles(getTestDirectory(project));
-        for (File file : testFiles) {
-            String testName = FilenameUtils.getBaseName(file.getName());
-            String testPackageName = file.getPath().substring(getTestDirectory(project).length(), file.getPath().length() - file.getName().length())
-                    .replace(File.separatorChar, '.');
+    @Override
+    public Long getTestCount(Project project) {
+        return getTestCaseIndex(project).getTestCount();
+    }
 
-            if (testPackageName.endsWith(".")) {
-                testPackageName = testPackageName.substring(0, testPackageName.length() - 1);
+    @Override
+    public void destroy() throws Exception {
+        synchronized (testCaseIndexes) {
+            for (TestCaseIndex testCaseIndex : testCaseIndexes.values()) {
+                testCaseIndex.close();
             }
 
-            TestCaseData testCase = new TestCaseData();
-            testCase.setType(TestCaseType.XML);
-            testCase.setName(testName);
-            testCase.setPackageName(testPackageName);
-            testCase.setFile(file.getParentFile().getAbsolutePath() + File.separator + FilenameUtils.getBaseName(file.getName()));
-            testCase.setLastModified(file.lastModified());
-
-            tests.add(testCase);
+            testCaseIndexes.clear();
         }
+    }
 
-        try {
-            Resource[] javaSources = new PathMatchingResourcePatternResolver().getResources("file:" + FilenameUtils.separatorsToUnix(getJavaDirectory(project)) + "**/*.java");
-
-            for (Resource resource : javaSources) {
-                File file = resource.getFile();
-                String testName = FilenameUtils.getBaseName(file.getName());
-                String testPackage = file.getParentFile().getAbsolutePath().substring(getJavaDirectory(project).length()).replace(File.separatorChar, '.');
-
-                if (knownToClasspath(testPackage, testName)) {
-                    tests.addAll(getTestCaseInfoFromClass(testPackage, testName, file));
-                } else {
-                    tests.addAll(getTestCaseInfoFromFile(testPackage, testName, file));
-                }
+    /**
+     * Gets test case index for project. Creates new index on first access. Index file is located in project
+     * build output directory.
+     * @param project
+     * @return
+     */
+    private TestCaseIndex getTestCaseIndex(Project project) {
+        final String projectHome = new File(project.getProjectHome()).getAbsolutePath();
+
+        synchronized (testCaseIndexes) {
+            TestCaseIndex testCaseIndex = testCaseIndexes.get(projectHome);
+
+            if (testCaseIndex == null) {
+                final String testDirectory = getTestDirectory(project);
+                final String javaDirectory = getJavaDirectory(project);
+
+                testCaseIndex = new TestCaseIndex(new File(testDirectory), new File(javaDirectory),
+                        new File(projectHome + File.separator + TEST_INDEX_FILE),
+                        new TestCaseIndex.TestFileReader() {
+                            @Override
+                            public List<TestCaseData> read(File file, TestCaseType type) {
+                                if (type.equals(TestCaseType.XML)) {
+                                    return Collections.singletonList(getTestCaseInfoFromXmlFile(testDirectory, file));
+                                } else {
+                                    return getTestCaseInfoFromJavaFile(javaDirectory, file);
+                                }
+                            }
+                        });
+
+                testCaseIndexes.put(projectHome, testCaseIndex);
             }
-        } catch (IOException e) {
-            log.warn("Failed to read Java source files - list of test cases for this project is incomplete", e);
-        }
 
-        return tests;
+            return testCaseIndex;
+        }
     }
 
-    @Override
-    public Long getTestCount(Project project) {
-        Long testCount = Long.valueOf(FileUtils.getTestFiles(getTestDirectory(project)).size());
+    /**
+     * Adds test info for XML test file.
+     * @param testDirectory
+     * @param file
+     * @return
+     */
+    private TestCaseData getTestCaseInfoFromXmlFile(String testDirectory, File file) {
+        String testName = FilenameUtils.getBaseName(file.getName());
+        String testPackageName = file.getPath().substring(testDirectory.length(), file.getPath().length() - file.getName().length())
+                .replace(File.separatorChar, '.');
 
-        try {
-            Resource[] javaSources = new PathMatchingResourcePatternResolver().getResources("file:" + FilenameUtils.separatorsToUnix(getJavaDirectory(project)) + "**/*.java");
-            for (Resource resource : javaSources) {
-                File file = resource.getFile();
-                String testName = FilenameUtils.getBaseName(file.getName());
-                String testPackage = file.getParentFile().getAbsolutePath().substring(getJavaDirectory(project).length()).replace(File.separatorChar, '.');
-
-                if (knownToClasspath(testPackage, testName)) {
-                    testCount += getTestCaseInfoFromClass(testPackage, testName, file).size();
-                } else {
-                    testCount += getTestCaseInfoFromFile(testPackage, testName, file).size();
-                }
-            }
-        } catch (IOException e) {
-            log.warn("Failed to read Java source files - list of test cases for this project is incomplete", e);
+        if (testPackageName.endsWith(".")) {
+            testPackageName = testPackageName.substring(0, testPackageName.length() - 1);
         }
 
-        return testCount;
+        TestCaseData testCase = new TestCaseData();
+        testCase.setType(TestCaseType.XML);
+        testCase.setName(testName);
+        testCase.setPackageName(testPackageName);
+        testCase.setFile(file.getParentFile().getAbsolutePath() + File.separator + FilenameUtils.getBaseName(file.getName()));
+        testCase.setLastModified(file.lastModified());
+
+        return testCase;
+    }
+
+    /**
+     * Adds test info for Java source file either from class information if class is known to classpath or
+     * from file content.
+     * @param javaDirectory
+     * @param file
+     * @return
+     */
+    private List<TestCaseData> getTestCaseInfoFromJavaFile(String javaDirectory, File file) {
+        String testName = FilenameUtils.getBaseName(file.getName());
+        String testPackage = file.getParentFile().getAbsolutePath().substring(javaDirectory.length()).replace(File.separatorChar, '.');
+
+        if (knownToClasspath(testPackage, testName)) {
+            return getTestCaseInfoFromClass(testPackage, testName, file);
+        } else {
+            return getTestCaseInfoFromFile(testPackage, testName, file);
+        }
     }
 
     @Override
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.admin.service;
+
+import com.consol.citrus.admin.model.TestCaseData;
+import com.consol.citrus.admin.model.TestCaseType;
+import org.springframework.core.io.ClassPathResource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class TestCaseIndexTest {
+
+    @Test
+    public void testIndexReusedFromFile() throws IOException {
+        File projectHome = new ClassPathResource("test-project").getFile();
+        File indexFile = File.createTempFile("test-index", "");
+        indexFile.deleteOnExit();
+        indexFile.delete();
+
+        final List<File> readFiles = new ArrayList<File>();
+        TestCaseIndex.TestFileReader testFileReader = new TestCaseIndex.TestFileReader() {
+            @Override
+            public List<TestCaseData> read(File file, TestCaseType type) {
+                readFiles.add(file);
+
+                TestCaseData testCase = new TestCaseData();
+                testCase.setType(type);
+                testCase.setName(file.getName());
+                testCase.setPackageName("");
+                testCase.setFile(file.getPath());
+                return Collections.singletonList(testCase);
+            }
+        };
+
+        TestCaseIndex testCaseIndex = new TestCaseIndex(new File(projectHome, "src/citrus/tests"), new File(projectHome, "src/citrus/java"), indexFile, testFileReader);
+        List<TestCaseData> tests = testCaseIndex.getTests();
+        testCaseIndex.close();
+
+        Assert.assertEquals(tests.size(), 3L);
+        Assert.assertEquals(readFiles.size(), 3L);
+        Assert.assertEquals(tests.get(0).getType(), TestCaseType.XML);
+        Assert.assertEquals(tests.get(1).getType(), TestCaseType.XML);
+        Assert.assertEquals(tests.get(2).getType(), TestCaseType.JAVA);
+        Assert.assertTrue(indexFile.exists());
+
+        readFiles.clear();
+        testCaseIndex = new TestCaseIndex(new File(projectHome, "src/citrus/tests"), new File(projectHome, "src/citrus/java"), indexFile, testFileReader);
+        List<TestCaseData> indexedTests = testCaseIndex.getTests();
+        Assert.assertEquals(testCaseIndex.getTestCount(), 3L);
+        testCaseIndex.close();
+
+        Assert.assertTrue(readFiles.isEmpty());
+        Assert.assertEquals(indexedTests.size(), 3L);
+        for (int i = 0; i < tests.size(); i++) {
+            Assert.assertEquals(indexedTests.get(i).getName(), tests.get(i).getName());
+            Assert.assertEquals(indexedTests.get(i).getFile(), tests.get(i).getFile());
+        }
+    }
+}
@@ -71,6 +71,18 @@ public class TestCaseServiceTest extends AbstractTestNGSpringContextTests {
         verify(project);
     }
 
+    @Test
+    public void testGetTestCount() throws IOException {
+        reset(project);
+        expect(project.getProjectHome()).andReturn(new ClassPathResource("test-project").getFile().getAbsolutePath()).atLeastOnce();
+        replay(project);
+
+        Assert.assertEquals(testCaseService.getTestCount(project), Long.valueOf(4L));
+        Assert.assertTrue(new ClassPathResource("test-project/target/citrus-admin/test-index").exists());
+
+        verify(project);
+    }
+
     @Test
     public void testGetTestFileTree() throws IOException {
         reset(project);
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.config.CitrusBaseConfig;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.context.TestContextFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base benchmark state loads the Citrus base Spring configuration once per trial and provides a fresh test context
+ * to subclasses. No citrus-context.xml user configuration is needed. State is scoped per benchmark thread as test context
+ * is not thread safe.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractCitrusBenchmark {
+
+    /** Citrus application context */
+    protected AnnotationConfigApplicationContext applicationContext;
+
+    /** Test context */
+    protected TestContext context;
+
+    @Setup(Level.Trial)
+    public void setupContext() {
+        applicationContext = new AnnotationConfigApplicationContext(CitrusBaseConfig.class);
+        context = applicationContext.getBean(TestContextFactory.class).getObject();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        applicationContext.close();
+    }
+}
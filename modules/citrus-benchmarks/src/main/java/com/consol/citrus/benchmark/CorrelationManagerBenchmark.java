@@ -0,0 +1,114 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.message.DefaultCorrelationManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks storing and finding correlated objects. Concurrent benchmark runs several threads
+ * storing and finding objects on the shared correlation manager. Handover benchmark lets a consumer thread
+ * wait with timeout for objects that a producer thread stores afterwards.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationManagerBenchmark {
+
+    /** Maximum number of objects the producer may store ahead of the consumer */
+    private static final long MAX_PENDING = 100L;
+
+    /** Correlation manager under test */
+    private DefaultCorrelationManager<String> correlationManager;
+
+    @Setup(Level.Trial)
+    public void setupCorrelationManager() {
+        correlationManager = new DefaultCorrelationManager<String>();
+    }
+
+    /**
+     * Per thread state generating unique correlation keys.
+     */
+    @State(Scope.Thread)
+    public static class CorrelationKeys {
+        private static final AtomicInteger threads = new AtomicInteger();
+
+        private final String prefix = threads.incrementAndGet() + "-";
+        private long index;
+
+        String next() {
+            return prefix + index++;
+        }
+    }
+
+    /**
+     * Per group state shared by producer and consumer thread.
+     */
+    @State(Scope.Group)
+    public static class Handover {
+        private static final AtomicInteger groups = new AtomicInteger();
+
+        private final String prefix = "handover-" + groups.incrementAndGet() + "-";
+        private final AtomicLong produced = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+    }
+
+    @Benchmark
+    public String storeAndFind(CorrelationKeys keys) {
+        String correlationKey = keys.next();
+        correlationManager.store(correlationKey, correlationKey);
+        return correlationManager.find(correlationKey);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String storeAndFindConcurrent(CorrelationKeys keys) {
+        String correlationKey = keys.next();
+        correlationManager.store(correlationKey, correlationKey);
+        return correlationManager.find(correlationKey);
+    }
+
+    @Benchmark
+    @Group("handover")
+    @GroupThreads(1)
+    public void handoverStore(Handover handover, Control control) {
+        while (handover.produced.get() - handover.consumed.get() > MAX_PENDING && !control.stopMeasurement) {
+            Thread.yield();
+        }
+
+        String correlationKey = handover.prefix + handover.produced.getAndIncrement();
+        correlationManager.store(correlationKey, correlationKey);
+    }
+
+    @Benchmark
+    @Group("handover")
+    @GroupThreads(1)
+    public String handoverFind(Handover handover) {
+        return correlationManager.find(handover.prefix + handover.consumed.getAndIncrement(), 1000L);
+    }
+}
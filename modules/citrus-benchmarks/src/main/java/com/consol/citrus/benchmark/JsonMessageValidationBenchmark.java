@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.validation.json.JsonTextMessageValidator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks Json message payload validation with control message, validation matchers and variables.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class JsonMessageValidationBenchmark extends AbstractCitrusBenchmark {
+
+    /** Validator under test */
+    private JsonTextMessageValidator validator;
+
+    /** Control message */
+    private Message controlMessage;
+
+    @Setup(Level.Trial)
+    public void setupValidator() {
+        validator = new JsonTextMessageValidator();
+
+        context.setVariable("customer", "Citrus");
+        controlMessage = new DefaultMessage(createPayload("${customer}", "@startsWith('2014-')@"));
+    }
+
+    @Benchmark
+    public Message validateMessage() {
+        Message receivedMessage = new DefaultMessage(createPayload("Citrus", "2014-10-01T12:00:00"));
+        validator.validateMessagePayload(receivedMessage, controlMessage, context);
+        return receivedMessage;
+    }
+
+    /**
+     * Creates order payload with given customer and timestamp values.
+     * @param customer
+     * @param timestamp
+     * @return
+     */
+    private static String createPayload(String customer, String timestamp) {
+        StringBuilder payload = new StringBuilder();
+        payload.append("{\"customer\":\"").append(customer).append("\", \"timestamp\":\"").append(timestamp)
+                .append("\", \"items\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                payload.append(", ");
+            }
+            payload.append("{\"id\":").append(i).append(", \"name\":\"Item").append(i)
+                    .append("\", \"quantity\":").append(i % 5).append("}");
+        }
+        payload.append("]}");
+        return payload.toString();
+    }
+}
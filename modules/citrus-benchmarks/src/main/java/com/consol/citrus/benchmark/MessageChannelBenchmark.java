@@ -0,0 +1,72 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.channel.MessageSelectingQueueChannel;
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks selective receive on message selecting queue channel with a number of
+ * non matching messages waiting in the channel.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageChannelBenchmark {
+
+    /** Number of non matching messages in channel */
+    @Param({"10", "100", "1000"})
+    private int queueDepth;
+
+    /** Channel under test */
+    private MessageSelectingQueueChannel channel;
+
+    /** Selector matching the message sent with each invocation */
+    private HeaderMatchingMessageSelector selector;
+
+    /** Message sent with each invocation */
+    private Message<String> message;
+
+    @Setup(Level.Trial)
+    public void setupChannel() {
+        channel = new MessageSelectingQueueChannel();
+        for (int i = 0; i < queueDepth; i++) {
+            channel.send(MessageBuilder.withPayload("<Test/>").setHeader("operation", "other" + i).build());
+        }
+
+        selector = new HeaderMatchingMessageSelector(Collections.singletonMap("operation", "benchmark"));
+        message = MessageBuilder.withPayload("<Test/>").setHeader("operation", "benchmark").build();
+    }
+
+    @Benchmark
+    public Message<?> sendAndSelectiveReceive() {
+        channel.send(message);
+        return channel.receive(selector, 1000L);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks dispatching message selector with plain header, root QName and XPath selector elements.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MessageSelectorBenchmark extends AbstractCitrusBenchmark {
+
+    /** Selectors under test */
+    private DispatchingMessageSelector headerSelector;
+    private DispatchingMessageSelector rootQNameSelector;
+    private DispatchingMessageSelector xpathSelector;
+
+    /** Message to select */
+    private Message<String> message;
+
+    @Setup(Level.Trial)
+    public void setupSelectors() {
+        headerSelector = new DispatchingMessageSelector("operation = 'benchmark' AND type = 'order'", applicationContext);
+        rootQNameSelector = new DispatchingMessageSelector("operation = 'benchmark' AND root-qname = 'Order'", applicationContext);
+        xpathSelector = new DispatchingMessageSelector("operation = 'benchmark' AND xpath://Order/Customer = 'Citrus'", applicationContext);
+
+        message = MessageBuilder.withPayload("<Order><Customer>Citrus</Customer><Item>Lemon</Item></Order>")
+                .setHeader("operation", "benchmark")
+                .setHeader("type", "order")
+                .build();
+    }
+
+    @Benchmark
+    public boolean acceptHeaders() {
+        return headerSelector.accept(message);
+    }
+
+    @Benchmark
+    public boolean acceptRootQName() {
+        return rootQNameSelector.accept(message);
+    }
+
+    @Benchmark
+    public boolean acceptXPath() {
+        return xpathSelector.accept(message);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.context.DynamicContentTemplate;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.variable.VariableUtils;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks variable and function resolution in message templates. Compares the cached {@link DynamicContentTemplate}
+ * path used by the test context with the legacy string scanning in {@link VariableUtils} and {@link FunctionUtils}.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class VariableResolutionBenchmark extends AbstractCitrusBenchmark {
+
+    /** Template with variable expressions */
+    private static final String VARIABLE_TEMPLATE = "<Order id=\"${orderId}\"><Customer>${customer}</Customer>" +
+            "<Item>${item}</Item><Quantity>${quantity}</Quantity><Text>Hello ${customer}!</Text></Order>";
+
+    /** Template with function expressions */
+    private static final String FUNCTION_TEMPLATE = "<Order><Text>citrus:concat('Hello', ' ', 'Citrus')</Text>" +
+            "<Upper>citrus:upperCase('citrus')</Upper><Length>citrus:stringLength('Hello Citrus')</Length></Order>";
+
+    /** Precompiled template with variable expressions */
+    private DynamicContentTemplate variableTemplate;
+
+    @Setup(Level.Trial)
+    public void setupVariables() {
+        context.setVariable("orderId", "1001");
+        context.setVariable("customer", "Citrus");
+        context.setVariable("item", "Lemon");
+        context.setVariable("quantity", "5");
+
+        variableTemplate = DynamicContentTemplate.compile(VARIABLE_TEMPLATE, context.getFunctionRegistry());
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return context.replaceDynamicContentInString(VARIABLE_TEMPLATE);
+    }
+
+    @Benchmark
+    public String replaceFunctions() {
+        return context.replaceDynamicContentInString(FUNCTION_TEMPLATE);
+    }
+
+    @Benchmark
+    public String evaluateCompiledTemplate() {
+        return variableTemplate.evaluate(context, false);
+    }
+
+    @Benchmark
+    public String legacyReplaceVariables() {
+        return VariableUtils.replaceVariablesInString(VARIABLE_TEMPLATE, context, false);
+    }
+
+    @Benchmark
+    public String legacyReplaceFunctions() {
+        return FunctionUtils.replaceFunctionsInString(FUNCTION_TEMPLATE, context);
+    }
+}
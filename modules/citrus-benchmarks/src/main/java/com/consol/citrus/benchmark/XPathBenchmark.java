@@ -0,0 +1,70 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.xml.xpath.XPathExpressionResult;
+import com.consol.citrus.xml.xpath.XPathUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.w3c.dom.Document;
+
+/**
+ * Benchmarks XPath expression evaluation on a parsed document with namespace context.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class XPathBenchmark extends AbstractCitrusBenchmark {
+
+    /** Parsed document */
+    private Document document;
+
+    /** Namespace context */
+    private SimpleNamespaceContext nsContext;
+
+    @Setup(Level.Trial)
+    public void setupDocument() {
+        StringBuilder payload = new StringBuilder();
+        payload.append("<ns:Order xmlns:ns=\"http://www.citrusframework.org/benchmark\"><ns:Items>");
+        for (int i = 0; i < 50; i++) {
+            payload.append("<ns:Item id=\"").append(i).append("\"><ns:Name>Item").append(i)
+                    .append("</ns:Name><ns:Quantity>").append(i % 5).append("</ns:Quantity></ns:Item>");
+        }
+        payload.append("</ns:Items></ns:Order>");
+
+        document = XMLUtils.parseMessagePayload(payload.toString());
+
+        nsContext = new SimpleNamespaceContext();
+        nsContext.bindNamespaceUri("ns", "http://www.citrusframework.org/benchmark");
+    }
+
+    @Benchmark
+    public String evaluateNode() {
+        return XPathUtils.evaluate(document, "/ns:Order/ns:Items/ns:Item[@id='25']/ns:Name", nsContext, XPathExpressionResult.NODE);
+    }
+
+    @Benchmark
+    public String evaluateString() {
+        return XPathUtils.evaluate(document, "string(//ns:Item[last()]/@id)", nsContext, XPathExpressionResult.STRING);
+    }
+
+    @Benchmark
+    public String evaluateNumber() {
+        return XPathUtils.evaluate(document, "count(//ns:Item)", nsContext, XPathExpressionResult.NUMBER);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmark;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import com.consol.citrus.validation.xml.DomXmlMessageValidator;
+import com.consol.citrus.validation.xml.XmlMessageValidationContext;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks XML message payload validation with control message, ignore placeholders and variables.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class XmlMessageValidationBenchmark extends AbstractCitrusBenchmark {
+
+    /** Validator under test */
+    private DomXmlMessageValidator validator;
+
+    /** Validation context holding the control message */
+    private XmlMessageValidationContext validationContext;
+
+    @Setup(Level.Trial)
+    public void setupValidator() {
+        validator = new DomXmlMessageValidator();
+        validator.setApplicationContext(applicationContext);
+
+        context.setVariable("customer", "Citrus");
+
+        validationContext = new XmlMessageValidationContext();
+        validationContext.setSchemaValidation(false);
+
+        PayloadTemplateMessageBuilder controlMessageBuilder = new PayloadTemplateMessageBuilder();
+        controlMessageBuilder.setPayloadData(createPayload("${customer}", "@ignore@"));
+        validationContext.setMessageBuilder(controlMessageBuilder);
+    }
+
+    @Benchmark
+    public Message validateMessage() {
+        Message receivedMessage = new DefaultMessage(createPayload("Citrus", "2014-10-01T12:00:00"));
+        validator.validateMessage(receivedMessage, context, validationContext);
+        return receivedMessage;
+    }
+
+    /**
+     * Creates order payload with given customer and timestamp values.
+     * @param customer
+     * @param timestamp
+     * @return
+     */
+    private static String createPayload(String customer, String timestamp) {
+        StringBuilder payload = new StringBuilder();
+        payload.append("<ns:Order xmlns:ns=\"http://www.citrusframework.org/benchmark\">")
+                .append("<ns:Customer>").append(customer).append("</ns:Customer>")
+                .append("<ns:Timestamp>").append(timestamp).append("</ns:Timestamp><ns:Items>");
+        for (int i = 0; i < 20; i++) {
+            payload.append("<ns:Item id=\"").append(i).append("\"><ns:Name>Item").append(i)
+                    .append("</ns:Name><ns:Quantity>").append(i % 5).append("</ns:Quantity></ns:Item>");
+        }
+        payload.append("</ns:Items></ns:Order>");
+        return payload.toString();
+    }
+}
@@ -28,7 +28,7 @@ public class CamelSyncEndpointConfiguration extends CamelEndpointConfiguration {
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time between reply message lookups when waiting for synchronous reply, waiting stops early as soon as reply arrives */
     private long pollingInterval = 500;
 
     /**
@@ -16,21 +16,23 @@
 
 package com.consol.citrus;
 
+import com.consol.citrus.common.TestLoader;
 import com.consol.citrus.config.CitrusBaseConfig;
 import com.consol.citrus.config.CitrusSpringConfig;
 import com.consol.citrus.container.SequenceAfterSuite;
 import com.consol.citrus.container.SequenceBeforeSuite;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
-import com.consol.citrus.report.TestSuiteListeners;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.report.*;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collection;
-import java.util.Properties;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Citrus main class initializes a new Citrus runtime environment with a Spring application context. Provides before/after suite action execution
@@ -169,6 +171,57 @@ public final class Citrus {
         action.execute(testContext);
     }
 
+    /**
+     * Runs test cases provided by given test loaders concurrently. Each test case is loaded and executed with its own
+     * test context while all test cases share this instance's Spring application context and endpoints. Test results
+     * are reported in the order of given test loaders.
+     * @param testLoaders
+     * @param maxConcurrency maximum number of test cases running at the same time, zero or less runs all test cases at once
+     * @return
+     */
+    public TestResults run(List<? extends TestLoader> testLoaders, int maxConcurrency) {
+        TestResults results = new TestResults();
+        if (testLoaders.isEmpty()) {
+            return results;
+        }
+
+        int threads = maxConcurrency > 0 ? Math.min(maxConcurrency, testLoaders.size()) : testLoaders.size();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<TestResult>> futures = new ArrayList<Future<TestResult>>(testLoaders.size());
+
+        try {
+            for (final TestLoader testLoader : testLoaders) {
+                futures.add(executor.submit(new Callable<TestResult>() {
+                    @Override
+                    public TestResult call() {
+                        TestCase testCase = null;
+
+                        try {
+                            testCase = testLoader.load();
+                            run(testCase, createTestContext());
+                            return new TestResult(testCase.getName(), TestResult.RESULT.SUCCESS, testCase.getParameters());
+                        } catch (RuntimeException e) {
+                            return new TestResult(testCase != null ? testCase.getName() : testLoader.toString(), TestResult.RESULT.FAILURE, e);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<TestResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for test cases to finish", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to run test case", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return results;
+    }
+
     /**
      * Creates a new test context.
      * @return the new citrus test context.
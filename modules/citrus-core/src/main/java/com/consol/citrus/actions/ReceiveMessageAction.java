@@ -23,6 +23,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.MessageSelectorBuilder;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Consumer;
+import com.consol.citrus.metrics.Metrics;
 import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.validation.ControlMessageValidationContext;
 import com.consol.citrus.validation.MessageValidator;
@@ -116,10 +117,15 @@ public class ReceiveMessageAction extends AbstractTestAction implements Initiali
             }
             
             //receive message either selected or plain with message receiver
-            if (StringUtils.hasText(selectorString)) {
-                receivedMessage = receiveSelected(context, selectorString);
-            } else {
-                receivedMessage = receive(context);
+            long start = System.nanoTime();
+            try {
+                if (StringUtils.hasText(selectorString)) {
+                    receivedMessage = receiveSelected(context, selectorString);
+                } else {
+                    receivedMessage = receive(context);
+                }
+            } finally {
+                Metrics.recordTime(Metrics.getEndpointTimerName(getOrCreateEndpoint(context), "receive"), start);
             }
 
             if (receivedMessage == null) {
@@ -186,18 +192,38 @@ public class ReceiveMessageAction extends AbstractTestAction implements Initiali
         }
 
         if (validationCallback != null) {
-            validationCallback.validate(receivedMessage);
+            long start = System.nanoTime();
+            try {
+                validationCallback.validate(receivedMessage);
+            } finally {
+                Metrics.recordTime(Metrics.VALIDATION_PREFIX + validationCallback.getClass().getSimpleName(), start);
+            }
         } else if (validator != null) {
-            validator.validateMessage(receivedMessage, context, validationContexts);
+            validateMessage(validator, receivedMessage, context);
         } else {
             List<MessageValidator<? extends ValidationContext>> validators = 
                                 context.getMessageValidatorRegistry().findMessageValidators(messageType, receivedMessage, validationContexts);
             
             for (MessageValidator<? extends ValidationContext> messageValidator : validators) {
-                messageValidator.validateMessage(receivedMessage, context, validationContexts);
+                validateMessage(messageValidator, receivedMessage, context);
             }
         }
     }
+
+    /**
+     * Validates message with given validator and records validation time per validator.
+     * @param messageValidator
+     * @param receivedMessage
+     * @param context
+     */
+    private void validateMessage(MessageValidator<? extends ValidationContext> messageValidator, Message receivedMessage, TestContext context) {
+        long start = System.nanoTime();
+        try {
+            messageValidator.validateMessage(receivedMessage, context, validationContexts);
+        } finally {
+            Metrics.recordTime(Metrics.VALIDATION_PREFIX + messageValidator.getClass().getSimpleName(), start);
+        }
+    }
     
     @Override
     public boolean isDisabled(TestContext context) {
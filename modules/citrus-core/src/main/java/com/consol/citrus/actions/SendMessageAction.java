@@ -20,6 +20,7 @@ import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.metrics.Metrics;
 import com.consol.citrus.validation.builder.MessageContentBuilder;
 import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
 import com.consol.citrus.variable.VariableExtractor;
@@ -96,11 +97,26 @@ public class SendMessageAction extends AbstractTestAction {
             SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
             taskExecutor.execute(new Runnable() {
                 public void run() {
-                    messageEndpoint.createProducer().send(message, context);
+                    send(messageEndpoint, message, context);
                 }
             });
         } else {
+            send(messageEndpoint, message, context);
+        }
+    }
+
+    /**
+     * Sends message with producer of given endpoint and records send latency.
+     * @param messageEndpoint
+     * @param message
+     * @param context
+     */
+    private void send(Endpoint messageEndpoint, Message message, TestContext context) {
+        long start = System.nanoTime();
+        try {
             messageEndpoint.createProducer().send(message, context);
+        } finally {
+            Metrics.recordTime(Metrics.getEndpointTimerName(messageEndpoint, "send"), start);
         }
     }
     
@@ -108,10 +108,14 @@ public class ChannelSyncProducer extends ChannelProducer implements ReplyConsume
                 RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            if (replyManager instanceof BlockingCorrelationManager) {
+                ((BlockingCorrelationManager<Message>) replyManager).await(selector, timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
+            } else {
+                try {
+                    Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                }
             }
 
             message = findReplyMessage(selector);
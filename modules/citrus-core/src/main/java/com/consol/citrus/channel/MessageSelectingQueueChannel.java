@@ -15,6 +15,8 @@
  */
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -22,12 +24,20 @@ import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.core.MessageSelector;
 import org.springframework.util.Assert;
 
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Added selective consumption of messages according to a message selector implementation.
  * 
+ * Header matching selectors are served from an index of queued messages by header value. The index is built
+ * lazily for those header names that selectors ask for. Waiting selective receivers get signaled as soon as
+ * a new message arrives on the channel.
+ * 
  * @author Christoph Deppisch
  */
 public class MessageSelectingQueueChannel extends QueueChannel {
@@ -37,8 +47,20 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     /** Blocking in memory message store */
     private final BlockingQueue<Message<?>> queue;
     
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time to wait for new message signal before selective receivers check the queue again */
     private long pollingInterval = 500;
+
+    /** Lock guarding the header index and signaling new messages */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Condition signaled when new message arrives */
+    private final Condition messageArrived = lock.newCondition();
+
+    /** Number of messages arrived so far, guarded by lock */
+    private long arrivals = 0L;
+
+    /** Queued messages indexed by header name and header value in order of arrival */
+    private final Map<String, Map<String, List<Message<?>>>> headerIndex = new HashMap<String, Map<String, List<Message<?>>>>();
     
     /**
      * Create a channel with the specified queue.
@@ -65,6 +87,66 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     public MessageSelectingQueueChannel() {
         this(new LinkedBlockingQueue<Message<?>>());
     }
+
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        boolean sent = super.doSend(message, timeout);
+
+        if (sent) {
+            lock.lock();
+            try {
+                addToIndex(message);
+                arrivals++;
+                messageArrived.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return sent;
+    }
+
+    @Override
+    protected Message<?> doReceive(long timeout) {
+        Message<?> message = super.doReceive(timeout);
+
+        if (message != null) {
+            lock.lock();
+            try {
+                removeFromIndex(message);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return message;
+    }
+
+    @Override
+    public List<Message<?>> clear() {
+        lock.lock();
+        try {
+            List<Message<?>> messages = super.clear();
+            headerIndex.clear();
+            return messages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message<?>> purge(MessageSelector selector) {
+        lock.lock();
+        try {
+            List<Message<?>> purged = super.purge(selector);
+            for (Message<?> message : purged) {
+                removeFromIndex(message);
+            }
+            return purged;
+        } finally {
+            lock.unlock();
+        }
+    }
     
     /**
      * Supports selective consumption of messages on the channel. The first message 
@@ -74,46 +156,227 @@ public class MessageSelectingQueueChannel extends QueueChannel {
      * @return
      */
     public Message<?> receive(MessageSelector selector) {
-        Object[] array = this.queue.toArray();
-        for (Object o : array) {
-            Message<?> message = (Message<?>) o;
-            if (selector.accept(message) && this.queue.remove(message)) {
-                return message;
-            }
-        }
-        
-        return null;
+        return select(selector);
     }
     
     /**
-     * Consume messages on the channel via message selector. Timeout forces several retries
-     * with polling interval setting.
+     * Consume messages on the channel via message selector. Waits for new messages to arrive
+     * until timeout is exceeded. Queue is checked again at least after polling interval.
      * 
      * @param selector
      * @param timeout
      * @return
      */
     public Message<?> receive(MessageSelector selector, long timeout) {
-        long timeLeft = timeout;
-        Message<?> message = receive(selector);
-
-        while (message == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-            
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("No message received with message selector - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        long timeLeft = deadline - System.nanoTime();
+
+        try {
+            long arrived = getArrivals();
+            Message<?> message = select(selector);
+
+            while (message == null && timeLeft > 0) {
+                if (RETRY_LOG.isDebugEnabled()) {
+                    RETRY_LOG.debug("No message received with message selector - waiting for next message to arrive");
+                }
+
+                long waitTime = pollingInterval > 0 ? Math.min(timeLeft, TimeUnit.MILLISECONDS.toNanos(pollingInterval)) : timeLeft;
+
+                lock.lock();
+                try {
+                    // only wait when no message has arrived since last selection
+                    if (arrivals == arrived) {
+                        messageArrived.awaitNanos(waitTime);
+                    }
+
+                    arrived = arrivals;
+                } finally {
+                    lock.unlock();
+                }
+
+                message = select(selector);
+                timeLeft = deadline - System.nanoTime();
             }
-            
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+
+            return message;
+        } catch (InterruptedException e) {
+            RETRY_LOG.warn("Thread interrupted while waiting for message", e);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Gets number of arrived messages.
+     * @return
+     */
+    private long getArrivals() {
+        lock.lock();
+        try {
+            return arrivals;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Selects first message accepted by given selector and removes it from queue. Uses header index
+     * for header matching selectors, otherwise scans the whole queue. Candidates are taken as snapshot and
+     * evaluated by the selector without holding the lock, so senders are not blocked by expensive selectors.
+     * Lock is held only for taking the snapshot and removing the accepted message.
+     * @param selector
+     * @return
+     */
+    private Message<?> select(MessageSelector selector) {
+        Map<String, String> matchingHeaders = getMatchingHeaders(selector);
+
+        Object[] candidates;
+        lock.lock();
+        try {
+            if (matchingHeaders.isEmpty()) {
+                candidates = queue.toArray();
+            } else {
+                Map.Entry<String, String> indexEntry = matchingHeaders.entrySet().iterator().next();
+                List<Message<?>> indexed = getIndex(indexEntry.getKey()).get(indexEntry.getValue());
+
+                if (indexed == null) {
+                    return null;
+                }
+
+                candidates = indexed.toArray();
             }
-            
-            message = receive(selector);
+        } finally {
+            lock.unlock();
         }
-        
-        return message;
+
+        for (Object candidate : candidates) {
+            Message<?> message = (Message<?>) candidate;
+            if (selector.accept(message) && remove(message)) {
+                return message;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes message from queue and header indices. Returns false in case message has already
+     * been consumed by some other receiver.
+     * @param message
+     * @return
+     */
+    private boolean remove(Message<?> message) {
+        lock.lock();
+        try {
+            boolean removed = queue.remove(message);
+            removeFromIndex(message);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets header elements that given selector matches on. Empty map when selector
+     * does not support header matching.
+     * @param selector
+     * @return
+     */
+    private Map<String, String> getMatchingHeaders(MessageSelector selector) {
+        if (selector instanceof HeaderMatchingMessageSelector) {
+            return ((HeaderMatchingMessageSelector) selector).getMatchingHeaders();
+        } else if (selector instanceof DispatchingMessageSelector) {
+            return ((DispatchingMessageSelector) selector).getMatchingHeaders();
+        }
+
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Gets index for given header name. Index is built from currently queued messages on first access.
+     * Must be called with lock held.
+     * @param headerName
+     * @return
+     */
+    private Map<String, List<Message<?>>> getIndex(String headerName) {
+        Map<String, List<Message<?>>> index = headerIndex.get(headerName);
+
+        if (index == null) {
+            index = new HashMap<String, List<Message<?>>>();
+            headerIndex.put(headerName, index);
+
+            for (Object queued : queue.toArray()) {
+                addToIndex(index, headerName, (Message<?>) queued);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Adds message to all header indices. Must be called with lock held.
+     * @param message
+     */
+    private void addToIndex(Message<?> message) {
+        for (Map.Entry<String, Map<String, List<Message<?>>>> index : headerIndex.entrySet()) {
+            addToIndex(index.getValue(), index.getKey(), message);
+        }
+    }
+
+    /**
+     * Adds message to header index with given header name.
+     * @param index
+     * @param headerName
+     * @param message
+     */
+    private void addToIndex(Map<String, List<Message<?>>> index, String headerName, Message<?> message) {
+        String value = getHeaderValue(message, headerName);
+
+        if (value != null) {
+            List<Message<?>> messages = index.get(value);
+            if (messages == null) {
+                messages = new LinkedList<Message<?>>();
+                index.put(value, messages);
+            }
+
+            messages.add(message);
+        }
+    }
+
+    /**
+     * Removes message from all header indices. Must be called with lock held.
+     * @param message
+     */
+    private void removeFromIndex(Message<?> message) {
+        for (Map.Entry<String, Map<String, List<Message<?>>>> index : headerIndex.entrySet()) {
+            String value = getHeaderValue(message, index.getKey());
+
+            if (value != null) {
+                List<Message<?>> messages = index.getValue().get(value);
+                if (messages != null && messages.remove(message) && messages.isEmpty()) {
+                    index.getValue().remove(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets header value the same way header matching message selector does. Citrus message headers
+     * take precedence over Spring integration message headers.
+     * @param message
+     * @param headerName
+     * @return
+     */
+    private String getHeaderValue(Message<?> message, String headerName) {
+        if (message.getPayload() instanceof com.consol.citrus.message.Message) {
+            Object value = ((com.consol.citrus.message.Message) message.getPayload()).getHeader(headerName);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+
+        Object value = message.getHeaders().get(headerName);
+        return value != null ? value.toString() : null;
     }
 
     /**
@@ -41,56 +41,81 @@ public class DispatchingMessageSelector implements MessageSelector {
 
     /** List of header elements to match */
     private Map<String, String> matchingHeaders;
+
+    /** Plain header elements to match without root QName and XPath selector elements */
+    private final Map<String, String> plainHeaders;
+
+    /** Optional root QName selector delegate */
+    private final RootQNameMessageSelector rootQNameSelector;
+
+    /** XPath selector delegates */
+    private final List<XPathEvaluatingMessageSelector> xpathSelectors = new ArrayList<XPathEvaluatingMessageSelector>();
+
+    /** Header matching selector delegate */
+    private final HeaderMatchingMessageSelector headerSelector;
     
     /** Spring bean factory */
     private BeanFactory beanFactory;
     
     /**
-     * Default constructor using a selector string.
+     * Default constructor using a selector string. Delegate selectors are created once.
      */
     public DispatchingMessageSelector(String selector, BeanFactory beanFactory) {
         this.beanFactory = beanFactory;
         this.matchingHeaders = MessageSelectorBuilder.withString(selector).toKeyValueMap();
         
         Assert.isTrue(matchingHeaders.size() > 0, "Invalid empty message selector");
+
+        Map<String, String> headers = new HashMap<String, String>();
+        RootQNameMessageSelector rootQName = null;
+        NamespaceContextBuilder nsContextBuilder = null;
+
+        for (Entry<String, String> headerEntry : matchingHeaders.entrySet()) {
+            if (headerEntry.getKey().equals(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT)) {
+                rootQName = new RootQNameMessageSelector(headerEntry.getValue());
+            } else if (headerEntry.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
+                if (nsContextBuilder == null) {
+                    nsContextBuilder = getNamespContextBuilder();
+                }
+
+                xpathSelectors.add(new XPathEvaluatingMessageSelector(headerEntry.getKey(), headerEntry.getValue(), nsContextBuilder));
+            } else {
+                headers.put(headerEntry.getKey(), headerEntry.getValue());
+            }
+        }
+
+        this.rootQNameSelector = rootQName;
+        this.plainHeaders = Collections.unmodifiableMap(headers);
+        this.headerSelector = new HeaderMatchingMessageSelector(plainHeaders);
     }
     
     @Override
     public boolean accept(Message<?> message) {
-        boolean success = true;
-        
-        Map<String, String> matchingHeadersCopy = new HashMap<String, String>();
-        matchingHeadersCopy.putAll(matchingHeaders);
-                
-        // delegate to root QName message selector if necessary
-        if (matchingHeadersCopy.containsKey(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT)
-                && !(new RootQNameMessageSelector(matchingHeadersCopy.remove(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT))).accept(message)) {
-            success = false;
-        }
-        
-        //search for xpath selector name
-        Set<String> foundXPathSelectors = new HashSet<String>();
-        for (Entry<String, String> headerEntry : matchingHeadersCopy.entrySet()) {
-            if (headerEntry.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
-                foundXPathSelectors.add(headerEntry.getKey());
-                
-                // delegate to xpath evaluating message selector
-                if (!(new XPathEvaluatingMessageSelector(headerEntry.getKey(), headerEntry.getValue(), getNamespContextBuilder())).accept(message)) {
-                    success = false;
-                }
-            }
+        // check cheap header matching first, then delegate to root QName and xpath message selectors
+        if (!headerSelector.accept(message)) {
+            return false;
         }
-        
-        //remove xpath selector elements after work is done
-        for (String selectorName : foundXPathSelectors) {
-            matchingHeadersCopy.remove(selectorName);
+
+        if (rootQNameSelector != null && !rootQNameSelector.accept(message)) {
+            return false;
         }
-        
-        if (!new HeaderMatchingMessageSelector(matchingHeadersCopy).accept(message)) {
-            success = false;
+
+        for (XPathEvaluatingMessageSelector xpathSelector : xpathSelectors) {
+            if (!xpathSelector.accept(message)) {
+                return false;
+            }
         }
         
-        return success;
+        return true;
+    }
+
+    /**
+     * Gets the plain header elements to match. Root QName and XPath selector elements
+     * are not included.
+     * @return
+     */
+    public Map<String, String> getMatchingHeaders() {
+        return plainHeaders;
     }
 
     /**
@@ -68,4 +68,12 @@ public class HeaderMatchingMessageSelector implements MessageSelector {
         return true;
     }
 
+    /**
+     * Gets the header elements to match.
+     * @return
+     */
+    public Map<String, String> getMatchingHeaders() {
+        return matchingHeaders;
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package com.consol.citrus.channel.selector;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
 import com.consol.citrus.xml.xpath.XPathUtils;
@@ -22,11 +23,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
-import org.springframework.xml.xpath.XPathExpressionFactory;
-import org.springframework.xml.xpath.XPathParseException;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
+import javax.xml.xpath.XPathConstants;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -46,6 +48,9 @@ public class XPathEvaluatingMessageSelector implements MessageSelector {
     
     /** Control value to check for */
     private final String control;
+
+    /** Dynamic namespaces used in expression */
+    private final Map<String, String> dynamicNamespaces;
     
     /** Namespace context builder */
     private NamespaceContextBuilder nsContextBuilder;
@@ -61,8 +66,16 @@ public class XPathEvaluatingMessageSelector implements MessageSelector {
      */
     public XPathEvaluatingMessageSelector(String expression, String control, NamespaceContextBuilder nsContextBuider) {
         this.control = control;
-        this.expression = expression.substring(XPATH_SELECTOR_ELEMENT.length());
         this.nsContextBuilder = nsContextBuider;
+
+        String xPathExpression = expression.substring(XPATH_SELECTOR_ELEMENT.length());
+        if (XPathUtils.hasDynamicNamespaces(xPathExpression)) {
+            this.dynamicNamespaces = XPathUtils.getDynamicNamespaces(xPathExpression);
+            this.expression = XPathUtils.replaceDynamicNamespaces(xPathExpression, dynamicNamespaces);
+        } else {
+            this.dynamicNamespaces = Collections.emptyMap();
+            this.expression = xPathExpression;
+        }
     }
     
     @Override
@@ -88,18 +101,13 @@ public class XPathEvaluatingMessageSelector implements MessageSelector {
             
             // add default namespace mappings
             namespaces.putAll(nsContextBuilder.getNamespaceMappings());
-            
-            if (XPathUtils.hasDynamicNamespaces(expression)) {
-                namespaces.putAll(XPathUtils.getDynamicNamespaces(expression));
-                return XPathExpressionFactory.createXPathExpression(XPathUtils.replaceDynamicNamespaces(expression, namespaces), namespaces)
-                        .evaluateAsString(doc).equals(control);
-            } else {
-                return XPathExpressionFactory.createXPathExpression(expression, namespaces)
-                        .evaluateAsString(doc).equals(control);
-            }
-            
-            
-        } catch (XPathParseException e) {
+            namespaces.putAll(dynamicNamespaces);
+
+            SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+            namespaceContext.setBindings(namespaces);
+
+            return XPathUtils.evaluateExpression(doc, expression, namespaceContext, XPathConstants.STRING).equals(control);
+        } catch (CitrusRuntimeException e) {
             log.warn("Could not evaluate XPath expression for message selector - ignoring message (" + e.getClass().getName() + ")");
             return false; // wrong XML message - not accepted
         }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.*;
+import org.springframework.beans.factory.support.*;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses XML test definition files only once and keeps the resulting bean definitions as template. Each test load
+ * creates a lightweight child application context of the shared parent context and registers deep copies of the
+ * cached bean definitions, so test cases and nested test actions are still new instances with each load and no bean
+ * definition state is shared between loads. Cached definitions are parsed again when the test definition file has
+ * been modified.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class XmlTestDefinitionCache {
+
+    /** Maximum number of cached test definition files */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    /** Parsed bean definitions by test definition file */
+    private static final Map<String, CachedDefinitions> definitions = new ConcurrentHashMap<String, CachedDefinitions>();
+
+    /**
+     * Prevent instantiation.
+     */
+    private XmlTestDefinitionCache() {
+    }
+
+    /**
+     * Creates new application context for given test definition file with parent application context. Test definition
+     * file is parsed on first access and after modification only.
+     * @param contextFile classpath location of the XML test definition
+     * @param parentContext
+     * @return
+     */
+    public static ClassPathXmlApplicationContext createApplicationContext(final String contextFile, ApplicationContext parentContext) {
+        final DefaultListableBeanFactory template = getDefinitions(contextFile);
+
+        ClassPathXmlApplicationContext ctx = new ClassPathXmlApplicationContext(new String[] { contextFile }, false, parentContext) {
+            @Override
+            protected void loadBeanDefinitions(DefaultListableBeanFactory beanFactory) {
+                for (String beanName : template.getBeanDefinitionNames()) {
+                    beanFactory.registerBeanDefinition(beanName, copy(template.getBeanDefinition(beanName)));
+
+                    for (String alias : template.getAliases(beanName)) {
+                        beanFactory.registerAlias(beanName, alias);
+                    }
+                }
+
+                AnnotationConfigUtils.registerAnnotationConfigProcessors(beanFactory);
+            }
+        };
+        ctx.refresh();
+
+        return ctx;
+    }
+
+    /**
+     * Gets parsed bean definitions for test definition file. Parses file if not cached yet or modified since
+     * it has been cached.
+     * @param contextFile
+     * @return
+     */
+    private static DefaultListableBeanFactory getDefinitions(String contextFile) {
+        Resource resource = new ClassPathResource(contextFile);
+        long lastModified = getLastModified(resource);
+        CachedDefinitions cached = definitions.get(contextFile);
+
+        if (cached == null || cached.lastModified != lastModified) {
+            DefaultListableBeanFactory template = new DefaultListableBeanFactory();
+            new XmlBeanDefinitionReader(template).loadBeanDefinitions(resource);
+
+            if (definitions.size() >= MAX_CACHE_SIZE) {
+                definitions.clear();
+            }
+
+            cached = new CachedDefinitions(template, lastModified);
+            definitions.put(contextFile, cached);
+        }
+
+        return cached.template;
+    }
+
+    /**
+     * Gets last modified timestamp of resource or zero if not available.
+     * @param resource
+     * @return
+     */
+    private static long getLastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Creates deep copy of bean definition. Inner bean definitions, managed collections and typed string values
+     * are copied as they get modified when beans are created.
+     * @param beanDefinition
+     * @return
+     */
+    private static BeanDefinition copy(BeanDefinition beanDefinition) {
+        if (!(beanDefinition instanceof AbstractBeanDefinition)) {
+            throw new CitrusRuntimeException("Unable to copy bean definition of type " + beanDefinition.getClass());
+        }
+
+        AbstractBeanDefinition copy = ((AbstractBeanDefinition) beanDefinition).cloneBeanDefinition();
+
+        MutablePropertyValues propertyValues = copy.getPropertyValues();
+        for (int i = 0; i < propertyValues.size(); i++) {
+            PropertyValue propertyValue = propertyValues.getPropertyValueList().get(i);
+            propertyValues.setPropertyValueAt(new PropertyValue(propertyValue, copyValue(propertyValue.getValue())), i);
+        }
+
+        ConstructorArgumentValues argumentValues = new ConstructorArgumentValues();
+        for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : copy.getConstructorArgumentValues().getIndexedArgumentValues().entrySet()) {
+            argumentValues.addIndexedArgumentValue(entry.getKey(), copyValueHolder(entry.getValue()));
+        }
+        for (ConstructorArgumentValues.ValueHolder valueHolder : copy.getConstructorArgumentValues().getGenericArgumentValues()) {
+            argumentValues.addGenericArgumentValue(copyValueHolder(valueHolder));
+        }
+        copy.setConstructorArgumentValues(argumentValues);
+
+        return copy;
+    }
+
+    /**
+     * Creates copy of constructor argument value holder with deep copy of its value.
+     * @param valueHolder
+     * @return
+     */
+    private static ConstructorArgumentValues.ValueHolder copyValueHolder(ConstructorArgumentValues.ValueHolder valueHolder) {
+        ConstructorArgumentValues.ValueHolder copy = new ConstructorArgumentValues.ValueHolder(copyValue(valueHolder.getValue()), valueHolder.getType(), valueHolder.getName());
+        copy.setSource(valueHolder.getSource());
+        return copy;
+    }
+
+    /**
+     * Creates deep copy of bean definition metadata value.
+     * @param value
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof BeanDefinitionHolder) {
+            BeanDefinitionHolder holder = (BeanDefinitionHolder) value;
+            return new BeanDefinitionHolder(copy(holder.getBeanDefinition()), holder.getBeanName(), holder.getAliases());
+        } else if (value instanceof BeanDefinition) {
+            return copy((BeanDefinition) value);
+        } else if (value instanceof TypedStringValue) {
+            TypedStringValue original = (TypedStringValue) value;
+            TypedStringValue copy = new TypedStringValue(original.getValue());
+            if (original.hasTargetType()) {
+                copy.setTargetType(original.getTargetType());
+            } else {
+                copy.setTargetTypeName(original.getTargetTypeName());
+            }
+            copy.setSpecifiedTypeName(original.getSpecifiedTypeName());
+            copy.setSource(original.getSource());
+            if (original.isDynamic()) {
+                copy.setDynamic();
+            }
+            return copy;
+        } else if (value instanceof ManagedArray) {
+            ManagedArray original = (ManagedArray) value;
+            ManagedArray copy = new ManagedArray(original.getElementTypeName(), original.size());
+            copyElements(original, copy);
+            copy.setMergeEnabled(original.isMergeEnabled());
+            copy.setSource(original.getSource());
+            return copy;
+        } else if (value instanceof ManagedList) {
+            ManagedList<Object> original = (ManagedList<Object>) value;
+            ManagedList<Object> copy = new ManagedList<Object>(original.size());
+            copyElements(original, copy);
+            copy.setElementTypeName(original.getElementTypeName());
+            copy.setMergeEnabled(original.isMergeEnabled());
+            copy.setSource(original.getSource());
+            return copy;
+        } else if (value instanceof ManagedSet) {
+            ManagedSet<Object> original = (ManagedSet<Object>) value;
+            ManagedSet<Object> copy = new ManagedSet<Object>(original.size());
+            copyElements(original, copy);
+            copy.setElementTypeName(original.getElementTypeName());
+            copy.setMergeEnabled(original.isMergeEnabled());
+            copy.setSource(original.getSource());
+            return copy;
+        } else if (value instanceof ManagedMap) {
+            ManagedMap<Object, Object> original = (ManagedMap<Object, Object>) value;
+            ManagedMap<Object, Object> copy = new ManagedMap<Object, Object>(original.size());
+            for (Map.Entry<Object, Object> entry : original.entrySet()) {
+                copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+            }
+            copy.setKeyTypeName(original.getKeyTypeName());
+            copy.setValueTypeName(original.getValueTypeName());
+            copy.setMergeEnabled(original.isMergeEnabled());
+            copy.setSource(original.getSource());
+            return copy;
+        } else if (value instanceof ManagedProperties) {
+            ManagedProperties original = (ManagedProperties) value;
+            ManagedProperties copy = new ManagedProperties();
+            for (Map.Entry<Object, Object> entry : original.entrySet()) {
+                copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+            }
+            copy.setMergeEnabled(original.isMergeEnabled());
+            copy.setSource(original.getSource());
+            return copy;
+        } else {
+            return value;
+        }
+    }
+
+    /**
+     * Adds deep copies of all source elements to target collection.
+     * @param source
+     * @param target
+     */
+    private static void copyElements(Collection<?> source, Collection<Object> target) {
+        for (Object element : source) {
+            target.add(copyValue(element));
+        }
+    }
+
+    /**
+     * Removes all cached test definitions.
+     */
+    public static void clear() {
+        definitions.clear();
+    }
+
+    /**
+     * Parsed bean definitions with last modified timestamp of test definition file.
+     */
+    private static final class CachedDefinitions {
+        private final DefaultListableBeanFactory template;
+        private final long lastModified;
+
+        CachedDefinitions(DefaultListableBeanFactory template, long lastModified) {
+            this.template = template;
+            this.lastModified = lastModified;
+        }
+    }
+}
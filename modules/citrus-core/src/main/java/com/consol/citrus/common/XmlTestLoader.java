@@ -20,7 +20,6 @@ import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContextFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
@@ -71,17 +70,13 @@ public class XmlTestLoader implements TestLoader {
     }
 
     /**
-     * Create new Spring bean application context with test case XML file,
-     * helper and parent context file.
+     * Create new Spring bean application context with test case XML file and parent context. Test case
+     * XML file is parsed only once and reused with subsequent loads.
      * @return
      */
     private ApplicationContext loadApplicationContext() {
         try {
-            return new ClassPathXmlApplicationContext(
-                    new String[]{
-                            getContextFile(),
-                            "com/consol/citrus/spring/annotation-config-ctx.xml"},
-                    true, parentContext);
+            return XmlTestDefinitionCache.createApplicationContext(getContextFile(), parentContext);
         } catch (Exception e) {
             throw parentContext.getBean(TestContextFactory.class).getObject()
                     .handleError(testName, packageName, "Failed to load test case", e);
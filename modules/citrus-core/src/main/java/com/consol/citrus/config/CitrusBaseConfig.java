@@ -20,6 +20,8 @@ import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.endpoint.DefaultEndpointFactory;
 import com.consol.citrus.endpoint.EndpointFactory;
 import com.consol.citrus.functions.FunctionConfig;
+import com.consol.citrus.metrics.MetricsReporter;
+import com.consol.citrus.metrics.MetricsTestActionListener;
 import com.consol.citrus.report.*;
 import com.consol.citrus.validation.MessageValidatorConfig;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptors;
@@ -86,4 +88,14 @@ public class CitrusBaseConfig {
         return new FailureStackTestListener();
     }
 
+    @Bean(name = "metricsTestActionListener")
+    public MetricsTestActionListener getMetricsTestActionListener() {
+        return new MetricsTestActionListener();
+    }
+
+    @Bean(name = "metricsReporter")
+    public MetricsReporter getMetricsReporter() {
+        return new MetricsReporter();
+    }
+
 }
@@ -24,20 +24,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * Test action will execute nested actions in parallel. Actions are executed by the calling thread together
+ * with an executor service which is either set on this container or created for each execution. Maximum concurrency
+ * limits the number of nested actions running at the same time. Container waits for all actions to end and reports
+ * failures in the order of actions.
  * 
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<Thread>();
+    /** Optional executor service shared across executions */
+    private ExecutorService executorService;
 
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
+    /** Maximum number of nested actions running at the same time, zero or less means no limit */
+    private int maxConcurrency = 0;
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
@@ -51,27 +57,65 @@ public class Parallel extends AbstractActionContainer {
 
     @Override
     public void doExecute(TestContext context) {
-        for (final TestAction action : actions) {
-            Thread t = new Thread(new ActionRunner(action, context) {
-                @Override
-                public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setLastExecutedAction(action);
-                    }
-                    
-                    exceptions.add(e);
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        int workers = maxConcurrency > 0 ? Math.min(maxConcurrency, actions.size()) : actions.size();
+
+        ExecutorService executor = executorService;
+        if (executor == null && workers > 1) {
+            executor = Executors.newFixedThreadPool(workers - 1);
+        }
+
+        AtomicReferenceArray<CitrusRuntimeException> failures = new AtomicReferenceArray<CitrusRuntimeException>(actions.size());
+        AtomicInteger nextAction = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(workers);
+        List<ActionRunner> runners = new ArrayList<ActionRunner>(workers);
+        List<Future<?>> futures = new ArrayList<Future<?>>(workers);
+
+        try {
+            for (int i = 1; i < workers; i++) {
+                ActionRunner runner = new ActionRunner(actions, context, nextAction, failures, finished);
+                runners.add(runner);
+
+                try {
+                    futures.add(executor.submit(runner));
+                } catch (RejectedExecutionException e) {
+                    log.warn("Executor rejected parallel test action runner - continue on calling thread");
                 }
-            });
+            }
+
+            // calling thread takes part in execution so nested containers sharing a bounded executor always make progress
+            new ActionRunner(actions, context, nextAction, failures, finished).run();
+
+            // all actions are taken now, runners that did not start yet have nothing left to do
+            for (ActionRunner runner : runners) {
+                runner.skip();
+            }
+
+            finished.await();
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
 
-            threads.push(t);
-            t.start();
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for parallel actions to finish", e);
+        } finally {
+            if (executor != executorService) {
+                executor.shutdown();
+            }
         }
 
-        while (!threads.isEmpty()) {
-            try {
-                threads.pop().join();
-            } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
+        List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
+        for (int i = 0; i < failures.length(); i++) {
+            if (failures.get(i) != null) {
+                if (exceptions.isEmpty()) {
+                    setLastExecutedAction(actions.get(i));
+                }
+
+                exceptions.add(failures.get(i));
             }
         }
         
@@ -85,42 +129,114 @@ public class Parallel extends AbstractActionContainer {
     }
 
     /**
-     * Runnable wrapper for executing an action in separate Thread.
+     * Gets the executor service.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service running nested actions. Executor service is not shut down
+     * by this container.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the maximum concurrency.
+     * @return
      */
-    private abstract static class ActionRunner implements Runnable {
-        /** Test action to execute */
-        private TestAction action;
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of nested actions running at the same time.
+     * @param maxConcurrency
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Runnable worker executing nested actions one after another until all actions are taken.
+     * Failures get stored at the index of the failed action. Worker counts down finished latch when
+     * done or when skipped before it has been started.
+     */
+    private static class ActionRunner implements Runnable {
+        /** Test actions to execute */
+        private final List<TestAction> actions;
         
         /** Test context */
-        private TestContext context;
+        private final TestContext context;
+
+        /** Index of next action to execute */
+        private final AtomicInteger nextAction;
+
+        /** Failures by action index */
+        private final AtomicReferenceArray<CitrusRuntimeException> failures;
+
+        /** Latch counted down when this worker is finished */
+        private final CountDownLatch finished;
+
+        /** Marks this worker as started or skipped */
+        private final AtomicBoolean started = new AtomicBoolean();
         
-        public ActionRunner(TestAction action, TestContext context) {
-            this.action = action;
+        public ActionRunner(List<TestAction> actions, TestContext context, AtomicInteger nextAction,
+                            AtomicReferenceArray<CitrusRuntimeException> failures, CountDownLatch finished) {
+            this.actions = actions;
             this.context = context;
+            this.nextAction = nextAction;
+            this.failures = failures;
+            this.finished = finished;
         }
 
         /**
-         * Run the test action
+         * Skips this worker if it has not been started yet.
+         */
+        public void skip() {
+            if (started.compareAndSet(false, true)) {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Run the test actions
          */
         public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
             try {
-                action.execute(context);
-            } catch (CitrusRuntimeException e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(e);
-            } catch (RuntimeException e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
-            } catch (Exception e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
+                runActions();
+            } finally {
+                finished.countDown();
             }
         }
-        
+
         /**
-         * Callback for exception tracking.
-         * @param exception
+         * Executes actions until all actions are taken.
          */
-        public abstract void exceptionCallback(CitrusRuntimeException e);
+        private void runActions() {
+            int index;
+            while ((index = nextAction.getAndIncrement()) < actions.size()) {
+                try {
+                    actions.get(index).execute(context);
+                } catch (CitrusRuntimeException e) {
+                    log.error("Parallel test action raised error", e);
+                    failures.set(index, e);
+                } catch (RuntimeException e) {
+                    log.error("Parallel test action raised error", e);
+                    failures.set(index, new CitrusRuntimeException(e));
+                } catch (Exception e) {
+                    log.error("Parallel test action raised error", e);
+                    failures.set(index, new CitrusRuntimeException(e));
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.exceptions.NoSuchFunctionException;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionRegistry;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.variable.VariableUtils;
+
+import java.util.*;
+
+/**
+ * Compiled representation of a string holding dynamic content such as variable expressions and
+ * function calls. The string is parsed only once into a sequence of literal segments, variable references
+ * and function calls. Evaluation of the template then simply walks this sequence without having to
+ * scan the whole string again.
+ *
+ * Templates are cached process wide per input string and function library prefixes so each distinct
+ * string gets compiled only once. Strings without any variable expression or function library prefix are not cached at all.
+ * The cache is bounded by the approximate size of cached strings in bytes and evicts least recently used templates first.
+ * In rare cases where variable values or function results themselves contain
+ * dynamic content the template falls back to the classic variable and function replacement in order to keep
+ * the exact same results.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class DynamicContentTemplate {
+
+    /** Maximum approximate size of all cached template strings in bytes */
+    private static final long MAX_CACHE_BYTES = 8 * 1024 * 1024;
+
+    /** Templates larger than this approximate size in bytes are not cached */
+    private static final long MAX_ENTRY_BYTES = MAX_CACHE_BYTES / 16;
+
+    /** Process wide template cache in access order, guarded by itself */
+    private static final LinkedHashMap<String, DynamicContentTemplate> CACHE = new LinkedHashMap<String, DynamicContentTemplate>(16, 0.75f, true);
+
+    /** Approximate size of all cached template strings in bytes, guarded by cache */
+    private static long cacheBytes = 0L;
+
+    /** The original string */
+    private final String source;
+
+    /** Function library prefixes in registry order this template was compiled with */
+    private final String[] prefixes;
+
+    /** Compiled segments */
+    private final Segment[] segments;
+
+    /** Template holds dynamic content at all */
+    private final boolean dynamic;
+
+    /** Template holds some function library prefix */
+    private final boolean functionPrefixPresent;
+
+    /** Template needs classic variable and function replacement */
+    private final boolean legacy;
+
+    /**
+     * Constructor compiling the source string with given function library prefixes.
+     * @param source
+     * @param prefixes
+     */
+    private DynamicContentTemplate(String source, String[] prefixes) {
+        this.source = source;
+        this.prefixes = prefixes;
+
+        if (!containsDynamicContent(source, prefixes)) {
+            this.functionPrefixPresent = false;
+            this.legacy = false;
+            this.dynamic = false;
+            this.segments = new Segment[0];
+        } else {
+            char[] masked = source.toCharArray();
+            List<int[]> variables = parseVariables(source, masked);
+
+            String maskedString = new String(masked);
+            boolean prefixPresent = false;
+            for (String prefix : prefixes) {
+                if (maskedString.contains(prefix)) {
+                    prefixPresent = true;
+                    break;
+                }
+            }
+
+            List<int[]> functions;
+            if (prefixPresent && maskedString.indexOf('(') >= 0 && maskedString.indexOf(')') >= 0) {
+                functions = parseFunctions(maskedString, prefixes);
+            } else {
+                functions = Collections.emptyList();
+            }
+
+            boolean nestedLibraries = false;
+            for (int[] function : functions) {
+                String expression = maskedString.substring(function[0], function[1]);
+                for (int i = 0; i < function[2]; i++) {
+                    if (expression.indexOf(prefixes[i], 1) > 0) {
+                        nestedLibraries = true;
+                    }
+                }
+            }
+
+            this.functionPrefixPresent = prefixPresent;
+            this.legacy = nestedLibraries;
+            this.dynamic = !variables.isEmpty() || !functions.isEmpty();
+            this.segments = buildSegments(source, 0, source.length(), variables, functions);
+        }
+    }
+
+    /**
+     * Gets the compiled template for given string from cache. Compiles and caches new template
+     * if not present yet or in case function library prefixes have changed.
+     * @param str
+     * @param functionRegistry
+     * @return
+     */
+    public static DynamicContentTemplate getTemplate(String str, FunctionRegistry functionRegistry) {
+        DynamicContentTemplate template;
+        synchronized (CACHE) {
+            template = CACHE.get(str);
+        }
+
+        if (template == null || !template.matches(functionRegistry)) {
+            template = compile(str, functionRegistry);
+
+            long bytes = sizeOf(str);
+            if (template.dynamic && bytes <= MAX_ENTRY_BYTES) {
+                synchronized (CACHE) {
+                    DynamicContentTemplate previous = CACHE.put(str, template);
+                    cacheBytes += previous != null ? 0L : bytes;
+
+                    Iterator<Map.Entry<String, DynamicContentTemplate>> entries = CACHE.entrySet().iterator();
+                    while (cacheBytes > MAX_CACHE_BYTES && entries.hasNext()) {
+                        cacheBytes -= sizeOf(entries.next().getKey());
+                        entries.remove();
+                    }
+                }
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Approximate size of given string in bytes.
+     * @param str
+     * @return
+     */
+    private static long sizeOf(String str) {
+        return 2L * str.length();
+    }
+
+    /**
+     * Checks if given string holds some variable expression prefix or function library prefix at all.
+     * @param str
+     * @param prefixes
+     * @return
+     */
+    private static boolean containsDynamicContent(String str, String[] prefixes) {
+        if (str.contains(CitrusConstants.VARIABLE_PREFIX)) {
+            return true;
+        }
+
+        for (String prefix : prefixes) {
+            if (str.contains(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Compiles new template for given string without using the cache.
+     * @param str
+     * @param functionRegistry
+     * @return
+     */
+    public static DynamicContentTemplate compile(String str, FunctionRegistry functionRegistry) {
+        List<FunctionLibrary> libraries = getFunctionLibraries(functionRegistry);
+        String[] prefixes = new String[libraries.size()];
+
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = libraries.get(i).getPrefix();
+        }
+
+        return new DynamicContentTemplate(str, prefixes);
+    }
+
+    /**
+     * Evaluates this template replacing variable references and function calls with
+     * respective values from test context. Values get surrounded with single quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String evaluate(TestContext context, boolean enableQuoting) {
+        if (!dynamic) {
+            return source;
+        }
+
+        if (legacy) {
+            return evaluateLegacy(context, enableQuoting);
+        }
+
+        StringBuilder result = new StringBuilder(source.length());
+        for (Segment segment : segments) {
+            if (!segment.appendTo(result, this, context, enableQuoting)) {
+                return evaluateLegacy(context, enableQuoting);
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Classic variable and function replacement scanning the whole source string.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    private String evaluateLegacy(TestContext context, boolean enableQuoting) {
+        String result = VariableUtils.replaceVariablesInString(source, context, enableQuoting);
+        return FunctionUtils.replaceFunctionsInString(result, context, enableQuoting);
+    }
+
+    /**
+     * Checks if this template was compiled with same function library prefixes as given function registry provides.
+     * @param functionRegistry
+     * @return
+     */
+    private boolean matches(FunctionRegistry functionRegistry) {
+        List<FunctionLibrary> libraries = getFunctionLibraries(functionRegistry);
+
+        if (libraries.size() != prefixes.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefixes.length; i++) {
+            if (!prefixes[i].equals(libraries.get(i).getPrefix())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if variable value holds content that would be evaluated by classic function replacement.
+     * @param value
+     * @return
+     */
+    private boolean isDynamicValue(String value) {
+        for (String prefix : prefixes) {
+            if (value.contains(prefix)) {
+                return true;
+            }
+        }
+
+        return functionPrefixPresent && (value.indexOf('(') >= 0 || value.indexOf(')') >= 0);
+    }
+
+    /**
+     * Checks if function result holds prefix of function library that follows given library index.
+     * @param value
+     * @param libraryIndex
+     * @return
+     */
+    private boolean isDynamicResult(String value, int libraryIndex) {
+        for (int i = libraryIndex + 1; i < prefixes.length; i++) {
+            if (value.contains(prefixes[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Parses variable expressions in given string and masks them in given char array. Uses
+     * exactly the same rules as {@link VariableUtils#replaceVariablesInString(String, TestContext, boolean)}.
+     * @param str
+     * @param masked
+     * @return list of variable positions as start index, end index, name end index.
+     */
+    private static List<int[]> parseVariables(String str, char[] masked) {
+        List<int[]> variables = new ArrayList<int[]>();
+
+        int startIndex = 0;
+        int curIndex;
+        int searchIndex;
+
+        while ((searchIndex = str.indexOf(CitrusConstants.VARIABLE_PREFIX, startIndex)) != -1) {
+            int control = 0;
+            boolean isVarComplete = false;
+
+            curIndex = searchIndex + CitrusConstants.VARIABLE_PREFIX.length();
+            int nameEndIndex = curIndex;
+
+            while (curIndex < str.length() && !isVarComplete) {
+                if (str.startsWith(CitrusConstants.VARIABLE_PREFIX, curIndex)) {
+                    control++;
+                }
+
+                if ((!Character.isJavaIdentifierPart(str.charAt(curIndex)) && (str.charAt(curIndex) == CitrusConstants.VARIABLE_SUFFIX)) || (curIndex + 1 == str.length())) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                if (!isVarComplete) {
+                    nameEndIndex = curIndex + 1;
+                }
+                ++curIndex;
+            }
+
+            variables.add(new int[] { searchIndex, curIndex, nameEndIndex });
+            Arrays.fill(masked, searchIndex, curIndex, '\0');
+
+            startIndex = curIndex;
+        }
+
+        return variables;
+    }
+
+    /**
+     * Parses function calls in masked string. Uses exactly the same rules as
+     * {@link FunctionUtils#replaceFunctionsInString(String, TestContext, boolean)} but
+     * finds functions of all libraries in a single pass.
+     * @param str
+     * @param prefixes
+     * @return list of function positions as start index, end index, library index.
+     */
+    private static List<int[]> parseFunctions(String str, String[] prefixes) {
+        List<int[]> functions = new ArrayList<int[]>();
+
+        int startIndex = 0;
+        int curIndex;
+
+        while (true) {
+            int searchIndex = -1;
+            int libraryIndex = -1;
+            for (int i = 0; i < prefixes.length; i++) {
+                int index = str.indexOf(prefixes[i], startIndex);
+                if (index != -1 && (searchIndex == -1 || index < searchIndex)) {
+                    searchIndex = index;
+                    libraryIndex = i;
+                }
+            }
+
+            if (searchIndex == -1) {
+                break;
+            }
+
+            int control = -1;
+            boolean isFunctionComplete = false;
+            curIndex = searchIndex;
+
+            while (curIndex < str.length() && !isFunctionComplete) {
+                if (str.charAt(curIndex) == '(') {
+                    control++;
+                }
+
+                if (str.charAt(curIndex) == ')' || curIndex == str.length() - 1) {
+                    if (control == 0) {
+                        isFunctionComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                curIndex++;
+            }
+
+            functions.add(new int[] { searchIndex, curIndex, libraryIndex });
+            startIndex = curIndex;
+        }
+
+        return functions;
+    }
+
+    /**
+     * Builds segments for given range of source string. Variable positions within function
+     * positions become part of the respective function segment.
+     * @param str
+     * @param from
+     * @param to
+     * @param variables
+     * @param functions
+     * @return
+     */
+    private static Segment[] buildSegments(String str, int from, int to, List<int[]> variables, List<int[]> functions) {
+        List<Segment> segments = new ArrayList<Segment>();
+
+        int index = from;
+        int variableIndex = 0;
+        int functionIndex = 0;
+
+        while (index < to) {
+            int[] variable = variableIndex < variables.size() ? variables.get(variableIndex) : null;
+            int[] function = functionIndex < functions.size() ? functions.get(functionIndex) : null;
+
+            if (function != null && (variable == null || function[0] < variable[0])) {
+                List<int[]> functionVariables = new ArrayList<int[]>();
+                while (variableIndex < variables.size() && variables.get(variableIndex)[0] < function[1]) {
+                    functionVariables.add(variables.get(variableIndex++));
+                }
+
+                appendLiteral(segments, str, index, function[0]);
+                segments.add(new FunctionSegment(buildSegments(str, function[0], function[1], functionVariables, Collections.<int[]>emptyList()), function[2]));
+                index = function[1];
+                functionIndex++;
+            } else if (variable != null) {
+                appendLiteral(segments, str, index, variable[0]);
+                segments.add(new VariableSegment(str.substring(variable[0] + CitrusConstants.VARIABLE_PREFIX.length(), variable[2])));
+                index = variable[1];
+                variableIndex++;
+            } else {
+                appendLiteral(segments, str, index, to);
+                index = to;
+            }
+        }
+
+        return segments.toArray(new Segment[segments.size()]);
+    }
+
+    /**
+     * Adds literal segment for given range of source string if range is not empty.
+     * @param segments
+     * @param str
+     * @param from
+     * @param to
+     */
+    private static void appendLiteral(List<Segment> segments, String str, int from, int to) {
+        if (to > from) {
+            segments.add(new LiteralSegment(str.substring(from, to)));
+        }
+    }
+
+    /**
+     * Null safe access to function libraries of given registry.
+     * @param functionRegistry
+     * @return
+     */
+    private static List<FunctionLibrary> getFunctionLibraries(FunctionRegistry functionRegistry) {
+        if (functionRegistry == null || functionRegistry.getFunctionLibraries() == null) {
+            return Collections.emptyList();
+        }
+
+        return functionRegistry.getFunctionLibraries();
+    }
+
+    /**
+     * Appends value to string builder optionally surrounded with single quotes.
+     * @param builder
+     * @param value
+     * @param enableQuoting
+     */
+    private static void appendValue(StringBuilder builder, String value, boolean enableQuoting) {
+        if (enableQuoting) {
+            builder.append('\'').append(value).append('\'');
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * Single piece of compiled template.
+     */
+    private interface Segment {
+        /**
+         * Appends evaluated segment to result. Returns false in case template has to fall back to
+         * classic variable and function replacement.
+         * @param result
+         * @param template
+         * @param context
+         * @param enableQuoting
+         * @return
+         */
+        boolean appendTo(StringBuilder result, DynamicContentTemplate template, TestContext context, boolean enableQuoting);
+    }
+
+    /**
+     * Static text segment.
+     */
+    private static final class LiteralSegment implements Segment {
+        private final String text;
+
+        private LiteralSegment(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public boolean appendTo(StringBuilder result, DynamicContentTemplate template, TestContext context, boolean enableQuoting) {
+            result.append(text);
+            return true;
+        }
+    }
+
+    /**
+     * Variable reference segment.
+     */
+    private static final class VariableSegment implements Segment {
+        private final String variableName;
+
+        private VariableSegment(String variableName) {
+            this.variableName = variableName;
+        }
+
+        @Override
+        public boolean appendTo(StringBuilder result, DynamicContentTemplate template, TestContext context, boolean enableQuoting) {
+            final String value = context.getVariable(variableName);
+            if (value == null) {
+                throw new NoSuchVariableException("Variable: " + variableName + " could not be found");
+            }
+
+            if (template.isDynamicValue(value)) {
+                return false;
+            }
+
+            appendValue(result, value, enableQuoting);
+            return true;
+        }
+    }
+
+    /**
+     * Function call segment. Function expression itself may hold literal and variable segments.
+     */
+    private static final class FunctionSegment implements Segment {
+        private final Segment[] expression;
+        private final int libraryIndex;
+
+        private FunctionSegment(Segment[] expression, int libraryIndex) {
+            this.expression = expression;
+            this.libraryIndex = libraryIndex;
+        }
+
+        @Override
+        public boolean appendTo(StringBuilder result, DynamicContentTemplate template, TestContext context, boolean enableQuoting) {
+            StringBuilder functionExpression = new StringBuilder();
+            for (Segment segment : expression) {
+                if (!segment.appendTo(functionExpression, template, context, enableQuoting)) {
+                    return false;
+                }
+            }
+
+            final String value = FunctionUtils.resolveFunction(functionExpression.toString(), context);
+            if (value == null) {
+                throw new NoSuchFunctionException("Function: " +
+                        VariableUtils.cutOffVariablesPrefix(functionExpression.toString()) + " could not be found");
+            }
+
+            if (template.isDynamicResult(value, libraryIndex)) {
+                return false;
+            }
+
+            appendValue(result, value, enableQuoting);
+            return true;
+        }
+    }
+}
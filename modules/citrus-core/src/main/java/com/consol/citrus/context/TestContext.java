@@ -234,18 +234,15 @@ public class TestContext {
 
     /**
      * Method replacing variable declarations and functions in a string, optionally 
-     * the variable values get surrounded with single quotes.
+     * the variable values get surrounded with single quotes. Each distinct string is compiled
+     * only once to a cached {@link DynamicContentTemplate} that is evaluated on subsequent calls.
      * 
      * @param str the string to parse for variable place holders.
      * @param enableQuoting flag marking surrounding quotes should be added or not.
      * @return resulting string without any variable place holders.
      */
     public String replaceDynamicContentInString(final String str, boolean enableQuoting) {
-        String result;
-        result = VariableUtils.replaceVariablesInString(str, this, enableQuoting);
-        result = FunctionUtils.replaceFunctionsInString(result, this, enableQuoting);
-        
-        return result;
+        return DynamicContentTemplate.getTemplate(str, functionRegistry).evaluate(this, enableQuoting);
     }
     
     /**
@@ -19,6 +19,7 @@ package com.consol.citrus.endpoint.adapter;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.channel.ChannelEndpointAdapter;
 import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.endpoint.EndpointAdapter;
@@ -103,16 +104,13 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     }
 
     /**
-     * Creates the Spring application context.
+     * Creates the Spring application context. Test case XML file is parsed only once
+     * and reused with subsequent requests.
      * @return
      */
     protected ClassPathXmlApplicationContext createApplicationContext(TestContext context, String packageName, String testName) {
         try {
-            return new ClassPathXmlApplicationContext(
-                    new String[] {
-                            packageName.replace('.', '/') + "/" + testName + ".xml",
-                            "com/consol/citrus/spring/annotation-config-ctx.xml"},
-                    true, applicationContext);
+            return XmlTestDefinitionCache.createApplicationContext(packageName.replace('.', '/') + "/" + testName + ".xml", applicationContext);
         } catch (Exception e) {
             throw context.handleError(getClass().getSimpleName(), getClass().getPackage().getName(), "Failed to load test case", e);
         }
@@ -42,15 +42,11 @@ public abstract class AbstractJUnit4CitrusTest extends AbstractJUnit4SpringConte
     @Autowired
     private TestContextFactory testContextFactory;
     
-    /** Delegate test execution to this executor */
-    private JUnitTestExecutor testExecutor;
-    
     /**
      * Execute the test case.
      */
     protected void executeTest() {
-        testExecutor  = createExecutor();
-        testExecutor.executeTest(prepareTestContext(createTestContext()));
+        createExecutor().executeTest(prepareTestContext(createTestContext()));
     }
     
     /**
@@ -17,6 +17,7 @@
 package com.consol.citrus.junit;
 
 import com.consol.citrus.TestCase;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.context.TestContext;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
@@ -65,17 +66,15 @@ public class JUnitTestExecutor {
     }
 
     /**
-     * Creates the Spring application context.
+     * Creates the Spring application context. Test case XML file is parsed only once
+     * and reused with subsequent test executions.
      * @return
      */
     protected ClassPathXmlApplicationContext createApplicationContext(TestContext context) {
         try {
-            return new ClassPathXmlApplicationContext(
-                    new String[] {
-                            testClass.getPackage().getName().replace('.', '/')
-                                    + "/" + testClass.getSimpleName() + ".xml",
-                            "com/consol/citrus/spring/annotation-config-ctx.xml"},
-                    true, applicationContext);
+            return XmlTestDefinitionCache.createApplicationContext(
+                    testClass.getPackage().getName().replace('.', '/') + "/" + testClass.getSimpleName() + ".xml",
+                    applicationContext);
         } catch (Exception e) {
             throw context.handleError(getClass().getSimpleName(), getClass().getPackage().getName(), "Failed to load test case", e);
         }
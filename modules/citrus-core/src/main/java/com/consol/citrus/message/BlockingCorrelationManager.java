@@ -0,0 +1,47 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.message;
+
+/**
+ * Correlation manager that is able to block consumers until an object is stored with a correlation key.
+ * Callers should check for this interface and fall back to polling plain correlation managers.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public interface BlockingCorrelationManager<T> extends CorrelationManager<T> {
+
+    /**
+     * Finds stored object by its correlation key. Waits for the object to be stored
+     * if not present yet. Returns null when timeout is exceeded.
+     * @param correlationKey
+     * @param timeout
+     * @return
+     */
+    T find(String correlationKey, long timeout);
+
+    /**
+     * Waits for an object to be stored with the given correlation key without removing it from the
+     * storage. Returns true if object is present, false when timeout is exceeded.
+     * @param correlationKey
+     * @param timeout
+     * @return
+     */
+    boolean await(String correlationKey, long timeout);
+
+}
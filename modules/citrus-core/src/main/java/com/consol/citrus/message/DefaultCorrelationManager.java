@@ -16,23 +16,58 @@
 
 package com.consol.citrus.message;
 
+import com.consol.citrus.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Default correlation manager stores objects by correlation key. Consumers waiting for a correlated object block
+ * on a signal per correlation key that is released as soon as an object is stored with this key. Waiting does not
+ * remove the object, so any number of consumers may wait for the same key and the first one to find the object
+ * takes it. Stored objects that nobody collects are evicted after a time to live or when the maximum number of
+ * stored objects is exceeded. Collected objects release their payload right away and are dropped from the eviction
+ * queue at the latest when the queue grows beyond twice the maximum number of stored objects.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
-public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
+public class DefaultCorrelationManager<T> implements BlockingCorrelationManager<T> {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultCorrelationManager.class);
 
+    /** Default time to live for stored objects in milliseconds */
+    public static final long DEFAULT_TIME_TO_LIVE = 3600000L;
+
+    /** Default maximum number of stored objects */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
     /** Map of managed objects */
-    private Map<String, T> objectStore = new ConcurrentHashMap<String, T>();
+    private ConcurrentMap<String, StoredObject<T>> objectStore = new ConcurrentHashMap<String, StoredObject<T>>();
+
+    /** Stored objects in order of arrival used for eviction */
+    private Queue<StoredObject<T>> evictionQueue = new ConcurrentLinkedQueue<StoredObject<T>>();
+
+    /** Length of eviction queue, tracked separately as concurrent queue size is not constant time */
+    private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+    /** Lock held by the thread currently evicting, other threads skip eviction meanwhile */
+    private final Lock evictionLock = new ReentrantLock();
+
+    /** Signals of consumers waiting for correlation keys, guarded by the map itself */
+    private final Map<String, Signal> signals = new HashMap<String, Signal>();
+
+    /** Time to live for stored objects in milliseconds */
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    /** Maximum number of stored objects */
+    private int maxSize = DEFAULT_MAX_SIZE;
 
     @Override
     public void store(String correlationKey, T object) {
@@ -45,7 +80,20 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
             log.debug(String.format("Saving correlated object for '%s'", correlationKey));
         }
 
-        objectStore.put(correlationKey, object);
+        StoredObject<T> entry = new StoredObject<T>(correlationKey, object);
+        objectStore.put(correlationKey, entry);
+        evictionQueue.offer(entry);
+        evictionQueueSize.incrementAndGet();
+        evict();
+
+        Signal signal;
+        synchronized (signals) {
+            signal = signals.remove(correlationKey);
+        }
+
+        if (signal != null) {
+            signal.latch.countDown();
+        }
     }
 
     @Override
@@ -54,7 +102,177 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
             log.debug(String.format("Finding correlated object for '%s'", correlationKey));
         }
 
-        return objectStore.remove(correlationKey);
+        StoredObject<T> entry = objectStore.remove(correlationKey);
+        if (entry == null) {
+            return null;
+        }
+
+        // release payload as entry may stay in eviction queue for a while
+        T object = entry.object;
+        entry.object = null;
+        return object;
+    }
+
+    @Override
+    public T find(String correlationKey, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        T object = find(correlationKey);
+
+        long timeLeft = timeout;
+        while (object == null && timeLeft > 0) {
+            await(correlationKey, timeLeft);
+            object = find(correlationKey);
+            timeLeft = deadline - System.currentTimeMillis();
+        }
+
+        return object;
+    }
+
+    @Override
+    public boolean await(String correlationKey, long timeout) {
+        if (objectStore.containsKey(correlationKey)) {
+            return true;
+        }
+
+        if (timeout <= 0) {
+            return false;
+        }
+
+        Signal signal;
+        synchronized (signals) {
+            signal = signals.get(correlationKey);
+            if (signal == null) {
+                signal = new Signal();
+                signals.put(correlationKey, signal);
+            }
+            signal.waiting++;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // check again after registration as object might have been stored in the meantime
+            return objectStore.containsKey(correlationKey) || signal.latch.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.warn("Thread interrupted while waiting for correlated object", e);
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            Metrics.recordTime(Metrics.CORRELATION_WAIT, start);
+
+            synchronized (signals) {
+                if (--signal.waiting == 0 && signals.get(correlationKey) == signal) {
+                    signals.remove(correlationKey);
+                }
+            }
+        }
     }
 
+    /**
+     * Removes stored objects that exceeded the time to live or the maximum size. Entries that were collected
+     * in the meantime are dropped from the head of the eviction queue on the fly. When collected entries pile up
+     * behind an entry that is still pending, the whole queue is compacted once its length exceeds twice
+     * the maximum size.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            StoredObject<T> head;
+
+            while ((head = evictionQueue.peek()) != null) {
+                boolean collected = objectStore.get(head.correlationKey) != head;
+                boolean expired = now - head.timestamp > timeToLive;
+
+                if (!collected && !expired && objectStore.size() <= maxSize) {
+                    break;
+                }
+
+                evictionQueue.poll();
+                evictionQueueSize.decrementAndGet();
+
+                if (!collected && objectStore.remove(head.correlationKey, head)) {
+                    log.warn(String.format("Evicted correlated object for '%s' that has not been collected", head.correlationKey));
+                }
+            }
+
+            if (evictionQueueSize.get() > 2L * maxSize) {
+                Iterator<StoredObject<T>> entries = evictionQueue.iterator();
+                while (entries.hasNext()) {
+                    StoredObject<T> entry = entries.next();
+                    if (objectStore.get(entry.correlationKey) != entry) {
+                        entries.remove();
+                        evictionQueueSize.decrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the current length of the eviction queue.
+     * @return
+     */
+    int getEvictionQueueSize() {
+        return evictionQueueSize.get();
+    }
+
+    /**
+     * Gets the time to live for stored objects.
+     * @return
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time to live for stored objects in milliseconds.
+     * @param timeToLive
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Gets the maximum number of stored objects.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of stored objects.
+     * @param maxSize
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Stored object with correlation key and time of arrival.
+     */
+    private static final class StoredObject<T> {
+        private final String correlationKey;
+        private volatile T object;
+        private final long timestamp = System.currentTimeMillis();
+
+        StoredObject(String correlationKey, T object) {
+            this.correlationKey = correlationKey;
+            this.object = object;
+        }
+    }
+
+    /**
+     * Signal released once when an object is stored for the correlation key. Counts the consumers
+     * currently waiting so the signal is dropped when the last one gives up.
+     */
+    private static final class Signal {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private int waiting = 0;
+    }
 }
@@ -17,11 +17,13 @@
 package com.consol.citrus.message;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.util.CollectionUtils;
+import org.w3c.dom.Document;
 
 import java.util.*;
 
@@ -46,6 +48,9 @@ public class DefaultMessage implements Message {
     /** Message headers */
     private final Map<String, Object> headers;
 
+    /** Parsed DOM document representation of payload shared by all read only consumers */
+    private transient volatile PayloadDocument payloadDocument;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultMessage.class);
 
@@ -142,12 +147,24 @@ public class DefaultMessage implements Message {
         return headerData;
     }
 
+    /**
+     * Gets the payload converted to given type. When asked for a {@link Document} the payload is parsed only once
+     * and the resulting DOM document is shared by all subsequent calls as long as the payload is not changed. The shared
+     * document is read only: callers must not modify it and should work on a deep clone when they need to change nodes.
+     * @param type
+     * @param <T>
+     * @return
+     */
     @Override
     public <T> T getPayload(Class<T> type) {
         if (type.isInstance(payload)) {
             return type.cast(payload);
         }
 
+        if (Document.class.equals(type) && payload != null) {
+            return type.cast(getPayloadDocument());
+        }
+
         try {
             return new SimpleTypeConverter().convertIfNecessary(payload, type);
         } catch (ConversionNotSupportedException e) {
@@ -168,6 +185,23 @@ public class DefaultMessage implements Message {
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+        this.payloadDocument = null;
+    }
+
+    /**
+     * Parses payload to DOM document once and caches the result for this payload.
+     * @return
+     */
+    private Document getPayloadDocument() {
+        Object source = payload;
+        PayloadDocument parsed = payloadDocument;
+
+        if (parsed == null || parsed.source != source) {
+            parsed = new PayloadDocument(source, XMLUtils.parseMessagePayload(getPayload(String.class)));
+            payloadDocument = parsed;
+        }
+
+        return parsed.document;
     }
 
     @Override
@@ -176,4 +210,17 @@ public class DefaultMessage implements Message {
         copy.putAll(headers);
         return copy;
     }
+
+    /**
+     * Parsed DOM document together with the payload object it was parsed from.
+     */
+    private static final class PayloadDocument {
+        private final Object source;
+        private final Document document;
+
+        private PayloadDocument(Object source, Document document) {
+            this.source = source;
+            this.document = document;
+        }
+    }
 }
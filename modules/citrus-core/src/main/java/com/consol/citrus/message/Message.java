@@ -74,7 +74,8 @@ public interface Message extends Serializable {
     Map<String, Object> copyHeaders();
 
     /**
-     * Gets message payload with required type conversion.
+     * Gets message payload with required type conversion. Implementations may share converted representations
+     * such as a parsed DOM document between callers, so callers must treat those as read only.
      * @param type
      * @param <T>
      * @return
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default in memory metrics registry. Timers and counters are held in concurrent maps and updated with atomic
+ * operations only, so recording never blocks test execution.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+
+    /** Timers by name */
+    private final ConcurrentMap<String, TimerMetric> timers = new ConcurrentHashMap<String, TimerMetric>();
+
+    /** Counters by name */
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+    @Override
+    public void recordTime(String name, long durationNanos) {
+        TimerMetric timer = timers.get(name);
+        if (timer == null) {
+            TimerMetric newTimer = new TimerMetric();
+            timer = timers.putIfAbsent(name, newTimer);
+            if (timer == null) {
+                timer = newTimer;
+            }
+        }
+
+        timer.record(durationNanos);
+    }
+
+    @Override
+    public void increment(String name) {
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public Map<String, TimerMetric> getTimers() {
+        return new TreeMap<String, TimerMetric>(timers);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> counter : counters.entrySet()) {
+            values.put(counter.getKey(), counter.getValue().get());
+        }
+
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        timers.clear();
+        counters.clear();
+    }
+}
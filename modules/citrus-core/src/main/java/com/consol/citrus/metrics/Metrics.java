@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import com.consol.citrus.endpoint.AbstractEndpoint;
+import com.consol.citrus.endpoint.Endpoint;
+
+/**
+ * Static access to the metrics registry used by framework instrumentation. Parsers and correlation managers have
+ * no test context at hand, so the registry is held here. Custom registry implementations are plugged in with
+ * {@link #setRegistry(MetricsRegistry)}.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class Metrics {
+
+    /** Timer names */
+    public static final String ACTION_PREFIX = "action.";
+    public static final String ENDPOINT_PREFIX = "endpoint.";
+    public static final String VALIDATION_PREFIX = "validation.";
+    public static final String CORRELATION_WAIT = "correlation.wait";
+    public static final String XML_PARSE = "xml.parse";
+    public static final String JSON_PARSE = "json.parse";
+
+    /** Registry receiving all metrics */
+    private static volatile MetricsRegistry registry = new DefaultMetricsRegistry();
+
+    /**
+     * Prevent instantiation.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Records time elapsed since given start for named timer.
+     * @param name
+     * @param startNanos start as given by {@link System#nanoTime()}
+     */
+    public static void recordTime(String name, long startNanos) {
+        registry.recordTime(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Increments named counter.
+     * @param name
+     */
+    public static void increment(String name) {
+        registry.increment(name);
+    }
+
+    /**
+     * Builds timer name for endpoint operation. Endpoint name is used for endpoints based on {@link AbstractEndpoint},
+     * custom endpoint implementations are identified by their class name.
+     * @param endpoint
+     * @param operation
+     * @return
+     */
+    public static String getEndpointTimerName(Endpoint endpoint, String operation) {
+        String endpointName = endpoint instanceof AbstractEndpoint ? endpoint.getName() : endpoint.getClass().getSimpleName();
+        return ENDPOINT_PREFIX + endpointName + "." + operation;
+    }
+
+    /**
+     * Gets the metrics registry.
+     * @return
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Sets the metrics registry.
+     * @param metricsRegistry
+     */
+    public static void setRegistry(MetricsRegistry metricsRegistry) {
+        registry = metricsRegistry;
+    }
+}
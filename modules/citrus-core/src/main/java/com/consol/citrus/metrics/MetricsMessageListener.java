@@ -0,0 +1,45 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListener;
+
+/**
+ * Message listener counting inbound and outbound messages. Not registered by default as any message listener
+ * present replaces the default message logging in test context.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MetricsMessageListener implements MessageListener {
+
+    /** Counter names */
+    public static final String INBOUND_MESSAGES = "messages.inbound";
+    public static final String OUTBOUND_MESSAGES = "messages.outbound";
+
+    @Override
+    public void onInboundMessage(Message message, TestContext context) {
+        Metrics.increment(INBOUND_MESSAGES);
+    }
+
+    @Override
+    public void onOutboundMessage(Message message, TestContext context) {
+        Metrics.increment(OUTBOUND_MESSAGES);
+    }
+}
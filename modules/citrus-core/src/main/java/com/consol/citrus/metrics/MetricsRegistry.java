@@ -0,0 +1,59 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import java.util.Map;
+
+/**
+ * Metrics registry records timers and counters for test actions, endpoints, validators and parsers. Implementations
+ * are called concurrently from parallel test execution and should not block callers.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Records duration for named timer.
+     * @param name
+     * @param durationNanos
+     */
+    void recordTime(String name, long durationNanos);
+
+    /**
+     * Increments named counter by one.
+     * @param name
+     */
+    void increment(String name);
+
+    /**
+     * Gets snapshot of all timers by name.
+     * @return
+     */
+    Map<String, TimerMetric> getTimers();
+
+    /**
+     * Gets snapshot of all counter values by name.
+     * @return
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Removes all recorded timers and counters.
+     */
+    void reset();
+}
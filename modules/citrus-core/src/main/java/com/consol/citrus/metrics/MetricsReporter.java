@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.report.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporter writes all timers and counters of the metrics registry to a plain text report file after test run.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MetricsReporter implements TestReporter {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+    /** Output directory */
+    private static final String OUTPUT_DIRECTORY = "test-output" + File.separator + "citrus-reports";
+
+    /** Resulting metrics report file name */
+    private static final String REPORT_FILE_NAME = "citrus-metrics.txt";
+
+    @Override
+    public void generateTestResults() {
+        MetricsRegistry registry = Metrics.getRegistry();
+        if (registry.getTimers().isEmpty() && registry.getCounters().isEmpty()) {
+            return;
+        }
+
+        createReportFile(createReport(registry));
+    }
+
+    @Override
+    public void clearTestResults() {
+        Metrics.getRegistry().reset();
+    }
+
+    /**
+     * Creates report content with one line per timer and counter. Durations are given in milliseconds.
+     * @param registry
+     * @return
+     */
+    String createReport(MetricsRegistry registry) {
+        StringBuilder report = new StringBuilder();
+        String newLine = System.getProperty("line.separator");
+
+        report.append(String.format("%-60s %10s %12s %12s %12s %12s", "TIMER", "COUNT", "TOTAL(ms)", "AVG(ms)", "MIN(ms)", "MAX(ms)")).append(newLine);
+        for (Map.Entry<String, TimerMetric> timer : registry.getTimers().entrySet()) {
+            TimerMetric metric = timer.getValue();
+            report.append(String.format("%-60s %10d %12.3f %12.3f %12.3f %12.3f", timer.getKey(), metric.getCount(),
+                    toMillis(metric.getTotal()), toMillis(metric.getAverage()), toMillis(metric.getMin()), toMillis(metric.getMax()))).append(newLine);
+        }
+
+        report.append(newLine);
+        report.append(String.format("%-60s %10s", "COUNTER", "VALUE")).append(newLine);
+        for (Map.Entry<String, Long> counter : registry.getCounters().entrySet()) {
+            report.append(String.format("%-60s %10d", counter.getKey(), counter.getValue())).append(newLine);
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds.
+     * @param nanos
+     * @return
+     */
+    private double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Creates the metrics report file
+     * @param content The String content of the report file
+     */
+    private void createReportFile(String content) {
+        Writer fileWriter = null;
+
+        File targetDirectory = new File(OUTPUT_DIRECTORY);
+        if (!targetDirectory.exists()) {
+            boolean success = targetDirectory.mkdirs();
+
+            if (!success) {
+                throw new CitrusRuntimeException("Unable to create folder structure for metrics report");
+            }
+        }
+
+        try {
+            fileWriter = new FileWriter(OUTPUT_DIRECTORY + File.separator + REPORT_FILE_NAME);
+            fileWriter.append(content);
+            fileWriter.flush();
+        } catch (IOException e) {
+            log.error("Failed to save metrics report", e);
+        } finally {
+            if (fileWriter != null) {
+                try {
+                    fileWriter.close();
+                } catch (IOException e) {
+                    log.error("Error closing metrics report file", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import com.consol.citrus.TestAction;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.report.TestActionListener;
+
+/**
+ * Test action listener records execution time per test action name. Test case executes its actions
+ * sequentially in one thread, so start time is kept thread local.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class MetricsTestActionListener implements TestActionListener {
+
+    /** Start time of currently executed action */
+    private final ThreadLocal<Long> startTime = new ThreadLocal<Long>();
+
+    @Override
+    public void onTestActionStart(TestCase testCase, TestAction testAction) {
+        startTime.set(System.nanoTime());
+    }
+
+    @Override
+    public void onTestActionFinish(TestCase testCase, TestAction testAction) {
+        Long start = startTime.get();
+        if (start != null) {
+            startTime.remove();
+            Metrics.recordTime(Metrics.ACTION_PREFIX + testAction.getName(), start);
+        }
+    }
+
+    @Override
+    public void onTestActionSkipped(TestCase testCase, TestAction testAction) {
+        Metrics.increment(Metrics.ACTION_PREFIX + testAction.getName() + ".skipped");
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timer keeps number of recorded durations together with total, minimum and maximum duration. All
+ * updates are lock-free.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class TimerMetric {
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records new duration.
+     * @param durationNanos
+     */
+    public void record(long durationNanos) {
+        count.incrementAndGet();
+        total.addAndGet(durationNanos);
+
+        long current;
+        while (durationNanos < (current = min.get()) && !min.compareAndSet(current, durationNanos)) {
+            // retry
+        }
+
+        while (durationNanos > (current = max.get()) && !max.compareAndSet(current, durationNanos)) {
+            // retry
+        }
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     * @return
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the total duration in nanoseconds.
+     * @return
+     */
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Gets the minimum duration in nanoseconds.
+     * @return
+     */
+    public long getMin() {
+        return count.get() > 0 ? min.get() : 0L;
+    }
+
+    /**
+     * Gets the maximum duration in nanoseconds.
+     * @return
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average duration in nanoseconds.
+     * @return
+     */
+    public long getAverage() {
+        long recorded = count.get();
+        return recorded > 0 ? total.get() / recorded : 0L;
+    }
+}
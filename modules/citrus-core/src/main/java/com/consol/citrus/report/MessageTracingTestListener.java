@@ -16,6 +16,7 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -23,37 +24,60 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.RawMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
- * 
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ *
+ * Messages are handed over to a background writer thread through a bounded queue so message content is formatted and
+ * written to the trace file off the test thread. When the queue is full the test thread waits for the writer to catch up,
+ * but only up to a timeout. Entries that do not fit into the queue in time are dropped and logged, so a stuck writer
+ * never blocks the test run.
+ * Messages are correlated to the test case via the test name variable in the test context so tests running in parallel
+ * write to separate trace files.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, MessageListener {
+public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, DisposableBean, MessageListener {
     
     /** File ending for all message trace files */
     private static final String TRACE_FILE_ENDING = ".msgs";
 
+    /** Default maximum number of trace entries waiting to be written */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /** Default time in milliseconds to wait for free space in trace queue */
+    public static final long DEFAULT_OFFER_TIMEOUT = 5000L;
+
     /** Output directory */
     private Resource outputDirectory = new FileSystemResource("logs/trace/messages/");
-    
-    /** List of messages to trace */
-    private List<String> messages = new ArrayList<String>();
-    
-    /** Locking object for synchronization */
-    private Object lockObject = new Object();
+
+    /** Maximum number of trace entries waiting to be written */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /** Time in milliseconds to wait for free space in trace queue */
+    private long offerTimeout = DEFAULT_OFFER_TIMEOUT;
+
+    /** Trace entries waiting to be written */
+    private BlockingQueue<TraceEntry> traceEntries;
+
+    /** Background writer thread */
+    private volatile Thread writerThread;
+
+    /** Name of test currently running, used when messages come without test context */
+    private volatile String currentTestName;
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(MessageTracingTestListener.class);
@@ -63,9 +87,8 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
-        }
+        currentTestName = test.getName();
+        trace(new TraceEntry(TraceEntryType.TEST_START, test.getName(), null));
     }
     
     /**
@@ -73,63 +96,71 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
-            return; // do not write empty message trace file
-        }
-
-        BufferedWriter writer = null;
-        
-        try {
-            Resource outputFile = outputDirectory.createRelative(test.getName() + TRACE_FILE_ENDING);
-            
-            writer = new BufferedWriter(new FileWriter(outputFile.getFile()));
-            
-            writer.write(separator() + newLine() + newLine());
-            
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
-                }
-            }
-            
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    log.error("Error while closing message trace file writer", e);
-                }
-            }
-        }
+        trace(new TraceEntry(TraceEntryType.TEST_FINISH, test.getName(), null));
     }
     
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace(new TraceEntry(TraceEntryType.INBOUND_MESSAGE, getTestName(context), message));
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace(new TraceEntry(TraceEntryType.OUTBOUND_MESSAGE, getTestName(context), message));
+        }
+    }
+
+    /**
+     * Hands trace entry over to background writer. Waits for free space in trace queue until offer timeout
+     * is exceeded, drops the trace entry then.
+     * @param traceEntry
+     */
+    private void trace(TraceEntry traceEntry) {
+        if (writerThread == null) {
+            log.warn("Message trace writer is not running - skipping message trace");
+            return;
+        }
+
+        if (!enqueue(traceEntry)) {
+            log.warn(String.format("Message trace writer did not keep up - dropped %s trace entry for test '%s'", traceEntry.type, traceEntry.testName));
         }
     }
 
+    /**
+     * Adds trace entry to trace queue. Waits for free space until offer timeout is exceeded.
+     * @param traceEntry
+     * @return true if trace entry was added to the queue
+     */
+    private boolean enqueue(TraceEntry traceEntry) {
+        try {
+            return traceEntries.offer(traceEntry, offerTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets test name from test context. Falls back to currently running test if test context is not available.
+     * @param context
+     * @return
+     */
+    private String getTestName(TestContext context) {
+        if (context != null && context.getVariables().containsKey(CitrusConstants.TEST_NAME_VARIABLE)) {
+            return context.getVariables().get(CitrusConstants.TEST_NAME_VARIABLE).toString();
+        }
+
+        return currentTestName;
+    }
+
     /**
      * Creates message separator line.
      * @return
      */
-    private String separator() {
+    private static String separator() {
         return "======================================================================";
     }
 
@@ -137,7 +168,7 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      * Get new line character.
      * @return
      */
-    private String newLine() {
+    private static String newLine() {
         return System.getProperty("line.separator");
     }
 
@@ -152,6 +183,31 @@ public class MessageTracingTestListener extends AbstractTestListener implements
                 throw new CitrusRuntimeException("Unable to create output directory structure for message tracing");
             }
         }
+
+        traceEntries = new ArrayBlockingQueue<TraceEntry>(queueCapacity);
+        writerThread = new Thread(new TraceWriter(), "MessageTracingWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Writes all pending trace entries and stops background writer. Gives up waiting for the writer
+     * after the offer timeout.
+     */
+    public void destroy() throws Exception {
+        Thread writer = writerThread;
+
+        if (writer != null) {
+            writerThread = null;
+
+            if (enqueue(new TraceEntry(TraceEntryType.SHUTDOWN, null, null))) {
+                writer.join(offerTimeout);
+            }
+
+            if (writer.isAlive()) {
+                log.warn("Message trace writer did not finish in time - pending message traces are lost");
+            }
+        }
     }
 
     /**
@@ -161,5 +217,139 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     public void setOutputDirectory(Resource outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
-    
+
+    /**
+     * Sets the maximum number of trace entries waiting to be written.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the time in milliseconds to wait for free space in trace queue before a trace entry is dropped.
+     * @param offerTimeout
+     */
+    public void setOfferTimeout(long offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Type of trace entry.
+     */
+    private enum TraceEntryType {
+        TEST_START, TEST_FINISH, INBOUND_MESSAGE, OUTBOUND_MESSAGE, SHUTDOWN
+    }
+
+    /**
+     * Single trace entry. Holds message reference only, message content is formatted by trace writer.
+     */
+    private static class TraceEntry {
+        private final TraceEntryType type;
+        private final String testName;
+        private final Message message;
+
+        TraceEntry(TraceEntryType type, String testName, Message message) {
+            this.type = type;
+            this.testName = testName;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Background writer takes trace entries from queue and streams them to trace file per test. Trace file is
+     * created with first message of a test so no empty trace files are written.
+     */
+    private class TraceWriter implements Runnable {
+        /** Open trace file writers by test name */
+        private final Map<String, Writer> writers = new HashMap<String, Writer>();
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    TraceEntry traceEntry = traceEntries.take();
+
+                    try {
+                        switch (traceEntry.type) {
+                            case TEST_START:
+                            case TEST_FINISH:
+                                close(traceEntry.testName);
+                                break;
+                            case INBOUND_MESSAGE:
+                            case OUTBOUND_MESSAGE:
+                                write(traceEntry);
+                                break;
+                            case SHUTDOWN:
+                                return;
+                        }
+                    } catch (Throwable e) {
+                        // keep writer alive, otherwise the trace queue fills up and message traces are dropped
+                        log.error("Failed to process message trace entry", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (String testName : writers.keySet().toArray(new String[writers.size()])) {
+                    close(testName);
+                }
+            }
+        }
+
+        /**
+         * Writes message to trace file of test. Opens trace file if necessary.
+         * @param traceEntry
+         */
+        private void write(TraceEntry traceEntry) {
+            if (traceEntry.testName == null) {
+                log.warn("Unable to trace message - no test case running");
+                return;
+            }
+
+            try {
+                Writer writer = writers.get(traceEntry.testName);
+
+                if (writer == null) {
+                    Resource outputFile = outputDirectory.createRelative(traceEntry.testName + TRACE_FILE_ENDING);
+                    writer = new BufferedWriter(new FileWriter(outputFile.getFile()));
+                    writers.put(traceEntry.testName, writer);
+
+                    writer.write(separator());
+                    writer.write(newLine());
+                    writer.write(newLine());
+                }
+
+                writer.write(traceEntry.type.name());
+                writer.write(":");
+                writer.write(newLine());
+                writer.write(newLine());
+                writer.write(traceEntry.message.toString());
+                writer.write(newLine());
+                writer.write(separator());
+                writer.write(newLine());
+                writer.write(newLine());
+            } catch (IOException e) {
+                log.error("Failed to write message trace to filesystem", e);
+            } catch (RuntimeException e) {
+                log.error("Failed to write message trace", e);
+            }
+        }
+
+        /**
+         * Closes trace file of test if open.
+         * @param testName
+         */
+        private void close(String testName) {
+            Writer writer = writers.remove(testName);
+
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    log.error("Error while closing message trace file writer", e);
+                }
+            }
+        }
+    }
 }
@@ -67,16 +67,17 @@ public class GroovyAction extends AbstractTestAction {
     @Override
     public void doExecute(TestContext context) {
         try {
-            ClassLoader parent = getClass().getClassLoader();
-            GroovyClassLoader loader = new GroovyClassLoader(parent);
-
             assertScriptProvided();
 
             String rawCode = StringUtils.hasText(script) ? script.trim() : FileUtils.readToString(FileUtils.getFileResource(scriptResourcePath, context));
             String code = context.replaceDynamicContentInString(rawCode.trim());
 
+            // compiled classes are shared unless code holds dynamic content resulting in a new class for each distinct content
+            ClassLoader parent = getClass().getClassLoader();
+            boolean cacheable = code.equals(rawCode.trim());
+
             // load groovy code
-            Class<?> groovyClass = loader.parseClass(code);
+            Class<?> groovyClass = parseClass(code, parent, cacheable);
             // Instantiate an object from groovy code
             GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
 
@@ -87,7 +88,7 @@ public class GroovyAction extends AbstractTestAction {
                                                  .withCode(code)
                                                  .build();
 
-                groovyClass = loader.parseClass(code);
+                groovyClass = parseClass(code, parent, cacheable);
                 groovyObject = (GroovyObject) groovyClass.newInstance();
             }
 
@@ -110,6 +111,21 @@ public class GroovyAction extends AbstractTestAction {
         }
     }
 
+    /**
+     * Compiles Groovy code with given parent class loader either using shared class cache or a new class loader.
+     * @param code
+     * @param parent
+     * @param cacheable
+     * @return
+     */
+    private Class<?> parseClass(String code, ClassLoader parent, boolean cacheable) {
+        if (cacheable) {
+            return GroovyClassCache.parseClass(code, parent);
+        } else {
+            return new GroovyClassLoader(parent).parseClass(code);
+        }
+    }
+
     private void assertScriptProvided() {
         if (!StringUtils.hasText(script) && scriptResourcePath == null) {
             throw new CitrusRuntimeException("Neither inline script nor " +
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.script;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilationFailedException;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Compiles Groovy script code only once and keeps compiled classes by parent class loader and content hash of the script code.
+ * Validators, message builders and test actions executing the very same script code over and over again in iterations or
+ * data driven tests share the compiled class and create a new instance of it with each execution.
+ *
+ * As all executions share the compiled class static fields declared in a script keep their state between executions. Scripts
+ * must not rely on static state being initialized freshly with each execution.
+ *
+ * Each compiled class uses its own class loader so evicted classes can be unloaded. The cache evicts least recently
+ * used classes when the maximum cache size is reached.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public final class GroovyClassCache {
+
+    /** Maximum number of cached classes */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    /** Compiled classes by parent class loader and content hash in access order, guarded by itself */
+    private static final Map<List<Object>, Class<?>> classes = new LinkedHashMap<List<Object>, Class<?>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Class<?>> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Prevent instantiation.
+     */
+    private GroovyClassCache() {
+    }
+
+    /**
+     * Gets compiled class for Groovy script code using given parent class loader. Code is compiled on first access only.
+     * @param code
+     * @param parent
+     * @return
+     * @throws CompilationFailedException
+     */
+    public static Class<?> parseClass(String code, ClassLoader parent) throws CompilationFailedException {
+        List<Object> key = Arrays.<Object>asList(parent, hash(code));
+
+        Class<?> groovyClass;
+        synchronized (classes) {
+            groovyClass = classes.get(key);
+        }
+
+        if (groovyClass == null) {
+            GroovyClassLoader loader = new GroovyClassLoader(parent);
+            groovyClass = loader.parseClass(code);
+
+            synchronized (classes) {
+                classes.put(key, groovyClass);
+            }
+        }
+
+        return groovyClass;
+    }
+
+    /**
+     * Removes all cached classes.
+     */
+    public static void clear() {
+        synchronized (classes) {
+            classes.clear();
+        }
+    }
+
+    /**
+     * Builds SHA-256 content hash of script code.
+     * @param code
+     * @return
+     */
+    private static String hash(String code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes("UTF-8"));
+
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hash.append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new CitrusRuntimeException("Failed to build content hash for Groovy script", e);
+        } catch (UnsupportedEncodingException e) {
+            throw new CitrusRuntimeException("Failed to build content hash for Groovy script", e);
+        }
+    }
+}
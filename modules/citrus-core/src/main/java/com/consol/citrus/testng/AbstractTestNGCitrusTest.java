@@ -63,11 +63,7 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
 
             if (!CollectionUtils.isEmpty(methodTestLoaders)) {
                 try {
-                    if (citrus == null) {
-                        citrus = Citrus.newInstance(applicationContext);
-                    }
-
-                    TestContext ctx = prepareTestContext(citrus.createTestContext());
+                    TestContext ctx = prepareTestContext(getCitrus().createTestContext());
                     TestLoader testLoader = methodTestLoaders.get(testResult.getMethod().getCurrentInvocationCount() % methodTestLoaders.size());
                     TestCase testCase = testLoader.load();
 
@@ -81,7 +77,7 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
                         }
                     }
 
-                    citrus.run(testCase, ctx);
+                    getCitrus().run(testCase, ctx);
                 } catch (RuntimeException e) {
                     testResult.setThrowable(e);
                     testResult.setStatus(ITestResult.FAILURE);
@@ -188,11 +184,7 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
      * @param testContext the test context.
      */
     protected void executeTest(ITestContext testContext) {
-        if (citrus == null) {
-            citrus = Citrus.newInstance(applicationContext);
-        }
-
-        TestContext ctx = prepareTestContext(citrus.createTestContext());
+        TestContext ctx = prepareTestContext(getCitrus().createTestContext());
         TestCase testCase = getTestCase();
 
         ITestNGMethod testNGMethod = Reporter.getCurrentTestResult().getMethod();
@@ -207,7 +199,20 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
             }
         }
 
-        citrus.run(testCase, ctx);
+        getCitrus().run(testCase, ctx);
+    }
+
+    /**
+     * Gets the Citrus instance shared by all test methods in this test class. Creates new instance if
+     * not initialized yet. Test methods may run in parallel with each of them using its own test context.
+     * @return
+     */
+    protected synchronized Citrus getCitrus() {
+        if (citrus == null) {
+            citrus = Citrus.newInstance(applicationContext);
+        }
+
+        return citrus;
     }
 
     /**
@@ -275,7 +280,7 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
      */
     @AfterSuite(alwaysRun = true)
     public void afterSuite(ITestContext testContext) {
-        citrus.afterSuite(testContext.getSuite().getName());
+        getCitrus().afterSuite(testContext.getSuite().getName());
     }
     
     /**
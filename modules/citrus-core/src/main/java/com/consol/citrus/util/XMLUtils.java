@@ -18,6 +18,7 @@ package com.consol.citrus.util;
 
 import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.metrics.Metrics;
 import com.consol.citrus.xml.LSResolverImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -378,6 +379,7 @@ public final class XMLUtils {
      * @return DOM document.
      */
     public static Document parseMessagePayload(String messagePayload) {
+        long start = System.nanoTime();
         LSParser parser = createLSParser();
         setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, true);
         setParserConfigParameter(parser, RESOURCE_RESOLVER, new LSResolverImpl(domImpl));
@@ -392,7 +394,11 @@ public final class XMLUtils {
             throw new CitrusRuntimeException(e);
         }
 
-        return parser.parse(receivedInput);
+        try {
+            return parser.parse(receivedInput);
+        } finally {
+            Metrics.recordTime(Metrics.XML_PARSE, start);
+        }
     }
 
     /**
@@ -16,24 +16,21 @@
 
 package com.consol.citrus.validation.json;
 
-import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.MessageType;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.metrics.Metrics;
 import com.consol.citrus.validation.ControlMessageValidator;
-import com.consol.citrus.validation.ValidationUtils;
-import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringReader;
 
 /**
  * This message validator implementation is able to validate two JSON text objects. The order of JSON entries can differ
@@ -41,9 +38,15 @@ import java.util.Map;
  * 
  * JSONArray as well as nested JSONObjects are supported, too.
  *
+ * Received JSON text is validated while it is parsed so received JSON data is never built as object tree in memory. Only
+ * the control JSON object is parsed to a tree structure.
+ *
  * Validator offers two different modes to operate. By default strict mode is set and the validator will also check the exact amount of
  * control object fields to match. No additional fields in received JSON data structure will be accepted. In soft mode validator
  * allows additional fields in received JSON data structure so the control JSON object can be a partial subset.
+ *
+ * Array elements are validated in order by default. With strict array order disabled the validator matches received array
+ * elements with control array elements regardless of their order.
  * 
  * @author Christoph Deppisch
  */
@@ -52,8 +55,10 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
     /** Should also check exact amount of object fields */
     private boolean strict = true;
 
+    /** Should validate array elements in order */
+    private boolean strictArrayOrder = true;
+
     @Override
-    @SuppressWarnings("unchecked")
     public void validateMessagePayload(Message receivedMessage,
             Message controlMessage,
             TestContext context) throws ValidationException {
@@ -78,26 +83,17 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
             }
             
             JSONParser parser = new JSONParser();
-        
-            Object receivedJson = parser.parse(receivedJsonText);
+            long start = System.nanoTime();
             Object controlJson = parser.parse(controlJsonText);
-            
-            if (receivedJson instanceof JSONObject) {
-                validateJson((JSONObject) receivedJson, (JSONObject) controlJson, context);
-            } else if (receivedJson instanceof JSONArray) {
-                JSONObject tempReceived = new JSONObject();
-                tempReceived.put("array", receivedJson);
-                JSONObject tempControl = new JSONObject();
-                tempControl.put("array", controlJson);
-                
-                validateJson(tempReceived, tempControl, context);
-            } else {
-                throw new CitrusRuntimeException("Unsupported json type " + receivedJson.getClass());
-            }
+            Metrics.recordTime(Metrics.JSON_PARSE, start);
+
+            parser.parse(new StringReader(receivedJsonText), new JsonValidatingContentHandler(controlJson, strict, strictArrayOrder, context));
         } catch (IllegalArgumentException e) {
             throw new ValidationException("Failed to validate JSON text:\n" + receivedJsonText, e);
         } catch (ParseException e) {
             throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read JSON text", e);
         }
         
         log.info("JSON message validation finished successfully: All values OK");
@@ -111,89 +107,13 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
      * @param controlJson the expected control JSON text.
      * @param context the current test context.
      */
-    @SuppressWarnings("rawtypes")
     public void validateJson(JSONObject receivedJson, JSONObject controlJson, TestContext context) {
-        if (strict) {
-            Assert.isTrue(controlJson.size() == receivedJson.size(),
-                          ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal", controlJson.size(), receivedJson.size()));
-        }
-        
-        for (Iterator it = controlJson.entrySet().iterator(); it.hasNext();) {
-            Map.Entry controlJsonEntry = (Map.Entry) it.next();
-            
-            Assert.isTrue(receivedJson.containsKey(controlJsonEntry.getKey()), 
-                    "Missing JSON entry: + '" + controlJsonEntry.getKey() + "'");
-            
-            if (controlJsonEntry.getValue() == null) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) == null, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlJsonEntry.getKey() + "'", 
-                                controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey())));
-                
-                if (log.isDebugEnabled()) {
-                    log.debug("Validation successful for JSON entry '" + controlJsonEntry.getKey() + "' (" + controlJsonEntry.getValue() + ")");
-                }
-                
-                continue;
-            }
-            
-            // check if entry is ignored by placeholder
-            if (log.isDebugEnabled() && 
-                    controlJsonEntry.getValue().toString().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER)) {
-                log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored - skip value validation");
-                continue;
-            }
-            
-            if (ValidationMatcherUtils.isValidationMatcherExpression(controlJsonEntry.getValue().toString())) {
-                ValidationMatcherUtils.resolveValidationMatcher(controlJsonEntry.getKey().toString(), 
-                        receivedJson.get(controlJsonEntry.getKey()).toString(), 
-                        controlJsonEntry.getValue().toString(), context);
-            } else if (controlJsonEntry.getValue() instanceof JSONObject) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONObject, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlJsonEntry.getKey() + "'", 
-                                JSONObject.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName()));
-                
-                validateJson((JSONObject) receivedJson.get(controlJsonEntry.getKey()), 
-                             (JSONObject) controlJsonEntry.getValue(), context);
-            } else if (controlJsonEntry.getValue() instanceof JSONArray) {
-                Assert.isTrue(receivedJson.get(controlJsonEntry.getKey()) instanceof JSONArray, 
-                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlJsonEntry.getKey() + "'", 
-                                JSONArray.class.getSimpleName(), receivedJson.get(controlJsonEntry.getKey()).getClass().getSimpleName()));
-                
-                JSONArray jsonArrayControl = (JSONArray) controlJsonEntry.getValue();
-                JSONArray jsonArrayReceived = (JSONArray) receivedJson.get(controlJsonEntry.getKey());
-                
-                if (log.isDebugEnabled()) {
-                    log.debug("Validating JSONArray containing " + jsonArrayControl.size() + " entries");
-                }
-
-                if (strict) {
-                    Assert.isTrue(jsonArrayControl.size() == jsonArrayReceived.size(),
-                                  ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlJsonEntry.getKey() + "'",
-                                                                                 jsonArrayControl.size(), jsonArrayReceived.size()));
-                }
-                for (int i = 0; i < jsonArrayControl.size(); i++) {
-                    if (jsonArrayControl.get(i).getClass().isAssignableFrom(JSONObject.class)) {
-                        Assert.isTrue(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class), 
-                                ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(i) + "'",
-                                        JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName()));
-                        
-                        validateJson((JSONObject) jsonArrayReceived.get(i),
-                                (JSONObject) jsonArrayControl.get(i), context);
-                    } else {
-                        Assert.isTrue(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
-                                ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(i) + "'", 
-                                        jsonArrayControl.get(i), jsonArrayReceived.get(i)));
-                    }
-                }
-            } else {
-                Assert.isTrue(controlJsonEntry.getValue().equals(receivedJson.get(controlJsonEntry.getKey())), 
-                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlJsonEntry.getKey() + "'", 
-                                controlJsonEntry.getValue(), receivedJson.get(controlJsonEntry.getKey())));
-            }
-            
-            if (log.isDebugEnabled()) {
-                log.debug("Validation successful for JSON entry '" + controlJsonEntry.getKey() + "' (" + controlJsonEntry.getValue() + ")");
-            }
+        try {
+            new JSONParser().parse(new StringReader(receivedJson.toJSONString()), new JsonValidatingContentHandler(controlJson, strict, strictArrayOrder, context));
+        } catch (ParseException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read JSON text", e);
         }
     }
     
@@ -220,4 +140,22 @@ public class JsonTextMessageValidator extends ControlMessageValidator {
         return this;
     }
 
+    /**
+     * Set the validator strict array order mode.
+     * @param strictArrayOrder
+     */
+    public void setStrictArrayOrder(boolean strictArrayOrder) {
+        this.strictArrayOrder = strictArrayOrder;
+    }
+
+    /**
+     * Set the validator strict array order mode.
+     * @param strictArrayOrder
+     * @return this object for chaining
+     */
+    public JsonTextMessageValidator strictArrayOrder(boolean strictArrayOrder) {
+        setStrictArrayOrder(strictArrayOrder);
+        return this;
+    }
+
 }
@@ -0,0 +1,786 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.ContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Json content handler validates received Json text token by token against a control Json object while the received
+ * text is parsed. Only the control Json object is held in memory. Received Json is never built as object tree, except
+ * for single values that are validated with a validation matcher expression. Received entries that are ignored or
+ * not part of the control Json are skipped.
+ *
+ * Array elements are validated by index by default. When strict array order is disabled array elements are matched
+ * regardless of their order. Each received element is then built as object tree and looked up by a structural hash
+ * projected on the control element structure. Candidates with equal hash are verified by validation. Received elements
+ * are assigned to control elements with augmenting paths (bipartite matching), so the result does not depend on
+ * element order even if a received element matches several control elements.
+ *
+ * Validation errors are raised as {@link IllegalArgumentException} like in other Citrus validators.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class JsonValidatingContentHandler implements ContentHandler {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JsonValidatingContentHandler.class);
+
+    /** Marks received values that are not validated */
+    private static final Object SKIP = new Object();
+
+    /** Marks received values that are built as object tree and handed back to the parent frame */
+    private static final Object CAPTURE = new Object();
+
+    /** Expected control Json object or array */
+    private final Object controlJson;
+
+    /** Should also check exact amount of object fields and array elements */
+    private final boolean strict;
+
+    /** Should validate array elements in order */
+    private final boolean strictArrayOrder;
+
+    /** Test context */
+    private final TestContext context;
+
+    /** Accept single values as root Json, only used when matching captured array elements */
+    private final boolean valueRootAllowed;
+
+    /** Currently open received Json objects and arrays */
+    private final Deque<Frame> frames = new ArrayDeque<Frame>();
+
+    /**
+     * Default constructor using control Json, strict mode and test context.
+     * @param controlJson
+     * @param strict
+     * @param context
+     */
+    public JsonValidatingContentHandler(Object controlJson, boolean strict, TestContext context) {
+        this(controlJson, strict, true, context);
+    }
+
+    /**
+     * Constructor using control Json, strict mode, strict array order and test context.
+     * @param controlJson
+     * @param strict
+     * @param strictArrayOrder
+     * @param context
+     */
+    public JsonValidatingContentHandler(Object controlJson, boolean strict, boolean strictArrayOrder, TestContext context) {
+        this(controlJson, strict, strictArrayOrder, context, false);
+    }
+
+    /**
+     * Constructor optionally accepting single values as root Json.
+     * @param controlJson
+     * @param strict
+     * @param strictArrayOrder
+     * @param context
+     * @param valueRootAllowed
+     */
+    private JsonValidatingContentHandler(Object controlJson, boolean strict, boolean strictArrayOrder, TestContext context, boolean valueRootAllowed) {
+        this.controlJson = controlJson;
+        this.strict = strict;
+        this.strictArrayOrder = strictArrayOrder;
+        this.context = context;
+        this.valueRootAllowed = valueRootAllowed;
+    }
+
+    @Override
+    public void startJSON() {
+        frames.clear();
+    }
+
+    @Override
+    public void endJSON() {
+    }
+
+    @Override
+    public boolean startObject() {
+        startContainer(new JSONObject());
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        frames.pop().end();
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        frames.peek().startEntry(key);
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        startContainer(new JSONArray());
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        frames.pop().end();
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        Frame parent = frames.peek();
+
+        if (parent == null) {
+            if (!valueRootAllowed) {
+                throw new CitrusRuntimeException("Unsupported json type " + (value != null ? value.getClass() : null));
+            }
+
+            validateValue("", controlJson, value);
+        } else if (parent instanceof CaptureFrame) {
+            ((CaptureFrame) parent).add(value);
+        } else {
+            Object control = parent.next();
+
+            if (control == CAPTURE) {
+                parent.captured(value);
+            } else {
+                validateValue(parent.getEntryName(), control, value);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Opens new received Json object or array. Decides how to handle the container content
+     * based on the respective control value.
+     * @param received empty Json object or array
+     */
+    private void startContainer(Object received) {
+        Frame parent = frames.peek();
+
+        if (parent instanceof CaptureFrame) {
+            ((CaptureFrame) parent).add(received);
+            frames.push(new CaptureFrame((CaptureFrame) parent, received));
+            return;
+        }
+
+        Object control = parent != null ? parent.next() : controlJson;
+        String name = parent != null ? parent.getEntryName() : "";
+
+        if (control == SKIP || isIgnored(control)) {
+            frames.push(new SkipFrame());
+        } else if (control == CAPTURE) {
+            frames.push(new CaptureFrame(parent, received));
+        } else if (isValidationMatcher(control)) {
+            frames.push(new CaptureFrame(name, control.toString(), received));
+        } else if (control instanceof JSONObject && received instanceof JSONObject) {
+            frames.push(new ObjectFrame(name, (JSONObject) control));
+        } else if (control instanceof JSONArray && received instanceof JSONArray) {
+            frames.push(strictArrayOrder ? new ArrayFrame(name, (JSONArray) control) : new UnorderedArrayFrame(name, (JSONArray) control));
+        } else if (control instanceof JSONObject || control instanceof JSONArray) {
+            throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + name + "'",
+                    control.getClass().getSimpleName(), received.getClass().getSimpleName()));
+        } else {
+            throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + name + "'",
+                    control, received.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Validates single received value with control value.
+     * @param name
+     * @param control
+     * @param received
+     */
+    private void validateValue(String name, Object control, Object received) {
+        if (control == SKIP) {
+            return;
+        }
+
+        if (isIgnored(control)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + name + "' is ignored - skip value validation");
+            }
+
+            return;
+        }
+
+        if (isValidationMatcher(control)) {
+            ValidationMatcherUtils.resolveValidationMatcher(name, String.valueOf(received), control.toString(), context);
+        } else if (control instanceof JSONObject || control instanceof JSONArray) {
+            throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + name + "'",
+                    control.getClass().getSimpleName(), received != null ? received.getClass().getSimpleName() : null));
+        } else if (control == null) {
+            Assert.isTrue(received == null, ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + name + "'",
+                    null, received));
+        } else {
+            Assert.isTrue(control.equals(received), ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + name + "'",
+                    control, received));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validation successful for JSON entry '" + name + "' (" + control + ")");
+        }
+    }
+
+    /**
+     * Checks if control value is ignore placeholder.
+     * @param control
+     * @return
+     */
+    private static boolean isIgnored(Object control) {
+        return control instanceof String && control.toString().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER);
+    }
+
+    /**
+     * Checks if control value is a validation matcher expression.
+     * @param control
+     * @return
+     */
+    private static boolean isValidationMatcher(Object control) {
+        return control instanceof String && ValidationMatcherUtils.isValidationMatcherExpression(control.toString());
+    }
+
+    /**
+     * Checks if received Json object tree matches the control value.
+     * @param control
+     * @param received
+     * @return
+     */
+    private boolean matches(Object control, Object received) {
+        JsonValidatingContentHandler handler = new JsonValidatingContentHandler(control, strict, strictArrayOrder, context, true);
+
+        try {
+            replay(received, handler);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends the content of a Json object tree to the given handler.
+     * @param value
+     * @param handler
+     */
+    @SuppressWarnings("unchecked")
+    private static void replay(Object value, JsonValidatingContentHandler handler) {
+        if (value instanceof JSONObject) {
+            handler.startObject();
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                handler.startObjectEntry(String.valueOf(entry.getKey()));
+                replay(entry.getValue(), handler);
+                handler.endObjectEntry();
+            }
+            handler.endObject();
+        } else if (value instanceof JSONArray) {
+            handler.startArray();
+            for (Object element : (JSONArray) value) {
+                replay(element, handler);
+            }
+            handler.endArray();
+        } else {
+            handler.primitive(value);
+        }
+    }
+
+    /**
+     * Builds structure signature of control value. Control values with same signature have the same object keys,
+     * nested objects and arrays as well as ignored and validation matcher entries.
+     * @param control
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static String getStructure(Object control) {
+        if (isIgnored(control) || isValidationMatcher(control)) {
+            return "*";
+        } else if (control instanceof JSONObject) {
+            StringBuilder structure = new StringBuilder("{");
+            for (Object key : new TreeSet<Object>(((Map<Object, Object>) control).keySet())) {
+                structure.append(key).append(':').append(getStructure(((JSONObject) control).get(key))).append(',');
+            }
+            return structure.append('}').toString();
+        } else if (control instanceof JSONArray) {
+            return "[]";
+        } else {
+            return "?";
+        }
+    }
+
+    /**
+     * Builds structural hash of value projected on the structure of the control value. Only object entries
+     * present in control are included. Ignored entries, validation matcher entries and nested arrays
+     * contribute constant values. So a value that matches the control always has the same hash as the control
+     * value itself.
+     * @param control
+     * @param value
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static int getProjectedHash(Object control, Object value) {
+        if (isIgnored(control) || isValidationMatcher(control)) {
+            return 1;
+        } else if (control instanceof JSONObject) {
+            if (!(value instanceof JSONObject)) {
+                return -1;
+            }
+
+            int hash = 7;
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) control).entrySet()) {
+                hash += 31 * entry.getKey().hashCode() + getProjectedHash(entry.getValue(), ((JSONObject) value).get(entry.getKey()));
+            }
+            return hash;
+        } else if (control instanceof JSONArray) {
+            return value instanceof JSONArray ? 3 : -1;
+        } else {
+            return value != null ? value.hashCode() : 0;
+        }
+    }
+
+    /**
+     * Open received Json object or array.
+     */
+    private abstract static class Frame {
+        /**
+         * Provides the control value for next received value in this container.
+         * @return
+         */
+        Object next() {
+            return SKIP;
+        }
+
+        /**
+         * Gets the name of the current entry used in validation error messages.
+         * @return
+         */
+        String getEntryName() {
+            return "";
+        }
+
+        /**
+         * Received object entry has started.
+         * @param key
+         */
+        void startEntry(String key) {
+        }
+
+        /**
+         * Received container has ended.
+         */
+        void end() {
+        }
+
+        /**
+         * Received value that has been built as object tree.
+         * @param value
+         */
+        void captured(Object value) {
+        }
+    }
+
+    /**
+     * Received object validated with control object. Object entries can be in any order.
+     */
+    private class ObjectFrame extends Frame {
+        private final String name;
+        private final JSONObject control;
+
+        private final Set<Object> validatedKeys = new HashSet<Object>();
+        private int entries = 0;
+
+        private String key;
+        private Object expected = SKIP;
+
+        ObjectFrame(String name, JSONObject control) {
+            this.name = name;
+            this.control = control;
+        }
+
+        @Override
+        void startEntry(String key) {
+            this.key = key;
+            entries++;
+
+            if (control.containsKey(key)) {
+                validatedKeys.add(key);
+                expected = control.get(key);
+            } else {
+                expected = SKIP;
+            }
+        }
+
+        @Override
+        Object next() {
+            return expected;
+        }
+
+        @Override
+        String getEntryName() {
+            return key;
+        }
+
+        @Override
+        void end() {
+            if (strict) {
+                Assert.isTrue(control.size() == entries,
+                        ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal", control.size(), entries));
+            }
+
+            for (Object controlKey : control.keySet()) {
+                Assert.isTrue(validatedKeys.contains(controlKey), "Missing JSON entry: '" + controlKey + "'");
+            }
+
+            if (log.isDebugEnabled() && !name.isEmpty()) {
+                log.debug("Validation successful for JSON entry '" + name + "'");
+            }
+        }
+    }
+
+    /**
+     * Received array validated with control array element by element.
+     */
+    private class ArrayFrame extends Frame {
+        private final String name;
+        private final JSONArray control;
+
+        private int index = 0;
+
+        ArrayFrame(String name, JSONArray control) {
+            this.name = name;
+            this.control = control;
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validating JSONArray containing " + control.size() + " entries");
+            }
+        }
+
+        @Override
+        Object next() {
+            return index < control.size() ? control.get(index++) : skip();
+        }
+
+        /**
+         * Additional received array elements are skipped.
+         * @return
+         */
+        private Object skip() {
+            index++;
+            return SKIP;
+        }
+
+        @Override
+        String getEntryName() {
+            return name + "[" + (index - 1) + "]";
+        }
+
+        @Override
+        void end() {
+            Assert.isTrue(strict ? index == control.size() : index >= control.size(),
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + name + "'", control.size(), index));
+        }
+    }
+
+    /**
+     * Received array validated with control array regardless of element order. Control elements are grouped by
+     * structure and indexed by projected structural hash. Each received element is built as object tree and
+     * assigned to the first free matching control element found in the index of the structure groups. Groups with less
+     * ignored and validation matcher entries are looked up first. In case all matching control elements are already
+     * taken an augmenting path reassigns previously received elements, so a valid assignment is found whenever one exists.
+     */
+    private class UnorderedArrayFrame extends Frame {
+        private final String name;
+        private final JSONArray control;
+
+        private final List<StructureGroup> groups = new ArrayList<StructureGroup>();
+        private int index = 0;
+
+        /** Received elements and their matching control elements, evaluated on demand */
+        private final List<Object> received = new ArrayList<Object>();
+        private final List<List<Integer>> candidates = new ArrayList<List<Integer>>();
+
+        /** Received element assigned to each control element, -1 when not assigned */
+        private final int[] assignments;
+
+        UnorderedArrayFrame(String name, JSONArray control) {
+            this.name = name;
+            this.control = control;
+            this.assignments = new int[control.size()];
+            Arrays.fill(assignments, -1);
+
+            Map<String, StructureGroup> structures = new HashMap<String, StructureGroup>();
+            for (int i = 0; i < control.size(); i++) {
+                Object element = control.get(i);
+                String structure = getStructure(element);
+
+                StructureGroup group = structures.get(structure);
+                if (group == null) {
+                    group = new StructureGroup(element, structure);
+                    structures.put(structure, group);
+                    groups.add(group);
+                }
+
+                group.add(getProjectedHash(element, element), i);
+            }
+
+            Collections.sort(groups);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validating JSONArray containing " + control.size() + " entries regardless of element order");
+            }
+        }
+
+        @Override
+        Object next() {
+            index++;
+            return CAPTURE;
+        }
+
+        @Override
+        String getEntryName() {
+            return name + "[" + (index - 1) + "]";
+        }
+
+        @Override
+        void captured(Object value) {
+            int element = received.size();
+            received.add(value);
+            candidates.add(null);
+
+            if (!assignFree(element)) {
+                assign(element, new boolean[control.size()]);
+            }
+        }
+
+        /**
+         * Assigns received element to first free matching control element without evaluating all candidates.
+         * @param element
+         * @return
+         */
+        private boolean assignFree(int element) {
+            Object value = received.get(element);
+            for (StructureGroup group : groups) {
+                List<Integer> indexed = group.index.get(getProjectedHash(group.prototype, value));
+                if (indexed == null) {
+                    continue;
+                }
+
+                for (Integer candidate : indexed) {
+                    if (assignments[candidate] < 0 && matches(control.get(candidate), value)) {
+                        assignments[candidate] = element;
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Searches augmenting path for received element. Control elements assigned to other received elements
+         * are taken over when those elements can be reassigned to another matching control element.
+         * @param element
+         * @param visited
+         * @return
+         */
+        private boolean assign(int element, boolean[] visited) {
+            for (Integer candidate : getCandidates(element)) {
+                if (visited[candidate]) {
+                    continue;
+                }
+
+                visited[candidate] = true;
+                if (assignments[candidate] < 0 || assign(assignments[candidate], visited)) {
+                    assignments[candidate] = element;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Gets all control elements matching the received element.
+         * @param element
+         * @return
+         */
+        private List<Integer> getCandidates(int element) {
+            List<Integer> matching = candidates.get(element);
+
+            if (matching == null) {
+                matching = new ArrayList<Integer>();
+                Object value = received.get(element);
+                for (StructureGroup group : groups) {
+                    List<Integer> indexed = group.index.get(getProjectedHash(group.prototype, value));
+                    if (indexed == null) {
+                        continue;
+                    }
+
+                    for (Integer candidate : indexed) {
+                        if (matches(control.get(candidate), value)) {
+                            matching.add(candidate);
+                        }
+                    }
+                }
+
+                candidates.set(element, matching);
+            }
+
+            return matching;
+        }
+
+        @Override
+        void end() {
+            Assert.isTrue(strict ? index == control.size() : index >= control.size(),
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + name + "'", control.size(), index));
+
+            for (int i = 0; i < assignments.length; i++) {
+                if (assignments[i] < 0) {
+                    throw new IllegalArgumentException("Missing JSONArray element for JSON entry '" + name + "' - no received element " +
+                            "matches control element '" + JSONValue.toJSONString(control.get(i)) + "'");
+                }
+            }
+        }
+    }
+
+    /**
+     * Control array elements sharing the same structure indexed by projected structural hash.
+     */
+    private static class StructureGroup implements Comparable<StructureGroup> {
+        private final Object prototype;
+        private final int wildcards;
+        private final Map<Integer, List<Integer>> index = new HashMap<Integer, List<Integer>>();
+
+        StructureGroup(Object prototype, String structure) {
+            this.prototype = prototype;
+            this.wildcards = StringUtils.countOccurrencesOf(structure, "*");
+        }
+
+        void add(int hash, int element) {
+            List<Integer> elements = index.get(hash);
+            if (elements == null) {
+                elements = new ArrayList<Integer>();
+                index.put(hash, elements);
+            }
+
+            elements.add(element);
+        }
+
+        @Override
+        public int compareTo(StructureGroup other) {
+            return wildcards < other.wildcards ? -1 : (wildcards == other.wildcards ? 0 : 1);
+        }
+    }
+
+    /**
+     * Received object or array that is not validated.
+     */
+    private static class SkipFrame extends Frame {
+    }
+
+    /**
+     * Received object or array built as Json object tree. Container is either validated with validation matcher
+     * expression as Json text or handed back to the owning frame.
+     */
+    private class CaptureFrame extends Frame {
+        private final CaptureFrame parent;
+        private final Frame owner;
+        private final String name;
+        private final String expression;
+        private final Object container;
+
+        private String key;
+
+        /**
+         * Constructor for outermost captured container.
+         */
+        CaptureFrame(String name, String expression, Object container) {
+            this.parent = null;
+            this.owner = null;
+            this.name = name;
+            this.expression = expression;
+            this.container = container;
+        }
+
+        /**
+         * Constructor for nested captured container.
+         */
+        CaptureFrame(CaptureFrame parent, Object container) {
+            this.parent = parent;
+            this.owner = parent.owner;
+            this.name = parent.name;
+            this.expression = parent.expression;
+            this.container = container;
+        }
+
+        /**
+         * Constructor for outermost captured container handed back to owning frame.
+         */
+        CaptureFrame(Frame owner, Object container) {
+            this.parent = null;
+            this.owner = owner;
+            this.name = null;
+            this.expression = null;
+            this.container = container;
+        }
+
+        @Override
+        void startEntry(String key) {
+            this.key = key;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(Object value) {
+            if (container instanceof JSONObject) {
+                ((JSONObject) container).put(key, value);
+            } else {
+                ((JSONArray) container).add(value);
+            }
+        }
+
+        @Override
+        void end() {
+            if (parent == null && owner != null) {
+                owner.captured(container);
+            } else if (parent == null) {
+                ValidationMatcherUtils.resolveValidationMatcher(name, JSONValue.toJSONString(container), expression, context);
+            }
+        }
+    }
+}
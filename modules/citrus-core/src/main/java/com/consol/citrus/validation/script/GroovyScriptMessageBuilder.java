@@ -18,6 +18,7 @@ package com.consol.citrus.validation.script;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.script.GroovyClassCache;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.builder.AbstractMessageContentBuilder;
 import groovy.lang.GroovyClassLoader;
@@ -52,10 +53,9 @@ public class GroovyScriptMessageBuilder extends AbstractMessageContentBuilder {
             //construct control message payload
             String messagePayload = "";
             if (scriptResourcePath != null){
-                messagePayload = buildMarkupBuilderScript(context.replaceDynamicContentInString(
-                        FileUtils.readToString(FileUtils.getFileResource(scriptResourcePath, context))));
+                messagePayload = buildMarkupBuilderScript(FileUtils.readToString(FileUtils.getFileResource(scriptResourcePath, context)), context);
             } else if (scriptData != null){
-                messagePayload = buildMarkupBuilderScript(context.replaceDynamicContentInString(scriptData));
+                messagePayload = buildMarkupBuilderScript(scriptData, context);
             }
             
             return messagePayload;
@@ -65,19 +65,23 @@ public class GroovyScriptMessageBuilder extends AbstractMessageContentBuilder {
     }
     
     /**
-     * Builds an automatic Groovy MarkupBuilder script with given script body.
+     * Builds an automatic Groovy MarkupBuilder script with given script body. Compiled script class is cached
+     * unless script body holds dynamic content as each distinct content would result in a new class.
      * 
-     * @param scriptData
+     * @param rawScript
+     * @param context
      * @return
      */
-    private String buildMarkupBuilderScript(String scriptData) {
+    private String buildMarkupBuilderScript(String rawScript, TestContext context) {
         try {
-            ClassLoader parent = GroovyScriptMessageBuilder.class.getClassLoader(); 
-            GroovyClassLoader loader = new GroovyClassLoader(parent);
-            
-            Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
-                                                            .withCode(scriptData)
-                                                            .build());
+            String scriptData = context.replaceDynamicContentInString(rawScript);
+            String code = TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                                                    .withCode(scriptData)
+                                                    .build();
+
+            ClassLoader parent = GroovyScriptMessageBuilder.class.getClassLoader();
+            Class<?> groovyClass = scriptData.equals(rawScript) ? GroovyClassCache.parseClass(code, parent) :
+                    new GroovyClassLoader(parent).parseClass(code);
             
             if (groovyClass == null) {
                 throw new CitrusRuntimeException("Could not load groovy script!");    
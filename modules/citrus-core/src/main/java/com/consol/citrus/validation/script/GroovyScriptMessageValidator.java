@@ -21,10 +21,10 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
+import com.consol.citrus.script.GroovyClassCache;
 import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.context.ValidationContext;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
@@ -78,10 +78,9 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
             if (StringUtils.hasText(validationScript)) {
                 log.info("Start groovy message validation");
                 
-                GroovyClassLoader loader = new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
-                                                            .withCode(validationScript)
-                                                            .build());
+                Class<?> groovyClass = GroovyClassCache.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                                                                .withCode(validationScript)
+                                                                .build(), GroovyScriptMessageValidator.class.getClassLoader());
                 
                 if (groovyClass == null) {
                     throw new CitrusRuntimeException("Failed to load groovy validation script resource");
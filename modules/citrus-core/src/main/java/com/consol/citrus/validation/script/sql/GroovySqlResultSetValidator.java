@@ -19,9 +19,9 @@ package com.consol.citrus.validation.script.sql;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.script.GroovyClassCache;
 import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.validation.script.*;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
@@ -74,10 +74,9 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
                 if (StringUtils.hasText(validationScript)) {
                     log.info("Start groovy SQL result set validation");
                     
-                    GroovyClassLoader loader = new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                    Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
-                                                                .withCode(validationScript)
-                                                                .build());
+                    Class<?> groovyClass = GroovyClassCache.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                                                                    .withCode(validationScript)
+                                                                    .build(), GroovyScriptMessageValidator.class.getClassLoader());
                     
                     if (groovyClass == null) {
                         throw new CitrusRuntimeException("Failed to load groovy validation script resource");
@@ -26,8 +26,6 @@ import com.consol.citrus.validation.context.ValidationContext;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import com.consol.citrus.xml.XsdSchemaRepository;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
-import com.consol.citrus.xml.schema.MultiResourceXsdSchema;
-import com.consol.citrus.xml.schema.WsdlXsdSchema;
 import com.consol.citrus.xml.xpath.XPathExpressionResult;
 import com.consol.citrus.xml.xpath.XPathUtils;
 import org.slf4j.Logger;
@@ -36,11 +34,9 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.*;
 import org.springframework.xml.validation.XmlValidator;
-import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.*;
 import org.w3c.dom.ls.LSException;
@@ -49,11 +45,7 @@ import org.xml.sax.SAXParseException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
@@ -80,9 +72,6 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
     /** Root application context this validator is defined in */
     private ApplicationContext applicationContext;
 
-    /** Transformer factory */
-    private TransformerFactory transformerFactory = TransformerFactory.newInstance();
-
     /**
      * Validates the message with test context and xml validation context.
      * @param receivedMessage the message to validate
@@ -164,7 +153,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.info("Start XML elements validation");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload().toString());
+        Document received = receivedMessage.getPayload(Document.class);
         NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(
                 receivedMessage, validationContext.getNamespaces());
 
@@ -244,7 +233,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
 
         try {
-            Document doc = XMLUtils.parseMessagePayload(receivedMessage.getPayload().toString());
+            Document doc = receivedMessage.getPayload(Document.class);
 
             if (!StringUtils.hasText(doc.getFirstChild().getNamespaceURI())) {
                 return;
@@ -284,31 +273,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                             schemaRepository.getName()));
                 }
 
-                List<Resource> schemas = new ArrayList<Resource>();
-
-                for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
-                    if (xsdSchema instanceof MultiResourceXsdSchema) {
-                        for (Resource resource : ((MultiResourceXsdSchema) xsdSchema).getSchemas()) {
-                            schemas.add(resource);
-                        }                            
-                    } else if (xsdSchema instanceof WsdlXsdSchema) {
-                        for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemas()) {
-                            schemas.add(resource);
-                        }
-                    } else {
-                        synchronized (transformerFactory) {
-                            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                            try {
-                                transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
-                            } catch (TransformerException e) {
-                                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
-                            }
-                            schemas.add(new ByteArrayResource(bos.toByteArray()));
-                        }
-                    }
-                }
-                
-                validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+                validator = schemaRepository.getSchemaValidator();
             }
             
             SAXParseException[] results = validator.validate(new DOMSource(doc));
@@ -353,7 +318,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.info("Start XML namespace validation");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload().toString());
+        Document received = receivedMessage.getPayload(Document.class);
 
         Map<String, String> foundNamespaces = XMLUtils.lookupNamespaces(receivedMessage.getPayload().toString());
 
@@ -450,7 +415,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.info("Start XML tree validation ...");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload().toString());
+        // work on a copy of the shared received document as whitespace nodes get stripped
+        Document received = (Document) receivedMessage.getPayload(Document.class).cloneNode(true);
         Document source = XMLUtils.parseMessagePayload(controlMessagePayload);
 
         XMLUtils.stripWhitespaceNodes(received);
@@ -65,6 +65,7 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
         }
         
         NamespaceContext nsContext = context.getNamespaceContextBuilder().buildContext(message, namespaces);
+        Document doc = message.getPayload(Document.class);
 
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = entry.getKey();
@@ -73,9 +74,7 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
             if (log.isDebugEnabled()) {
                 log.debug("Reading element: " + pathExpression);
             }
-            
-            Document doc = XMLUtils.parseMessagePayload(message.getPayload().toString());
-            
+
             if (XPathUtils.isXPathExpression(pathExpression)) {
                 XPathExpressionResult resultType = XPathExpressionResult.fromString(pathExpression, XPathExpressionResult.STRING);
                 pathExpression = XPathExpressionResult.cutOffPrefix(pathExpression);
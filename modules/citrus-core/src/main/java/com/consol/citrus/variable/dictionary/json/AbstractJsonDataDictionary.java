@@ -20,6 +20,7 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
+import com.consol.citrus.metrics.Metrics;
 import com.consol.citrus.variable.dictionary.AbstractDataDictionary;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -49,7 +50,9 @@ public abstract class AbstractJsonDataDictionary extends AbstractDataDictionary<
         JSONParser parser = new JSONParser();
 
         try {
+            long start = System.nanoTime();
             Object json = parser.parse(message.getPayload().toString());
+            Metrics.recordTime(Metrics.JSON_PARSE, start);
 
             if (json instanceof JSONObject) {
                 traverseJsonData((JSONObject) json, "", context);
@@ -16,20 +16,25 @@
 
 package com.consol.citrus.xml;
 
-import com.consol.citrus.xml.schema.TargetNamespaceSchemaMappingStrategy;
-import com.consol.citrus.xml.schema.WsdlXsdSchema;
-import com.consol.citrus.xml.schema.XsdSchemaMappingStrategy;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.xml.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,6 +56,9 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
 
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
+
+    /** Validator holding all repository schemas compiled once, reset when schemas are replaced */
+    private volatile XmlValidator schemaValidator;
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XsdSchemaRepository.class);
@@ -92,6 +100,77 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
                 }
             }
         }
+
+        schemaValidator = null;
+
+        if (!schemas.isEmpty()) {
+            try {
+                getSchemaValidator();
+            } catch (CitrusRuntimeException e) {
+                log.warn(String.format("Failed to compile schemas in repository '%s' - will retry on first validation", name), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the validator for all schemas in this repository. The schemas get compiled only once on initialization or
+     * first access and the validator hands out pooled validator instances so it is safe to use the validator concurrently.
+     * Validator is compiled again after schemas have been replaced with {@link #setSchemas(java.util.List)}. Changes to the
+     * schema list after the validator has been compiled are not recognized.
+     * @return
+     */
+    public XmlValidator getSchemaValidator() {
+        XmlValidator validator = schemaValidator;
+
+        if (validator == null) {
+            synchronized (this) {
+                validator = schemaValidator;
+
+                if (validator == null) {
+                    validator = createSchemaValidator();
+                    schemaValidator = validator;
+                }
+            }
+        }
+
+        return validator;
+    }
+
+    /**
+     * Compiles all schemas in this repository to a new validator.
+     * @return
+     */
+    private XmlValidator createSchemaValidator() {
+        List<Resource> schemaResources = new ArrayList<Resource>();
+        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+        for (XsdSchema xsdSchema : schemas) {
+            if (xsdSchema instanceof MultiResourceXsdSchema) {
+                for (Resource resource : ((MultiResourceXsdSchema) xsdSchema).getSchemas()) {
+                    schemaResources.add(resource);
+                }
+            } else if (xsdSchema instanceof WsdlXsdSchema) {
+                for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemas()) {
+                    schemaResources.add(resource);
+                }
+            } else {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try {
+                    transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
+                } catch (TransformerException e) {
+                    throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+                }
+                schemaResources.add(new ByteArrayResource(bos.toByteArray()));
+            }
+        }
+
+        try {
+            return new PooledXmlValidator(schemaResources.toArray(new Resource[schemaResources.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to compile schemas in repository " + name, e);
+        } catch (SAXException e) {
+            throw new CitrusRuntimeException("Failed to compile schemas in repository " + name, e);
+        }
     }
 
     /**
@@ -106,8 +185,9 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
      * Set the list of known schemas.
      * @param schemas the schemas to set
      */
-    public void setSchemas(List<XsdSchema> schemas) {
+    public synchronized void setSchemas(List<XsdSchema> schemas) {
         this.schemas = schemas;
+        this.schemaValidator = null;
     }
 
     /**
@@ -20,7 +20,6 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.xml.validation.XmlValidator;
-import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.xml.sax.SAXException;
 
@@ -38,16 +37,30 @@ public class MultiResourceXsdSchema extends SimpleXsdSchema implements Initializ
 
     /** List of schemas that are loaded as single schema instance */
     private Resource[] schemas = new Resource[] {};
+
+    /** Validator compiled from schema resources */
+    private XmlValidator validator;
     
     public static final String W3C_XML_SCHEMA_NS_URI = "http://www.w3.org/2001/XMLSchema";
     
+    /**
+     * Creates validator for all schema resources. Schemas get compiled only once, subsequent calls
+     * return the same validator instance which is safe to use concurrently.
+     * @return
+     */
     @Override
-    public XmlValidator createValidator() {
-        try {
-            return XmlValidatorFactory.createValidator(schemas, W3C_XML_SCHEMA_NS_URI);
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to create validator from multi resource schema files", e);
+    public synchronized XmlValidator createValidator() {
+        if (validator == null) {
+            try {
+                validator = new PooledXmlValidator(schemas, W3C_XML_SCHEMA_NS_URI);
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to create validator from multi resource schema files", e);
+            } catch (SAXException e) {
+                throw new CitrusRuntimeException("Failed to create validator from multi resource schema files", e);
+            }
         }
+
+        return validator;
     }
     
     @Override
@@ -71,7 +84,8 @@ public class MultiResourceXsdSchema extends SimpleXsdSchema implements Initializ
      * Sets the schemas in this collection.
      * @param schemas the schema resources to set
      */
-    public void setSchemas(Resource[] schemas) {
+    public synchronized void setSchemas(Resource[] schemas) {
         this.schemas = Arrays.copyOf(schemas, schemas.length);
+        this.validator = null;
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.schema;
+
+import org.springframework.core.io.Resource;
+import org.springframework.xml.validation.*;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.transform.Source;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Xml validator compiles the schema only once and hands out pooled validator instances. Compiled schema
+ * is thread safe. Validator instances are not, so each validation borrows a validator exclusively from the pool and
+ * returns it after validation.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class PooledXmlValidator implements XmlValidator {
+
+    /** Default maximum number of idle validators kept in pool */
+    public static final int DEFAULT_POOL_SIZE = 16;
+
+    /** Compiled schema */
+    private final Schema schema;
+
+    /** Idle validator instances */
+    private final BlockingQueue<Validator> validators;
+
+    /**
+     * Constructor compiling schema from given resources.
+     * @param schemaResources
+     * @param schemaLanguage
+     * @throws IOException
+     * @throws SAXException
+     */
+    public PooledXmlValidator(Resource[] schemaResources, String schemaLanguage) throws IOException, SAXException {
+        this(SchemaLoaderUtils.loadSchema(schemaResources, schemaLanguage), DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Constructor using compiled schema and maximum number of pooled validators.
+     * @param schema
+     * @param poolSize
+     */
+    public PooledXmlValidator(Schema schema, int poolSize) {
+        this.schema = schema;
+        this.validators = new ArrayBlockingQueue<Validator>(poolSize);
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source) throws IOException {
+        return validate(source, new CollectingErrorHandler());
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source, ValidationErrorHandler errorHandler) throws IOException {
+        Validator validator = validators.poll();
+        if (validator == null) {
+            validator = schema.newValidator();
+        }
+
+        try {
+            validator.setErrorHandler(errorHandler);
+            validator.validate(source);
+            return errorHandler.getErrors();
+        } catch (SAXException e) {
+            throw new XmlValidationException("Could not validate source: " + e.getMessage(), e);
+        } finally {
+            validator.reset();
+            validators.offer(validator);
+        }
+    }
+
+    /**
+     * Gets the compiled schema.
+     * @return
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Error handler collects errors and fatal errors ignoring warnings.
+     */
+    private static class CollectingErrorHandler implements ValidationErrorHandler {
+        private List<SAXParseException> errors = new ArrayList<SAXParseException>();
+
+        @Override
+        public SAXParseException[] getErrors() {
+            return errors.toArray(new SAXParseException[errors.size()]);
+        }
+
+        @Override
+        public void warning(SAXParseException exception) throws SAXException {
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+            errors.add(exception);
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            errors.add(exception);
+        }
+    }
+}
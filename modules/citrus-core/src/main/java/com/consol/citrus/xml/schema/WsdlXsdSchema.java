@@ -27,7 +27,6 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.xml.validation.XmlValidator;
-import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -58,6 +57,9 @@ public class WsdlXsdSchema extends SimpleXsdSchema implements InitializingBean {
     
     /** List of schemas that are loaded as single schema instance */
     private List<Resource> schemas = new ArrayList<Resource>();
+
+    /** Validator compiled from loaded schemas */
+    private XmlValidator validator;
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(WsdlXsdSchema.class);
@@ -82,13 +84,24 @@ public class WsdlXsdSchema extends SimpleXsdSchema implements InitializingBean {
         this.wsdl = wsdl;
     }
     
+    /**
+     * Creates validator for all schema types in WSDL. Schemas get compiled only once, subsequent calls
+     * return the same validator instance which is safe to use concurrently.
+     * @return
+     */
     @Override
-    public XmlValidator createValidator() {
-        try {
-            return XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), W3C_XML_SCHEMA_NS_URI);
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to create validation for WSDL schema files", e);
+    public synchronized XmlValidator createValidator() {
+        if (validator == null) {
+            try {
+                validator = new PooledXmlValidator(schemas.toArray(new Resource[schemas.size()]), W3C_XML_SCHEMA_NS_URI);
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to create validation for WSDL schema files", e);
+            } catch (SAXException e) {
+                throw new CitrusRuntimeException("Failed to create validation for WSDL schema files", e);
+            }
         }
+
+        return validator;
     }
     
     /**
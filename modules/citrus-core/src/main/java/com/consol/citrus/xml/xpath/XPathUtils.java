@@ -18,13 +18,14 @@ package com.consol.citrus.xml.xpath;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.springframework.util.StringUtils;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Node;
 
+import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.xpath.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
 
 /**
@@ -47,6 +48,22 @@ public abstract class XPathUtils {
     /** Dynamic namespace prefix */
     private static final String DYNAMIC_NS_PREFIX = "dns";
 
+    /** Maximum number of cached compiled expressions per thread, least recently used expressions are evicted */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    /** Compiled expressions cached per thread by expression string and namespace bindings, as expressions are not thread safe */
+    private static final ThreadLocal<Map<List<Object>, XPathExpression>> expressionCache = new ThreadLocal<Map<List<Object>, XPathExpression>>() {
+        @Override
+        protected Map<List<Object>, XPathExpression> initialValue() {
+            return new LinkedHashMap<List<Object>, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, XPathExpression> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            };
+        }
+    };
+
     static {
         xPathFactory = XPathFactory.newInstance();
     }
@@ -96,9 +113,9 @@ public abstract class XPathUtils {
         String expressionResult = expression;
         
         for (Entry<String, String> namespaceEntry : namespaces.entrySet()) {
-            if (expressionResult.contains(DYNAMIC_NS_START + namespaceEntry.getValue() + DYNAMIC_NS_END)) {
-                expressionResult = expressionResult.replaceAll("\\" + DYNAMIC_NS_START + namespaceEntry.getValue().replace(".", "\\.") + "\\" + DYNAMIC_NS_END, 
-                        namespaceEntry.getKey() + ":");
+            String dynamicNamespace = DYNAMIC_NS_START + namespaceEntry.getValue() + DYNAMIC_NS_END;
+            if (expressionResult.contains(dynamicNamespace)) {
+                expressionResult = expressionResult.replace(dynamicNamespace, namespaceEntry.getKey() + ":");
             }
         }
         
@@ -223,6 +240,10 @@ public abstract class XPathUtils {
      * Construct a xPath expression instance with given expression string and namespace context.
      * If namespace context is not specified a default context is built from the XML node
      * that is evaluated against.
+     *
+     * Compiled expressions are cached by expression string and namespace bindings as long as the
+     * namespace context is a {@link SimpleNamespaceContext} or not specified. Cached expressions are not thread safe
+     * so each thread uses its own cache.
      * @param xPathExpression
      * @param nsContext
      * @return
@@ -230,8 +251,40 @@ public abstract class XPathUtils {
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
+        if (nsContext != null && !(nsContext instanceof SimpleNamespaceContext)) {
+            return compileExpression(xPathExpression, nsContext);
+        }
+
+        Map<String, String> bindings = getBindings((SimpleNamespaceContext) nsContext);
+        List<Object> cacheKey = Arrays.<Object>asList(xPathExpression, nsContext != null ? bindings : null);
+
+        Map<List<Object>, XPathExpression> cache = expressionCache.get();
+        XPathExpression expression = cache.get(cacheKey);
+        if (expression == null) {
+            SimpleNamespaceContext namespaceContext = null;
+            if (nsContext != null) {
+                namespaceContext = new SimpleNamespaceContext();
+                namespaceContext.setBindings(bindings);
+            }
+
+            expression = compileExpression(xPathExpression, namespaceContext);
+            cache.put(cacheKey, expression);
+        }
+
+        return expression;
+    }
+
+    /**
+     * Compiles new xPath expression instance with given expression string and namespace context.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    private static XPathExpression compileExpression(String xPathExpression, NamespaceContext nsContext)
+            throws XPathExpressionException {
         XPath xpath = xPathFactory.newXPath();
-        
+
         if (nsContext != null) {
             xpath.setNamespaceContext(nsContext);
         }
@@ -239,6 +292,30 @@ public abstract class XPathUtils {
         return xpath.compile(xPathExpression);
     }
 
+    /**
+     * Reads all namespace bindings of given namespace context sorted by prefix.
+     * @param nsContext
+     * @return
+     */
+    private static Map<String, String> getBindings(SimpleNamespaceContext nsContext) {
+        Map<String, String> bindings = new TreeMap<String, String>();
+
+        if (nsContext != null) {
+            String defaultNamespace = nsContext.getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+            if (StringUtils.hasText(defaultNamespace)) {
+                bindings.put(XMLConstants.DEFAULT_NS_PREFIX, defaultNamespace);
+            }
+
+            Iterator<String> prefixes = nsContext.getBoundPrefixes();
+            while (prefixes.hasNext()) {
+                String prefix = prefixes.next();
+                bindings.put(prefix, nsContext.getNamespaceURI(prefix));
+            }
+        }
+
+        return bindings;
+    }
+
     /**
      * Method to find out whether an expression is of XPath nature or custom dot notation syntax.
      * @param expression the expression string to check.
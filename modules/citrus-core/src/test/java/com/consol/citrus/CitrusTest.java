@@ -0,0 +1,105 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus;
+
+import com.consol.citrus.actions.AbstractTestAction;
+import com.consol.citrus.actions.FailAction;
+import com.consol.citrus.common.TestLoader;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.report.TestResult;
+import com.consol.citrus.report.TestResults;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CitrusTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testRunConcurrently() {
+        Citrus citrus = Citrus.newInstance(applicationContext);
+
+        List<TestLoader> testLoaders = new ArrayList<TestLoader>();
+        for (int i = 0; i < 4; i++) {
+            testLoaders.add(new VariableTestLoader("VariableTest" + i, "value" + i));
+        }
+        testLoaders.add(new TestLoader() {
+            @Override
+            public TestCase load() {
+                TestCase testCase = new TestCase();
+                testCase.setName("FailingTest");
+                testCase.addTestAction(new FailAction());
+                return testCase;
+            }
+        });
+
+        TestResults results = citrus.run(testLoaders, 3);
+
+        Assert.assertEquals(results.size(), 5);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(results.get(i).getTestName(), "VariableTest" + i);
+            Assert.assertEquals(results.get(i).getResult(), TestResult.RESULT.SUCCESS);
+        }
+
+        Assert.assertEquals(results.get(4).getTestName(), "FailingTest");
+        Assert.assertEquals(results.get(4).getResult(), TestResult.RESULT.FAILURE);
+        Assert.assertNotNull(results.get(4).getCause());
+    }
+
+    /**
+     * Test loader creates test case that sets a variable and verifies that no other test case
+     * running at the same time has changed the variable in the meantime.
+     */
+    private static class VariableTestLoader implements TestLoader {
+        private final String name;
+        private final String value;
+
+        VariableTestLoader(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public TestCase load() {
+            TestCase testCase = new TestCase();
+            testCase.setName(name);
+            testCase.addTestAction(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    context.setVariable("value", value);
+
+                    try {
+                        Thread.sleep(100L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    if (!context.getVariable("value").equals(value)) {
+                        throw new CitrusRuntimeException("Test context is shared with other test");
+                    }
+                }
+            });
+            return testCase;
+        }
+    }
+}
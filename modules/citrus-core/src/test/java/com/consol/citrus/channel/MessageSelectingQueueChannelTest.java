@@ -25,7 +25,10 @@ import org.testng.annotations.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Christoph Deppisch
@@ -96,7 +99,7 @@ public class MessageSelectingQueueChannelTest {
         Message<?> receivedMessage = channel.receive(selector, 1000L);
         
         Assert.assertNull(receivedMessage);
-        Assert.assertEquals(retries.get(), 3L);
+        Assert.assertEquals(retries.get(), 0L);
     }
     
     @Test
@@ -121,6 +124,156 @@ public class MessageSelectingQueueChannelTest {
         Message<?> receivedMessage = channel.receive(selector, 1000L);
         
         Assert.assertNull(receivedMessage);
-        Assert.assertEquals(retries.get(), 4L);
+        Assert.assertEquals(retries.get(), 0L);
+    }
+
+    @Test
+    public void testReceiveSignaledOnArrival() throws Exception {
+        final MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setPollingInterval(10000L);
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+        MessageSelector selector = new HeaderMatchingMessageSelector(headers);
+
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+                channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+            }
+        });
+        sender.start();
+
+        long start = System.currentTimeMillis();
+        Message<?> receivedMessage = channel.receive(selector, 5000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        sender.join();
+        Assert.assertEquals(channel.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testTimeoutWithNonMatchingArrivals() throws Exception {
+        final MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setPollingInterval(100L);
+        channel.send(MessageBuilder.withPayload("OtherMessage").build());
+
+        final AtomicReference<Message<?>> receivedMessage = new AtomicReference<Message<?>>();
+        final CountDownLatch received = new CountDownLatch(1);
+
+        Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receivedMessage.set(channel.receive(new MessageSelector() {
+                    @Override
+                    public boolean accept(Message<?> message) {
+                        // replace rejected message so that a new message arrives on every selection
+                        channel.receive(0L);
+                        channel.send(MessageBuilder.withPayload("OtherMessage").build());
+                        return false;
+                    }
+                }, 500L));
+
+                received.countDown();
+            }
+        });
+        receiver.setDaemon(true);
+
+        long start = System.currentTimeMillis();
+        receiver.start();
+
+        Assert.assertTrue(received.await(5000L, TimeUnit.MILLISECONDS), "Receive did not time out");
+        Assert.assertTrue(System.currentTimeMillis() - start >= 500L);
+        Assert.assertNull(receivedMessage.get());
+    }
+
+    @Test
+    public void testIndexedReceive() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+
+        channel.send(MessageBuilder.withPayload("FirstMessage").setHeader("foo", "bar").build());
+        channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+        channel.send(MessageBuilder.withPayload("SecondMessage").setHeader("foo", "bar").build());
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+        MessageSelector selector = new HeaderMatchingMessageSelector(headers);
+
+        Assert.assertEquals(channel.receive(selector).getPayload(), "FirstMessage");
+
+        channel.send(MessageBuilder.withPayload("ThirdMessage").setHeader("foo", "bar").build());
+        Assert.assertEquals(channel.receive(0L).getPayload(), "OtherMessage");
+        Assert.assertEquals(channel.receive(0L).getPayload(), "SecondMessage");
+
+        Assert.assertEquals(channel.receive(selector).getPayload(), "ThirdMessage");
+        Assert.assertNull(channel.receive(selector));
+    }
+
+    @Test
+    public void testReceiveWithoutHeaderSelector() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+
+        channel.send(MessageBuilder.withPayload("OtherMessage").build());
+        channel.send(MessageBuilder.withPayload("FooMessage").build());
+
+        Message<?> receivedMessage = channel.receive(new MessageSelector() {
+            @Override
+            public boolean accept(Message<?> message) {
+                return message.getPayload().equals("FooMessage");
+            }
+        }, 1000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertEquals(channel.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testSendNotBlockedBySelector() throws Exception {
+        final MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.send(MessageBuilder.withPayload("OtherMessage").build());
+
+        final CountDownLatch selecting = new CountDownLatch(1);
+        final CountDownLatch sent = new CountDownLatch(1);
+
+        Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                channel.receive(new MessageSelector() {
+                    @Override
+                    public boolean accept(Message<?> message) {
+                        selecting.countDown();
+
+                        try {
+                            sent.await(5000L, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        return false;
+                    }
+                });
+            }
+        });
+        receiver.start();
+
+        Assert.assertTrue(selecting.await(5000L, TimeUnit.MILLISECONDS));
+
+        long start = System.currentTimeMillis();
+        channel.send(MessageBuilder.withPayload("FooMessage").build());
+        sent.countDown();
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        receiver.join();
+        Assert.assertEquals(channel.getQueueSize(), 2);
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XmlTestDefinitionCacheTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testCreateApplicationContext() {
+        ClassPathXmlApplicationContext ctx = XmlTestDefinitionCache.createApplicationContext("com/consol/citrus/sample/SampleTest.xml", applicationContext);
+        ClassPathXmlApplicationContext other = XmlTestDefinitionCache.createApplicationContext("com/consol/citrus/sample/SampleTest.xml", applicationContext);
+
+        Assert.assertSame(ctx.getParent(), applicationContext);
+        Assert.assertSame(other.getParent(), applicationContext);
+
+        TestCase testCase = ctx.getBean("SampleTest", TestCase.class);
+        TestCase otherTestCase = other.getBean("SampleTest", TestCase.class);
+
+        Assert.assertEquals(testCase.getName(), "SampleTest");
+        Assert.assertEquals(testCase.getActions().size(), 1L);
+        Assert.assertNotSame(testCase, otherTestCase);
+        Assert.assertNotSame(testCase.getActions().get(0), otherTestCase.getActions().get(0));
+    }
+
+    @Test
+    public void testCachedDefinitionsAreCopied() {
+        ClassPathXmlApplicationContext ctx = XmlTestDefinitionCache.createApplicationContext("com/consol/citrus/sample/SampleTest.xml", applicationContext);
+
+        for (PropertyValue propertyValue : ctx.getBeanFactory().getBeanDefinition("SampleTest").getPropertyValues().getPropertyValues()) {
+            if (propertyValue.getValue() instanceof ManagedList) {
+                ((ManagedList<?>) propertyValue.getValue()).clear();
+            }
+        }
+
+        ClassPathXmlApplicationContext other = XmlTestDefinitionCache.createApplicationContext("com/consol/citrus/sample/SampleTest.xml", applicationContext);
+        Assert.assertEquals(other.getBean("SampleTest", TestCase.class).getActions().size(), 1L);
+    }
+
+    @Test
+    public void testLoadTestCase() {
+        XmlTestLoader testLoader = new XmlTestLoader("SampleTest", "com.consol.citrus.sample", applicationContext);
+
+        TestCase testCase = testLoader.load();
+        Assert.assertEquals(testCase.getName(), "SampleTest");
+        Assert.assertNotSame(new XmlTestLoader("SampleTest", "com.consol.citrus.sample", applicationContext).load(), testCase);
+    }
+}
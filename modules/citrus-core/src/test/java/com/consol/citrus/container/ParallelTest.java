@@ -18,13 +18,20 @@ package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.*;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ParallelContainerException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.easymock.EasyMock.*;
 
@@ -160,4 +167,138 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action);
     }
+
+    @Test
+    public void testMaxConcurrency() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 6; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    int current = running.incrementAndGet();
+                    while (current > maxRunning.get()) {
+                        maxRunning.compareAndSet(maxRunning.get(), current);
+                    }
+
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+
+        parallelAction.execute(context);
+
+        Assert.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testExecutorService() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executorService);
+
+            List<TestAction> actionList = new ArrayList<TestAction>();
+            actionList.add(new EchoAction());
+            actionList.add(new EchoAction());
+            actionList.add(new EchoAction());
+
+            parallelAction.setActions(actionList);
+
+            parallelAction.execute(context);
+            parallelAction.execute(context);
+
+            Assert.assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(timeOut = 10000L)
+    public void testNestedParallelSharedExecutorService() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            List<TestAction> actionList = new ArrayList<TestAction>();
+            for (int i = 0; i < 3; i++) {
+                Parallel nested = new Parallel();
+                nested.setExecutorService(executorService);
+                nested.setActions(new ArrayList<TestAction>(Arrays.<TestAction>asList(new EchoAction(), new EchoAction(), new EchoAction())));
+                actionList.add(nested);
+            }
+
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executorService);
+            parallelAction.setActions(actionList);
+
+            parallelAction.execute(context);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() {
+        ExecutorService executorService = Executors.newFixedThreadPool(1);
+        executorService.shutdown();
+
+        Parallel parallelAction = new Parallel();
+        parallelAction.setExecutorService(executorService);
+
+        final AtomicInteger executed = new AtomicInteger();
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 3; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    executed.incrementAndGet();
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+
+        parallelAction.execute(context);
+
+        Assert.assertEquals(executed.get(), 3);
+    }
+
+    @Test
+    public void testFailuresReportedInOrder() {
+        Parallel parallelAction = new Parallel();
+
+        FailAction first = new FailAction();
+        first.setMessage("First failure");
+        FailAction second = new FailAction();
+        second.setMessage("Second failure");
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new EchoAction());
+        actionList.add(first);
+        actionList.add(second);
+
+        parallelAction.setActions(actionList);
+
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing parallel container exception");
+        } catch (ParallelContainerException e) {
+            Assert.assertTrue(e.getMessage().indexOf("First failure") < e.getMessage().indexOf("Second failure"));
+            Assert.assertEquals(parallelAction.getLastExecutedAction(), first);
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.variable.VariableUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DynamicContentTemplateTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testEvaluate() {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("name", "Citrus");
+
+        assertEvaluation("Hello TestFramework!");
+        assertEvaluation("${greeting} ${name}!");
+        assertEvaluation("<message>${greeting}</message>");
+        assertEvaluation("citrus:concat('Hello', ' TestFramework!')");
+        assertEvaluation("Text before citrus:concat('Hello', ' ', ${name}) and after ${greeting}");
+        assertEvaluation("citrus:concat(citrus:upperCase(${greeting}), ' ', ${name})");
+        assertEvaluation("citrus:concat('citrus', ':citrus')");
+        assertEvaluation("citrus:concat('citrus:citrus')");
+        assertEvaluation("xmlns:ns0=\"http://citrusframework.org\" (citrus:upperCase('${name}'))");
+        assertEvaluation("citrus: is no function");
+    }
+
+    @Test
+    public void testEvaluateWithQuoting() {
+        context.setVariable("greeting", "Hello");
+
+        Assert.assertEquals(DynamicContentTemplate.compile("${greeting} World", context.getFunctionRegistry()).evaluate(context, true),
+                "'Hello' World");
+        Assert.assertEquals(DynamicContentTemplate.compile("citrus:concat(${greeting}, ' World')", context.getFunctionRegistry()).evaluate(context, true),
+                "'Hello World'");
+    }
+
+    @Test
+    public void testDynamicVariableValue() {
+        context.setVariable("function", "citrus:upperCase('hello')");
+        context.setVariable("brackets", "(value)");
+
+        assertEvaluation("Value: ${function}");
+        assertEvaluation("Value: ${brackets} citrus:concat('Hello', ' World')");
+    }
+
+    @Test
+    public void testTemplateCache() {
+        DynamicContentTemplate template = DynamicContentTemplate.getTemplate("Cached ${variable}", context.getFunctionRegistry());
+        Assert.assertSame(DynamicContentTemplate.getTemplate("Cached ${variable}", context.getFunctionRegistry()), template);
+
+        FunctionLibrary library = new FunctionLibrary();
+        library.setPrefix("custom:");
+        context.getFunctionRegistry().getFunctionLibraries().add(library);
+
+        try {
+            Assert.assertNotSame(DynamicContentTemplate.getTemplate("Cached ${variable}", context.getFunctionRegistry()), template);
+        } finally {
+            context.getFunctionRegistry().getFunctionLibraries().remove(library);
+        }
+    }
+
+    @Test
+    public void testStaticContentNotCached() {
+        DynamicContentTemplate template = DynamicContentTemplate.getTemplate("No dynamic content", context.getFunctionRegistry());
+        Assert.assertEquals(template.evaluate(context, false), "No dynamic content");
+        Assert.assertNotSame(DynamicContentTemplate.getTemplate("No dynamic content", context.getFunctionRegistry()), template);
+    }
+
+    @Test
+    public void testTemplateCacheEviction() {
+        DynamicContentTemplate recent = DynamicContentTemplate.getTemplate("Recent ${variable}", context.getFunctionRegistry());
+
+        String payload = new String(new char[200 * 1024]).replace('\0', 'x');
+        DynamicContentTemplate eldest = DynamicContentTemplate.getTemplate("0 ${variable}" + payload, context.getFunctionRegistry());
+
+        for (int i = 1; i <= 32; i++) {
+            DynamicContentTemplate.getTemplate(i + " ${variable}" + payload, context.getFunctionRegistry());
+            Assert.assertSame(DynamicContentTemplate.getTemplate("Recent ${variable}", context.getFunctionRegistry()), recent);
+        }
+
+        Assert.assertNotSame(DynamicContentTemplate.getTemplate("0 ${variable}" + payload, context.getFunctionRegistry()), eldest);
+
+        String oversized = "${variable}" + payload + payload;
+        Assert.assertNotSame(DynamicContentTemplate.getTemplate(oversized, context.getFunctionRegistry()),
+                DynamicContentTemplate.getTemplate(oversized, context.getFunctionRegistry()));
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnknownVariable() {
+        DynamicContentTemplate.compile("Hello ${unknown}", context.getFunctionRegistry()).evaluate(context, false);
+    }
+
+    /**
+     * Compares compiled template evaluation with classic variable and function replacement.
+     * @param str
+     */
+    private void assertEvaluation(String str) {
+        String expected = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(str, context, false), context, false);
+        Assert.assertEquals(DynamicContentTemplate.compile(str, context.getFunctionRegistry()).evaluate(context, false), expected);
+
+        expected = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(str, context, true), context, true);
+        Assert.assertEquals(DynamicContentTemplate.compile(str, context.getFunctionRegistry()).evaluate(context, true), expected);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DefaultCorrelationManagerTest {
+
+    @Test
+    public void testStoreAndFind() {
+        DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+
+        Assert.assertNull(correlationManager.find("foo"));
+        Assert.assertNull(correlationManager.find("foo", 100L));
+
+        correlationManager.store("foo", "bar");
+        correlationManager.store("foo", "baz");
+        Assert.assertEquals(correlationManager.find("foo"), "baz");
+        Assert.assertNull(correlationManager.find("foo"));
+
+        correlationManager.store("foo", null);
+        Assert.assertNull(correlationManager.find("foo"));
+    }
+
+    @Test
+    public void testFindWaitsForStore() throws Exception {
+        final DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                correlationManager.store("foo", "bar");
+            }
+        });
+        producer.start();
+
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(correlationManager.find("foo", 5000L), "bar");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        producer.join();
+        Assert.assertNull(correlationManager.find("foo"));
+    }
+
+    @Test
+    public void testConcurrentWaitersOnSameKey() throws Exception {
+        final DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+
+        Assert.assertNull(correlationManager.find("foo", 100L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<String> waiter = new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return correlationManager.find("foo", 5000L);
+                }
+            };
+
+            Future<String> first = executor.submit(waiter);
+            Future<String> second = executor.submit(waiter);
+
+            Thread.sleep(200L);
+            correlationManager.store("foo", "bar");
+            Thread.sleep(200L);
+            correlationManager.store("foo", "baz");
+
+            long start = System.currentTimeMillis();
+            Set<String> results = new HashSet<String>(Arrays.asList(first.get(5000L, TimeUnit.MILLISECONDS), second.get(5000L, TimeUnit.MILLISECONDS)));
+            Assert.assertTrue(System.currentTimeMillis() - start < 4000L);
+            Assert.assertEquals(results, new HashSet<String>(Arrays.asList("bar", "baz")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAwaitDoesNotRemoveObject() {
+        DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+
+        Assert.assertFalse(correlationManager.await("foo", 50L));
+
+        correlationManager.store("foo", "bar");
+        Assert.assertTrue(correlationManager.await("foo", 50L));
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+        correlationManager.setTimeToLive(50L);
+
+        correlationManager.store("foo", "bar");
+        Thread.sleep(100L);
+        correlationManager.store("other", "value");
+
+        Assert.assertNull(correlationManager.find("foo"));
+        Assert.assertEquals(correlationManager.find("other"), "value");
+    }
+
+    @Test
+    public void testMaxSize() {
+        DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+        correlationManager.setMaxSize(2);
+
+        correlationManager.store("1", "one");
+        correlationManager.store("2", "two");
+        correlationManager.store("3", "three");
+
+        Assert.assertNull(correlationManager.find("1"));
+        Assert.assertEquals(correlationManager.find("2"), "two");
+        Assert.assertEquals(correlationManager.find("3"), "three");
+    }
+
+    @Test
+    public void testCollectedObjectsBehindPendingObject() {
+        DefaultCorrelationManager<String> correlationManager = new DefaultCorrelationManager<String>();
+        correlationManager.setMaxSize(10);
+
+        correlationManager.store("pending", "value");
+
+        for (int i = 0; i < 1000; i++) {
+            correlationManager.store("key" + i, "value" + i);
+            Assert.assertEquals(correlationManager.find("key" + i), "value" + i);
+            Assert.assertTrue(correlationManager.getEvictionQueueSize() <= 20);
+        }
+
+        Assert.assertEquals(correlationManager.find("pending"), "value");
+
+        correlationManager.store("foo", "bar");
+        Assert.assertEquals(correlationManager.getEvictionQueueSize(), 1);
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+    }
+}
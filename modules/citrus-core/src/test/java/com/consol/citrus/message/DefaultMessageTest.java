@@ -0,0 +1,40 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DefaultMessageTest {
+
+    @Test
+    public void testSharedPayloadDocument() {
+        Message message = new DefaultMessage("<TestMessage><Text>Hello</Text></TestMessage>");
+
+        Document doc = message.getPayload(Document.class);
+        Assert.assertEquals(doc.getDocumentElement().getLocalName(), "TestMessage");
+        Assert.assertSame(message.getPayload(Document.class), doc);
+
+        message.setPayload("<OtherMessage><Text>Hello</Text></OtherMessage>");
+        Assert.assertNotSame(message.getPayload(Document.class), doc);
+        Assert.assertEquals(message.getPayload(Document.class).getDocumentElement().getLocalName(), "OtherMessage");
+    }
+}
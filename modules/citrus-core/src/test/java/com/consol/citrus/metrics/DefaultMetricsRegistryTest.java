@@ -0,0 +1,85 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DefaultMetricsRegistryTest {
+
+    @Test
+    public void testTimersAndCounters() {
+        DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+        registry.recordTime("foo", 300L);
+        registry.recordTime("foo", 100L);
+        registry.recordTime("foo", 200L);
+        registry.increment("bar");
+        registry.increment("bar");
+
+        TimerMetric timer = registry.getTimers().get("foo");
+        Assert.assertEquals(timer.getCount(), 3L);
+        Assert.assertEquals(timer.getTotal(), 600L);
+        Assert.assertEquals(timer.getMin(), 100L);
+        Assert.assertEquals(timer.getMax(), 300L);
+        Assert.assertEquals(timer.getAverage(), 200L);
+        Assert.assertEquals(registry.getCounters().get("bar"), Long.valueOf(2L));
+
+        registry.reset();
+        Assert.assertTrue(registry.getTimers().isEmpty());
+        Assert.assertTrue(registry.getCounters().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 1; j <= 1000; j++) {
+                        registry.recordTime("foo", j);
+                        registry.increment("bar");
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        TimerMetric timer = registry.getTimers().get("foo");
+        Assert.assertEquals(timer.getCount(), 4000L);
+        Assert.assertEquals(timer.getTotal(), 4 * 500500L);
+        Assert.assertEquals(timer.getMin(), 1L);
+        Assert.assertEquals(timer.getMax(), 1000L);
+        Assert.assertEquals(registry.getCounters().get("bar"), Long.valueOf(4000L));
+    }
+}
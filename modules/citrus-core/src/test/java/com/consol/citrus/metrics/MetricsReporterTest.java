@@ -0,0 +1,72 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.metrics;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.actions.EchoAction;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MetricsReporterTest {
+
+    private MetricsRegistry registry = new DefaultMetricsRegistry();
+    private MetricsRegistry previousRegistry;
+
+    @BeforeMethod
+    public void setupRegistry() {
+        previousRegistry = Metrics.getRegistry();
+        Metrics.setRegistry(registry);
+    }
+
+    @AfterMethod
+    public void restoreRegistry() {
+        Metrics.setRegistry(previousRegistry);
+    }
+
+    @Test
+    public void testTestActionMetrics() {
+        MetricsTestActionListener listener = new MetricsTestActionListener();
+        TestCase testCase = new TestCase();
+        EchoAction echo = new EchoAction();
+
+        listener.onTestActionStart(testCase, echo);
+        listener.onTestActionFinish(testCase, echo);
+        listener.onTestActionSkipped(testCase, echo);
+
+        Assert.assertEquals(registry.getTimers().get(Metrics.ACTION_PREFIX + "echo").getCount(), 1L);
+        Assert.assertEquals(registry.getCounters().get(Metrics.ACTION_PREFIX + "echo.skipped"), Long.valueOf(1L));
+    }
+
+    @Test
+    public void testCreateReport() {
+        registry.recordTime("endpoint.fooEndpoint.send", 2000000L);
+        registry.increment("messages.inbound");
+
+        String report = new MetricsReporter().createReport(registry);
+
+        Assert.assertTrue(report.contains("endpoint.fooEndpoint.send"));
+        Assert.assertTrue(report.contains("messages.inbound"));
+
+        new MetricsReporter().clearTestResults();
+        Assert.assertTrue(registry.getTimers().isEmpty());
+    }
+}
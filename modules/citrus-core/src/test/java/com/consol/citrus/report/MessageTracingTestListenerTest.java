@@ -0,0 +1,175 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.RawMessage;
+import com.consol.citrus.util.FileUtils;
+import org.springframework.core.io.FileSystemResource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MessageTracingTestListenerTest {
+
+    @Test
+    public void testMessageTracing() throws Exception {
+        File outputDirectory = File.createTempFile("message-trace", "");
+        outputDirectory.delete();
+        outputDirectory.deleteOnExit();
+
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + File.separator));
+        listener.setQueueCapacity(1);
+        listener.afterPropertiesSet();
+
+        TestCase fooTest = new TestCase();
+        fooTest.setName("FooTest");
+        TestCase barTest = new TestCase();
+        barTest.setName("BarTest");
+        TestCase emptyTest = new TestCase();
+        emptyTest.setName("EmptyTest");
+
+        TestContext fooContext = new TestContext();
+        fooContext.setVariable(CitrusConstants.TEST_NAME_VARIABLE, "FooTest");
+
+        listener.onTestStart(fooTest);
+        listener.onTestStart(barTest);
+        listener.onOutboundMessage(new RawMessage("<Hello>Foo</Hello>"), fooContext);
+        listener.onOutboundMessage(new DefaultMessage("<Ignored/>"), fooContext);
+        listener.onInboundMessage(new RawMessage("<Hello>Bar</Hello>"), null);
+        listener.onInboundMessage(new RawMessage("<Bye>Foo</Bye>"), fooContext);
+        listener.onTestFinish(fooTest);
+        listener.onTestFinish(barTest);
+        listener.onTestStart(emptyTest);
+        listener.onTestFinish(emptyTest);
+        listener.destroy();
+
+        String fooTrace = FileUtils.readToString(new FileSystemResource(new File(outputDirectory, "FooTest.msgs")));
+        Assert.assertTrue(fooTrace.contains("OUTBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("<Hello>Foo</Hello>"));
+        Assert.assertTrue(fooTrace.contains("INBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("<Bye>Foo</Bye>"));
+        Assert.assertTrue(fooTrace.indexOf("<Hello>Foo</Hello>") < fooTrace.indexOf("<Bye>Foo</Bye>"));
+        Assert.assertFalse(fooTrace.contains("Bar"));
+        Assert.assertFalse(fooTrace.contains("Ignored"));
+
+        String barTrace = FileUtils.readToString(new FileSystemResource(new File(outputDirectory, "BarTest.msgs")));
+        Assert.assertTrue(barTrace.contains("<Hello>Bar</Hello>"));
+        Assert.assertFalse(barTrace.contains("Foo"));
+
+        Assert.assertFalse(new File(outputDirectory, "EmptyTest.msgs").exists());
+
+        for (File file : outputDirectory.listFiles()) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testWriterSurvivesFailingEntry() throws Exception {
+        File outputDirectory = File.createTempFile("message-trace", "");
+        outputDirectory.delete();
+        outputDirectory.deleteOnExit();
+
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + File.separator));
+        listener.afterPropertiesSet();
+
+        TestCase fooTest = new TestCase();
+        fooTest.setName("FooTest");
+
+        listener.onTestStart(fooTest);
+        listener.onOutboundMessage(new RawMessage("<Broken/>") {
+            @Override
+            public String toString() {
+                throw new AssertionError("Failed to format message");
+            }
+        }, null);
+        listener.onInboundMessage(new RawMessage("<Hello>Foo</Hello>"), null);
+        listener.onTestFinish(fooTest);
+        listener.destroy();
+
+        String fooTrace = FileUtils.readToString(new FileSystemResource(new File(outputDirectory, "FooTest.msgs")));
+        Assert.assertTrue(fooTrace.contains("<Hello>Foo</Hello>"));
+
+        for (File file : outputDirectory.listFiles()) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testStuckWriterDoesNotBlock() throws Exception {
+        File outputDirectory = File.createTempFile("message-trace", "");
+        outputDirectory.delete();
+        outputDirectory.deleteOnExit();
+
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + File.separator));
+        listener.setQueueCapacity(1);
+        listener.setOfferTimeout(100L);
+        listener.afterPropertiesSet();
+
+        TestCase fooTest = new TestCase();
+        fooTest.setName("FooTest");
+
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            listener.onTestStart(fooTest);
+            listener.onOutboundMessage(new RawMessage("<Stuck/>") {
+                @Override
+                public String toString() {
+                    writing.countDown();
+
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return super.toString();
+                }
+            }, null);
+
+            Assert.assertTrue(writing.await(5000L, TimeUnit.MILLISECONDS));
+
+            long start = System.currentTimeMillis();
+            listener.onInboundMessage(new RawMessage("<Queued/>"), null);
+            listener.onInboundMessage(new RawMessage("<Dropped/>"), null);
+            listener.onTestFinish(fooTest);
+            listener.destroy();
+
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        } finally {
+            release.countDown();
+        }
+
+        for (File file : outputDirectory.listFiles()) {
+            file.delete();
+        }
+    }
+}
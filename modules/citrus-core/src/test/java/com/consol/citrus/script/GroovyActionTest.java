@@ -130,4 +130,27 @@ public class GroovyActionTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().startsWith("Invalid script template"));
         }
     }
+
+    @Test
+    public void testScriptWithVariables() {
+        GroovyAction bean = new GroovyAction();
+        bean.setScript("context.setVariable('result', '${greeting} Citrus!')");
+
+        context.setVariable("greeting", "Hello");
+        bean.execute(context);
+        Assert.assertEquals(context.getVariable("result"), "Hello Citrus!");
+
+        context.setVariable("greeting", "Hi");
+        bean.execute(context);
+        Assert.assertEquals(context.getVariable("result"), "Hi Citrus!");
+    }
+
+    @Test
+    public void testScriptClassLoader() {
+        GroovyAction bean = new GroovyAction();
+        bean.setScript("context.setVariable('loader', getClass().getClassLoader().getParent().getParent())");
+
+        bean.execute(context);
+        Assert.assertSame(context.getVariables().get("loader"), GroovyAction.class.getClassLoader());
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.script;
+
+import groovy.lang.GroovyObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class GroovyClassCacheTest {
+
+    @Test
+    public void testParseClassOnce() throws Exception {
+        Class<?> groovyClass = GroovyClassCache.parseClass("return 'Hello Citrus!'", getClass().getClassLoader());
+
+        Assert.assertSame(GroovyClassCache.parseClass("return 'Hello Citrus!'", getClass().getClassLoader()), groovyClass);
+        Assert.assertNotSame(GroovyClassCache.parseClass("return 'Hello World!'", getClass().getClassLoader()), groovyClass);
+
+        GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
+        Assert.assertEquals(groovyObject.invokeMethod("run", new Object[] {}), "Hello Citrus!");
+        Assert.assertNotSame(groovyClass.newInstance(), groovyObject);
+
+        GroovyClassCache.clear();
+        Assert.assertNotSame(GroovyClassCache.parseClass("return 'Hello Citrus!'", getClass().getClassLoader()), groovyClass);
+    }
+
+    @Test
+    public void testParseClassPerParentClassLoader() throws Exception {
+        ClassLoader parent = new URLClassLoader(new URL[] {}, getClass().getClassLoader());
+        Class<?> groovyClass = GroovyClassCache.parseClass("return 'Hello Loader!'", parent);
+
+        Assert.assertSame(groovyClass.getClassLoader().getParent().getParent(), parent);
+        Assert.assertSame(GroovyClassCache.parseClass("return 'Hello Loader!'", parent), groovyClass);
+        Assert.assertNotSame(GroovyClassCache.parseClass("return 'Hello Loader!'", getClass().getClassLoader()), groovyClass);
+    }
+}
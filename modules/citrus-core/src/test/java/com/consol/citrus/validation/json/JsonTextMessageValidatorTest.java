@@ -370,4 +370,127 @@ public class JsonTextMessageValidatorTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().contains("expected 'x123456789x' but was 'null'"));
         }
     }
+
+    @Test
+    public void testJsonValidationMatcherSupport() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5, \"person\":{\"name\":\"John\"}, \"greetings\":[\"Hello\", \"Hallo\"]}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"@startsWith('Hello')@\", \"index\":\"@greaterThan(4)@\", " +
+                "\"person\":\"@contains('John')@\", \"greetings\":[\"@ignore@\", \"@equalsIgnoreCase('hallo')@\"]}");
+
+        validator.validateMessagePayload(receivedMessage, controlMessage, context);
+    }
+
+    @Test
+    public void testJsonValidationMatcherError() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"person\":{\"name\":\"John\"}}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"@ignore@\", \"person\":\"@contains('Jane')@\"}");
+
+        try {
+            validator.validateMessagePayload(receivedMessage, controlMessage, context);
+            Assert.fail("Missing validation exception due to validation matcher error");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("person"));
+        }
+    }
+
+    @Test
+    public void testJsonValidationMissingEntry() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5, \"other\":\"x123456789x\"}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}");
+
+        try {
+            validator.validateMessagePayload(receivedMessage, controlMessage, context);
+            Assert.fail("Missing validation exception due to missing entry");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Missing JSON entry: 'id'"));
+        }
+    }
+
+    @Test
+    public void testSloppyJsonValidationArrayTooShort() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false);
+
+        Message receivedMessage = new DefaultMessage("{\"greetings\":[\"Hello\"], \"id\":\"x123456789x\"}");
+        Message controlMessage = new DefaultMessage("{\"greetings\":[\"Hello\", \"Hallo\"]}");
+
+        try {
+            validator.validateMessagePayload(receivedMessage, controlMessage, context);
+            Assert.fail("Missing validation exception due to wrong array size");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("expected '2'"));
+            Assert.assertTrue(e.getCause().getMessage().contains("but was '1'"));
+        }
+    }
+
+    @Test
+    public void testJsonValidationArraysInAnyOrder() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strictArrayOrder(false);
+
+        Message receivedMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hola del mundo!\", \"index\":3, \"tags\":[\"es\", \"world\"]}, " +
+                "{\"text\":\"Hello World!\", \"index\":1, \"tags\":[\"en\"]}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2, \"tags\":[]}], \"ids\":[3, 1, 2, 1]}");
+        Message controlMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1, \"tags\":[\"en\"]}, " +
+                "{\"text\":\"@startsWith('Hallo')@\", \"index\":\"@ignore@\", \"tags\":[]}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3, \"tags\":[\"world\", \"es\"]}], \"ids\":[1, 1, 2, 3]}");
+
+        validator.validateMessagePayload(receivedMessage, controlMessage, context);
+    }
+
+    @Test
+    public void testSloppyJsonValidationArraysInAnyOrder() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false).strictArrayOrder(false);
+
+        Message receivedMessage = new DefaultMessage("[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3}]");
+        Message controlMessage = new DefaultMessage("[{\"index\":3}, {\"text\":\"Hello World!\"}]");
+
+        validator.validateMessagePayload(receivedMessage, controlMessage, context);
+    }
+
+    @Test
+    public void testJsonValidationArraysInAnyOrderMissingElement() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strictArrayOrder(false);
+
+        Message receivedMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hello World!\", \"index\":1}]}");
+        Message controlMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}]}");
+
+        try {
+            validator.validateMessagePayload(receivedMessage, controlMessage, context);
+            Assert.fail("Missing validation exception due to missing array element");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Missing JSONArray element for JSON entry 'greetings'"));
+            Assert.assertTrue(e.getCause().getMessage().contains("Hallo Welt!"));
+        }
+    }
+
+    @Test
+    public void testJsonValidationArraysInAnyOrderOverlappingMatchers() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strictArrayOrder(false);
+
+        Message receivedMessage = new DefaultMessage("[{\"a\":\"xyz\"}, {\"a\":\"xa\"}]");
+
+        validator.validateMessagePayload(receivedMessage, new DefaultMessage("[{\"a\":\"@startsWith('x')@\"}, {\"a\":\"@startsWith('xy')@\"}]"), context);
+        validator.validateMessagePayload(receivedMessage, new DefaultMessage("[{\"a\":\"@startsWith('xy')@\"}, {\"a\":\"@startsWith('x')@\"}]"), context);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported json type .*")
+    public void testJsonValidationUnsupportedRootValue() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        validator.validateMessagePayload(new DefaultMessage("\"Hello\""), new DefaultMessage("\"Hello\""), context);
+    }
 }
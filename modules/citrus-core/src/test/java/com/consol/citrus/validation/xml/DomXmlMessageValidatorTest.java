@@ -29,6 +29,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -660,6 +661,33 @@ public class DomXmlMessageValidatorTest extends AbstractTestNGUnitTest {
         validator.validateMessagePayload(message, validationContext, context);
     }
     
+    @Test
+    public void testValidateMessagePayloadKeepsSharedDocument() {
+        Message message = new DefaultMessage("<root>\n"
+                        + "  <element attributeA='attribute-value'>\n"
+                        + "    <sub-element attribute='A'>text-value</sub-element>\n"
+                        + "  </element>\n"
+                    + "</root>");
+
+        Message controlMessage = new DefaultMessage("<root>"
+                        + "<element attributeA='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "</element>"
+                    + "</root>");
+
+        Document received = message.getPayload(Document.class);
+        int childNodes = received.getDocumentElement().getChildNodes().getLength();
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setControlMessage(controlMessage);
+
+        DomXmlMessageValidator validator = new DomXmlMessageValidator();
+        validator.validateMessagePayload(message, validationContext, context);
+
+        Assert.assertSame(message.getPayload(Document.class), received);
+        Assert.assertEquals(received.getDocumentElement().getChildNodes().getLength(), childNodes);
+    }
+    
     @Test
     public void testValidateMessagePayloadWithIgnoresSuccess() {
         Message message = new DefaultMessage("<root>"
@@ -16,12 +16,17 @@
 
 package com.consol.citrus.xml;
 
+import org.springframework.xml.transform.StringSource;
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
+import org.springframework.xml.xsd.XsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import com.consol.citrus.xml.schema.WsdlXsdSchema;
 
+import java.util.ArrayList;
+
 /**
  * @author Christoph Deppisch
  */
@@ -98,4 +103,36 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), WsdlXsdSchema.class);
     }
+
+    @Test
+    public void testSchemaValidator() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/validation/test.xsd");
+
+        schemaRepository.afterPropertiesSet();
+
+        XmlValidator validator = schemaRepository.getSchemaValidator();
+        Assert.assertSame(schemaRepository.getSchemaValidator(), validator);
+
+        Assert.assertEquals(validator.validate(new StringSource("<message xmlns=\"http://citrus\">" +
+                "<correlationId>1</correlationId><bookingId>2</bookingId><test>Hello</test></message>")).length, 0);
+        Assert.assertTrue(validator.validate(new StringSource("<message xmlns=\"http://citrus\">" +
+                "<correlationId>1</correlationId><unknown>2</unknown></message>")).length > 0);
+    }
+
+    @Test
+    public void testSchemaValidatorResetOnSetSchemas() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/validation/test.xsd");
+
+        schemaRepository.afterPropertiesSet();
+
+        XmlValidator validator = schemaRepository.getSchemaValidator();
+
+        schemaRepository.setSchemas(new ArrayList<XsdSchema>(schemaRepository.getSchemas()));
+        Assert.assertNotSame(schemaRepository.getSchemaValidator(), validator);
+        Assert.assertSame(schemaRepository.getSchemaValidator(), schemaRepository.getSchemaValidator());
+    }
 }
@@ -16,11 +16,17 @@
 
 package com.consol.citrus.xml.xpath;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
 
+import com.consol.citrus.util.XMLUtils;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.w3c.dom.Document;
 
 /**
  * @author Christoph Deppisch
@@ -69,4 +75,55 @@ public class XPathUtilsTest {
         Assert.assertEquals(XPathUtils.replaceDynamicNamespaces("//{http://citrusframework.org/unkown}Foo/{http://citrusframework.org/unknown}bar", namespaces),
                 "//{http://citrusframework.org/unkown}Foo/{http://citrusframework.org/unknown}bar");
     }
+
+    @Test
+    public void testEvaluateWithNamespaceContexts() {
+        Document doc = XMLUtils.parseMessagePayload("<ns0:root xmlns:ns0=\"http://citrusframework.org/foo\" xmlns:ns1=\"http://citrusframework.org/bar\">" +
+                "<ns0:value>foo</ns0:value><ns1:value>bar</ns1:value></ns0:root>");
+
+        SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
+        nsContext.bindNamespaceUri("ns", "http://citrusframework.org/foo");
+
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns:root/ns:value", nsContext), "foo");
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns:root/ns:value", nsContext), "foo");
+
+        nsContext = new SimpleNamespaceContext();
+        nsContext.bindNamespaceUri("ns", "http://citrusframework.org/bar");
+        nsContext.bindNamespaceUri("root", "http://citrusframework.org/foo");
+
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/root:root/ns:value", nsContext), "bar");
+
+        nsContext = new SimpleNamespaceContext();
+        nsContext.bindNamespaceUri("root", "http://citrusframework.org/foo");
+        nsContext.bindNamespaceUri("ns", "http://citrusframework.org/foo");
+
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/root:root/ns:value", nsContext), "foo");
+        Assert.assertEquals(XPathUtils.evaluateAsNumber(doc, "count(/root:root/*)", nsContext), 2.0D);
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        final Document doc = XMLUtils.parseMessagePayload("<ns0:root xmlns:ns0=\"http://citrusframework.org/foo\"><ns0:value>foo</ns0:value></ns0:root>");
+        final SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
+        nsContext.bindNamespaceUri("ns", "http://citrusframework.org/foo");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return XPathUtils.evaluateAsString(doc, "/ns:root/ns:value", nsContext);
+                    }
+                }));
+            }
+
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), "foo");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -166,10 +166,14 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
                 RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            if (replyManager instanceof BlockingCorrelationManager) {
+                ((BlockingCorrelationManager<Message>) replyManager).await(selector, timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+            } else {
+                try {
+                    Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                }
             }
 
             message = findReplyMessage(selector);
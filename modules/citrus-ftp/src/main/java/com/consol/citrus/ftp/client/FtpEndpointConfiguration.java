@@ -41,7 +41,7 @@ public class FtpEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time between reply message lookups when waiting for synchronous reply, waiting stops early as soon as reply arrives */
     private long pollingInterval = 500;
 
     /**
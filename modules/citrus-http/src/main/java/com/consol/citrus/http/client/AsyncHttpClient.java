@@ -0,0 +1,139 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.*;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Asynchronous Http client sends requests with asynchronous rest template and returns immediately. Responses are
+ * completed into the reply message store by callback, so receive operations pick them up later on. Many requests can
+ * be in flight without blocking a test thread per request. Failed requests complete the reply with the failure, which
+ * is raised by the receive operation waiting for that reply.
+ *
+ * Request execution is up to the asynchronous request factory of the endpoint configuration. Default factory runs
+ * requests of the rest template request factory on a bounded thread pool, so connection pool, keep alive settings and
+ * client interceptors apply. Message listeners are informed by the logging client interceptor. A non-blocking factory
+ * such as Spring's HttpComponentsAsyncClientHttpRequestFactory can be set instead when available on the classpath,
+ * client interceptors including message logging do not apply then.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class AsyncHttpClient extends HttpClient {
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(AsyncHttpClient.class);
+
+    /**
+     * Default constructor initializing endpoint configuration.
+     */
+    public AsyncHttpClient() {
+        super(new HttpEndpointConfiguration());
+    }
+
+    /**
+     * Default constructor using endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public AsyncHttpClient(HttpEndpointConfiguration endpointConfiguration) {
+        super(endpointConfiguration);
+    }
+
+    @Override
+    public void send(Message message, TestContext context) {
+        addLoggingClientInterceptor(context);
+
+        HttpMessage httpMessage = getHttpMessage(message);
+
+        final String correlationKey = getEndpointConfiguration().getCorrelator().getCorrelationKey(httpMessage);
+        context.saveCorrelationKey(correlationKey, this);
+
+        final String endpointUri = getEndpointUri(httpMessage);
+
+        log.info("Sending asynchronous HTTP message to: '" + endpointUri + "'");
+
+        HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration());
+
+        getEndpointConfiguration().evictIdleConnections();
+        ListenableFuture<ResponseEntity<String>> response = getEndpointConfiguration().getAsyncRestTemplate()
+                .exchange(endpointUri, getRequestMethod(httpMessage), requestEntity, String.class);
+
+        response.addCallback(new ListenableFutureCallback<ResponseEntity<String>>() {
+            @Override
+            public void onSuccess(ResponseEntity<String> result) {
+                log.debug("Received asynchronous HTTP response from endpoint: '" + endpointUri + "'");
+                onReplyMessage(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(result, getEndpointConfiguration()));
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                if (cause instanceof HttpStatusCodeException && getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
+                    // custom rest template error handler raised error response that should be propagated as response
+                    HttpStatusCodeException e = (HttpStatusCodeException) cause;
+                    onSuccess(new ResponseEntity<String>(e.getResponseBodyAsString(), e.getResponseHeaders(), e.getStatusCode()));
+                    return;
+                }
+
+                log.warn("Asynchronous HTTP request to endpoint '" + endpointUri + "' failed", cause);
+                onReplyMessage(correlationKey, new FailureMessage(cause));
+            }
+        });
+    }
+
+    /**
+     * Tries to find reply message for correlation key from local store. Raises failure of request
+     * when request has failed.
+     * @param correlationKey
+     * @return
+     */
+    @Override
+    public Message findReplyMessage(String correlationKey) {
+        Message message = super.findReplyMessage(correlationKey);
+
+        if (message instanceof FailureMessage) {
+            Throwable failure = ((FailureMessage) message).failure;
+
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else {
+                throw new CitrusRuntimeException("Failed to send asynchronous HTTP request", failure);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Reply placeholder completing correlation entry of failed request with the failure.
+     */
+    private static final class FailureMessage extends DefaultMessage {
+        private final transient Throwable failure;
+
+        private FailureMessage(Throwable failure) {
+            super(failure.getClass().getName());
+            this.failure = failure;
+        }
+    }
+}
@@ -19,21 +19,18 @@ package com.consol.citrus.http.client;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.exceptions.ActionTimeoutException;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.messaging.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.client.DefaultResponseErrorHandler;
-import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.HttpStatusCodeException;
 
-import java.io.IOException;
 import java.util.Arrays;
 
 /**
@@ -43,7 +40,7 @@ import java.util.Arrays;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
@@ -75,29 +72,14 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     @Override
     public void send(Message message, TestContext context) {
-        if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
-            LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
-            loggingClientInterceptor.setMessageListener(context.getMessageListeners());
-
-            getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
-        }
+        addLoggingClientInterceptor(context);
 
-        HttpMessage httpMessage;
-        if (message instanceof HttpMessage) {
-            httpMessage = (HttpMessage) message;
-        } else {
-            httpMessage = new HttpMessage(message);
-        }
+        HttpMessage httpMessage = getHttpMessage(message);
 
         String correlationKey = getEndpointConfiguration().getCorrelator().getCorrelationKey(httpMessage);
         context.saveCorrelationKey(correlationKey, this);
 
-        String endpointUri;
-        if (getEndpointConfiguration().getEndpointUriResolver() != null) {
-            endpointUri = getEndpointConfiguration().getEndpointUriResolver().resolveEndpointUri(httpMessage, getEndpointConfiguration().getRequestUrl());
-        } else {
-            endpointUri = getEndpointConfiguration().getRequestUrl();
-        }
+        String endpointUri = getEndpointUri(httpMessage);
 
         log.info("Sending HTTP message to: '" + endpointUri + "'");
 
@@ -105,21 +87,80 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
             log.debug("Message to be sent:\n" + httpMessage.getPayload().toString());
         }
 
-        HttpMethod method = getEndpointConfiguration().getRequestMethod();
-        if (httpMessage.getRequestMethod() != null) {
-            method = httpMessage.getRequestMethod();
-        }
+        HttpMethod method = getRequestMethod(httpMessage);
 
         HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration());
 
-        getEndpointConfiguration().getRestTemplate().setErrorHandler(new InternalResponseErrorHandler(correlationKey));
-        ResponseEntity<?> response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
+        getEndpointConfiguration().evictIdleConnections();
+        ResponseEntity<?> response;
+        try {
+            response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
+        } catch (HttpStatusCodeException e) {
+            if (!getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
+                throw e;
+            }
+
+            // custom rest template error handler raised error response that should be propagated as response
+            response = new ResponseEntity<String>(e.getResponseBodyAsString(), e.getResponseHeaders(), e.getStatusCode());
+        }
 
         log.info("HTTP message was successfully sent to endpoint: '" + endpointUri + "'");
 
         onReplyMessage(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(response, getEndpointConfiguration()));
     }
 
+    /**
+     * Adds logging client interceptor when no client interceptors are set.
+     * @param context
+     */
+    protected void addLoggingClientInterceptor(TestContext context) {
+        if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
+            LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
+            loggingClientInterceptor.setMessageListener(context.getMessageListeners());
+
+            getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
+        }
+    }
+
+    /**
+     * Converts message to Http message if necessary.
+     * @param message
+     * @return
+     */
+    protected HttpMessage getHttpMessage(Message message) {
+        if (message instanceof HttpMessage) {
+            return (HttpMessage) message;
+        } else {
+            return new HttpMessage(message);
+        }
+    }
+
+    /**
+     * Resolves endpoint uri for Http message using endpoint uri resolver if present.
+     * @param httpMessage
+     * @return
+     */
+    protected String getEndpointUri(HttpMessage httpMessage) {
+        if (getEndpointConfiguration().getEndpointUriResolver() != null) {
+            return getEndpointConfiguration().getEndpointUriResolver().resolveEndpointUri(httpMessage, getEndpointConfiguration().getRequestUrl());
+        } else {
+            return getEndpointConfiguration().getRequestUrl();
+        }
+    }
+
+    /**
+     * Gets request method of Http message falling back to request method of endpoint configuration.
+     * @param httpMessage
+     * @return
+     */
+    protected HttpMethod getRequestMethod(HttpMessage httpMessage) {
+        if (httpMessage.getRequestMethod() != null) {
+            return httpMessage.getRequestMethod();
+        } else {
+            return getEndpointConfiguration().getRequestMethod();
+        }
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(context.getCorrelationKey(this), context);
@@ -147,10 +188,14 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
                 RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            if (replyManager instanceof BlockingCorrelationManager) {
+                ((BlockingCorrelationManager<Message>) replyManager).await(selector, timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+            } else {
+                try {
+                    Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                }
             }
 
             message = findReplyMessage(selector);
@@ -163,49 +208,6 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         return message;
     }
 
-    /**
-     * Handles error response messages constructing a proper response message
-     * which will be propagated to the respective reply handler for
-     * further processing.
-     */
-    private class InternalResponseErrorHandler implements ResponseErrorHandler {
-
-        /** Request message associated with this response error handler */
-        private String correlationKey;
-
-        /**
-         * Default constructor provided with request message
-         * associated with this error handler.
-         */
-        public InternalResponseErrorHandler(String correlationKey) {
-            this.correlationKey = correlationKey;
-        }
-
-        /**
-         * Check for error HTTP status code in response message.
-         * Delegates to default Spring implementation.
-         */
-        public boolean hasError(ClientHttpResponse response) throws IOException {
-            return new DefaultResponseErrorHandler().hasError(response);
-        }
-
-        /**
-         * Handle error response message according to error strategy.
-         */
-        public void handleError(ClientHttpResponse response) throws IOException {
-            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
-                Message responseMessage = getEndpointConfiguration().getMessageConverter().convertInbound(
-                        new ResponseEntity(response.getBody(), response.getHeaders(), response.getStatusCode()), getEndpointConfiguration());
-                onReplyMessage(correlationKey, responseMessage);
-            } else if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
-                new DefaultResponseErrorHandler().handleError(response);
-            } else {
-                throw new CitrusRuntimeException("Unsupported error strategy: " + getEndpointConfiguration().getErrorHandlingStrategy());
-            }
-        }
-
-    }
-
     /**
      * Saves reply message with correlation key to local store for later processing.
      * @param correlationKey
@@ -215,6 +217,14 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         replyManager.store(correlationKey, replyMessage);
     }
 
+    /**
+     * Gets the store of reply messages.
+     * @return
+     */
+    protected CorrelationManager<Message> getReplyManager() {
+        return replyManager;
+    }
+
     /**
      * Tries to find reply message for correlation key from local store.
      * @param correlationKey
@@ -224,6 +234,14 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         return replyManager.find(correlationKey);
     }
 
+    /**
+     * Releases pooled connections of default request factory.
+     */
+    @Override
+    public void destroy() {
+        getEndpointConfiguration().shutdownConnectionManager();
+    }
+
     /**
      * Creates a message producer for this endpoint for sending messages
      * to this endpoint.
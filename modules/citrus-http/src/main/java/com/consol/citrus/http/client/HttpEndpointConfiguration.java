@@ -21,14 +21,29 @@ import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
 import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.message.*;
+import org.apache.http.HttpResponse;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.*;
 import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.integration.mapping.HeaderMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Christoph Deppisch
@@ -49,10 +64,19 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
     private String contentType = "text/plain";
 
     /** The rest template */
-    private RestTemplate restTemplate;
+    private volatile RestTemplate restTemplate;
 
     /** Request factory */
-    private ClientHttpRequestFactory requestFactory;
+    private volatile ClientHttpRequestFactory requestFactory;
+
+    /** The asynchronous rest template */
+    private volatile AsyncRestTemplate asyncRestTemplate;
+
+    /** Asynchronous request factory */
+    private volatile AsyncClientHttpRequestFactory asyncRequestFactory;
+
+    /** Task executor of default asynchronous request factory */
+    private ThreadPoolTaskExecutor asyncTaskExecutor;
 
     /** Resolves dynamic endpoint uri */
     private EndpointUriResolver endpointUriResolver = new DynamicEndpointUriResolver();
@@ -72,9 +96,27 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time between reply message lookups when waiting for synchronous reply, waiting stops early as soon as reply arrives */
     private long pollingInterval = 500;
 
+    /** Maximum number of pooled connections in total */
+    private int maxConnections = 100;
+
+    /** Maximum number of pooled connections per route */
+    private int maxConnectionsPerRoute = 20;
+
+    /** Time in milliseconds a connection may stay idle in the pool before it gets evicted */
+    private long idleConnectionTimeout = 60000L;
+
+    /** Time in milliseconds connections are kept alive when server does not send a keep alive timeout */
+    private long keepAliveTimeout = 30000L;
+
+    /** Connection manager of default request factory */
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+
+    /** Next time idle connections get evicted */
+    private final AtomicLong nextIdleConnectionEviction = new AtomicLong();
+
     /**
      * Get the complete request URL.
      * @return the urlPath
@@ -100,7 +142,7 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
     }
 
     /**
-     * Sets the restTemplate.
+     * Sets the restTemplate. Custom rest templates keep their own response error handler.
      * @param restTemplate the restTemplate to set
      */
     public void setRestTemplate(RestTemplate restTemplate) {
@@ -185,8 +227,14 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
      */
     public RestTemplate getRestTemplate() {
         if (restTemplate == null) {
-            restTemplate = new RestTemplate();
-            restTemplate.setRequestFactory(getRequestFactory());
+            synchronized (this) {
+                if (restTemplate == null) {
+                    RestTemplate template = new RestTemplate();
+                    template.setRequestFactory(getRequestFactory());
+                    template.setErrorHandler(new HttpResponseErrorHandler(this));
+                    restTemplate = template;
+                }
+            }
         }
 
         return restTemplate;
@@ -263,12 +311,153 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
      */
     public ClientHttpRequestFactory getRequestFactory() {
         if (requestFactory == null) {
-            requestFactory = new HttpComponentsClientHttpRequestFactory();
+            synchronized (this) {
+                if (requestFactory == null) {
+                    requestFactory = createPooledRequestFactory();
+                }
+            }
         }
 
         return requestFactory;
     }
 
+    /**
+     * Creates default request factory with pooled connection manager using connection limits and keep alive settings
+     * of this configuration. System properties for proxy, SSL trust store and keep alive settings are respected
+     * like with the system default Http client.
+     * @return
+     */
+    private ClientHttpRequestFactory createPooledRequestFactory() {
+        PoolingHttpClientConnectionManager pooledConnectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                        .build());
+        pooledConnectionManager.setMaxTotal(maxConnections);
+        pooledConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager = pooledConnectionManager;
+
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(pooledConnectionManager)
+                .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                    @Override
+                    public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                        long duration = super.getKeepAliveDuration(response, context);
+                        return duration > 0 || keepAliveTimeout <= 0 ? duration : keepAliveTimeout;
+                    }
+                })
+                .build());
+    }
+
+    /**
+     * Gets the asynchronous rest template.
+     * @return
+     */
+    public AsyncRestTemplate getAsyncRestTemplate() {
+        if (asyncRestTemplate == null) {
+            synchronized (this) {
+                if (asyncRestTemplate == null) {
+                    AsyncRestTemplate template = new AsyncRestTemplate(getAsyncRequestFactory(), getRestTemplate());
+                    template.setErrorHandler(new HttpResponseErrorHandler(this));
+                    asyncRestTemplate = template;
+                }
+            }
+        }
+
+        return asyncRestTemplate;
+    }
+
+    /**
+     * Sets the asynchronous rest template. Error handler of the template is kept.
+     * @param asyncRestTemplate
+     */
+    public void setAsyncRestTemplate(AsyncRestTemplate asyncRestTemplate) {
+        this.asyncRestTemplate = asyncRestTemplate;
+    }
+
+    /**
+     * Gets the asynchronous request factory. Default factory executes requests of the rest template request factory
+     * on a bounded thread pool sized by the maximum number of connections, so sending never blocks the caller. Requests
+     * share connection pool, keep alive settings and client interceptors with synchronous requests.
+     * @return
+     */
+    public AsyncClientHttpRequestFactory getAsyncRequestFactory() {
+        if (asyncRequestFactory == null) {
+            synchronized (this) {
+                if (asyncRequestFactory == null) {
+                    asyncTaskExecutor = new ThreadPoolTaskExecutor();
+                    asyncTaskExecutor.setCorePoolSize(maxConnections);
+                    asyncTaskExecutor.setMaxPoolSize(maxConnections);
+                    asyncTaskExecutor.setAllowCoreThreadTimeOut(true);
+                    asyncTaskExecutor.setDaemon(true);
+                    asyncTaskExecutor.setThreadNamePrefix("citrus-http-async-");
+                    asyncTaskExecutor.initialize();
+
+                    asyncRequestFactory = new TaskExecutingAsyncClientHttpRequestFactory(new ClientHttpRequestFactory() {
+                        @Override
+                        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+                            // use rest template request factory so current client interceptors apply
+                            return getRestTemplate().getRequestFactory().createRequest(uri, httpMethod);
+                        }
+                    }, asyncTaskExecutor);
+                }
+            }
+        }
+
+        return asyncRequestFactory;
+    }
+
+    /**
+     * Sets the asynchronous request factory.
+     * @param asyncRequestFactory
+     */
+    public void setAsyncRequestFactory(AsyncClientHttpRequestFactory asyncRequestFactory) {
+        this.asyncRequestFactory = asyncRequestFactory;
+    }
+
+    /**
+     * Closes expired and idle connections of default pooled request factory. Eviction runs at most once per idle
+     * connection timeout period, concurrent callers return immediately.
+     */
+    public void evictIdleConnections() {
+        PoolingHttpClientConnectionManager pooledConnectionManager = connectionManager;
+        if (pooledConnectionManager == null || idleConnectionTimeout <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long next = nextIdleConnectionEviction.get();
+        if (now >= next && nextIdleConnectionEviction.compareAndSet(next, now + idleConnectionTimeout)) {
+            pooledConnectionManager.closeExpiredConnections();
+            pooledConnectionManager.closeIdleConnections(idleConnectionTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Shuts down connection manager of default pooled request factory and task executor of default asynchronous
+     * request factory.
+     */
+    public void shutdownConnectionManager() {
+        PoolingHttpClientConnectionManager pooledConnectionManager = connectionManager;
+        if (pooledConnectionManager != null) {
+            pooledConnectionManager.shutdown();
+        }
+
+        if (asyncTaskExecutor != null) {
+            asyncTaskExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Gets the connection manager of default pooled request factory. Is null when custom request factory or rest template
+     * is used.
+     * @return
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
     /**
      * Sets the client request factory.
      * @param requestFactory
@@ -277,6 +466,70 @@ public class HttpEndpointConfiguration extends AbstractEndpointConfiguration {
         this.requestFactory = requestFactory;
     }
 
+    /**
+     * Gets the maximum number of pooled connections.
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections.
+     * @param maxConnections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections per route.
+     * @return
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per route.
+     * @param maxConnectionsPerRoute
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the idle connection timeout.
+     * @return
+     */
+    public long getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * Sets the idle connection timeout.
+     * @param idleConnectionTimeout
+     */
+    public void setIdleConnectionTimeout(long idleConnectionTimeout) {
+        this.idleConnectionTimeout = idleConnectionTimeout;
+    }
+
+    /**
+     * Gets the keep alive timeout.
+     * @return
+     */
+    public long getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    /**
+     * Sets the keep alive timeout.
+     * @param keepAliveTimeout
+     */
+    public void setKeepAliveTimeout(long keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
     /**
      * Gets the message converter.
      * @return
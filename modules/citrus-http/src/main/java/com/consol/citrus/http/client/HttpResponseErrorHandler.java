@@ -0,0 +1,57 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.ErrorHandlingStrategy;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+
+import java.io.IOException;
+
+/**
+ * Response error handler applies error handling strategy of endpoint configuration. When errors get propagated
+ * error responses are not treated as errors at all, so the response is handed back to the client like any
+ * other response. Handler is stateless and set once on the rest template so concurrent senders share it.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class HttpResponseErrorHandler extends DefaultResponseErrorHandler {
+
+    /** Endpoint configuration holding the error handling strategy */
+    private final HttpEndpointConfiguration endpointConfiguration;
+
+    /**
+     * Default constructor using endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public HttpResponseErrorHandler(HttpEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    @Override
+    public boolean hasError(ClientHttpResponse response) throws IOException {
+        if (endpointConfiguration.getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
+            return false;
+        } else if (endpointConfiguration.getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
+            return super.hasError(response);
+        } else {
+            throw new CitrusRuntimeException("Unsupported error strategy: " + endpointConfiguration.getErrorHandlingStrategy());
+        }
+    }
+}
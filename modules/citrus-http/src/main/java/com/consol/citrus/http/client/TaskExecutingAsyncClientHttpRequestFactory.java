@@ -0,0 +1,114 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.*;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.Callable;
+
+/**
+ * Asynchronous request factory executes requests of a synchronous request factory on a task executor. Requests
+ * therefore use the connection pool, keep alive settings and client interceptors of the synchronous request factory.
+ * Request body is buffered in memory until request is executed.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class TaskExecutingAsyncClientHttpRequestFactory implements AsyncClientHttpRequestFactory {
+
+    /** Synchronous request factory executing requests */
+    private final ClientHttpRequestFactory requestFactory;
+
+    /** Task executor running requests */
+    private final AsyncListenableTaskExecutor taskExecutor;
+
+    /**
+     * Default constructor using synchronous request factory and task executor.
+     * @param requestFactory
+     * @param taskExecutor
+     */
+    public TaskExecutingAsyncClientHttpRequestFactory(ClientHttpRequestFactory requestFactory, AsyncListenableTaskExecutor taskExecutor) {
+        Assert.notNull(requestFactory, "Request factory must not be null");
+        Assert.notNull(taskExecutor, "Task executor must not be null");
+
+        this.requestFactory = requestFactory;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public AsyncClientHttpRequest createAsyncRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new TaskExecutingAsyncClientHttpRequest(uri, httpMethod);
+    }
+
+    /**
+     * Asynchronous request buffering headers and body and executing synchronous request on task executor.
+     */
+    private final class TaskExecutingAsyncClientHttpRequest implements AsyncClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        private TaskExecutingAsyncClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public ListenableFuture<ClientHttpResponse> executeAsync() throws IOException {
+            return taskExecutor.submitListenable(new Callable<ClientHttpResponse>() {
+                @Override
+                public ClientHttpResponse call() throws Exception {
+                    ClientHttpRequest request = requestFactory.createRequest(uri, method);
+                    request.getHeaders().putAll(headers);
+                    StreamUtils.copy(body.toByteArray(), request.getBody());
+                    return request.execute();
+                }
+            });
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return body;
+        }
+    }
+}
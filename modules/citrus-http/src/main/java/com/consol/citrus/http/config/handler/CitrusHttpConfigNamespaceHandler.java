@@ -29,6 +29,7 @@ public class CitrusHttpConfigNamespaceHandler extends NamespaceHandlerSupport {
     public void init() {
         registerBeanDefinitionParser("server", new HttpServerParser());
         registerBeanDefinitionParser("client", new HttpClientParser());
+        registerBeanDefinitionParser("async-client", new AsyncHttpClientParser());
     }
 
 }
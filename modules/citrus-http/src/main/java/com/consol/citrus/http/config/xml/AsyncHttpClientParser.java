@@ -0,0 +1,53 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.config.xml;
+
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.http.client.AsyncHttpClient;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.w3c.dom.Element;
+
+/**
+ * Asynchronous Http client parser sets properties on bean definition for asynchronous client component.
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class AsyncHttpClientParser extends HttpClientParser {
+
+    @Override
+    protected void parseEndpointConfiguration(BeanDefinitionBuilder endpointConfiguration, Element element, ParserContext parserContext) {
+        super.parseEndpointConfiguration(endpointConfiguration, element, parserContext);
+
+        if (element.hasAttribute("async-rest-template") && element.hasAttribute("async-request-factory")) {
+            parserContext.getReaderContext().error("When providing a 'async-rest-template' property, " +
+                    "no 'async-request-factory' should be set!", element);
+        }
+
+        if (element.hasAttribute("async-rest-template")){
+            BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("async-rest-template"), "asyncRestTemplate");
+        } else {
+            BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("async-request-factory"), "asyncRequestFactory");
+        }
+    }
+
+    @Override
+    protected Class<? extends Endpoint> getEndpointClass() {
+        return AsyncHttpClient.class;
+    }
+}
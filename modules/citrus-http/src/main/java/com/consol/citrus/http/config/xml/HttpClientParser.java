@@ -77,6 +77,11 @@ public class HttpClientParser extends AbstractEndpointParser {
 
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("polling-interval"), "pollingInterval");
 
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections"), "maxConnections");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections-per-route"), "maxConnectionsPerRoute");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("idle-connection-timeout"), "idleConnectionTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("keep-alive-timeout"), "keepAliveTimeout");
+
         if (element.hasAttribute("error-strategy")) {
             endpointConfiguration.addPropertyValue("errorHandlingStrategy",
                     ErrorHandlingStrategy.fromName(element.getAttribute("error-strategy")));
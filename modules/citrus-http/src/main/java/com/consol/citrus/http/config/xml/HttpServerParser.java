@@ -47,6 +47,17 @@ public class HttpServerParser extends AbstractServerParser {
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("security-handler"), "securityHandler");
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("message-converter"), "messageConverter");
+
+        BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("thread-pool"), "threadPool");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("min-threads"), "minThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-threads"), "maxThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("thread-idle-timeout"), "threadIdleTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-queued-requests"), "maxQueuedRequests");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("acceptors"), "acceptors");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("accept-queue-size"), "acceptQueueSize");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("idle-timeout"), "idleTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("request-cache-threshold"), "requestCacheThreshold");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("stream-requests"), "streamRequests");
     }
 
     @Override
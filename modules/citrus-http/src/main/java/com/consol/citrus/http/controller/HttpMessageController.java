@@ -24,15 +24,15 @@ import com.consol.citrus.message.Message;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.*;
 import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.http.HttpServletRequest;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
- * handler for further processing.
+ * handler for further processing. Controller is shared by all concurrent requests so any per exchange
+ * state is kept in the current request attributes.
  * 
  * @author Christoph Deppisch
  */
@@ -46,8 +46,11 @@ public class HttpMessageController {
     /** Endpoint configuration */
     private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
+    /** Request attribute holding the response of the current exchange for message tracing reasons */
+    public static final String RESPONSE_ATTRIBUTE = HttpMessageController.class.getName() + ".response";
+
+    /** Thread safe path helper shared by all requests */
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
     
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
@@ -100,8 +103,7 @@ public class HttpMessageController {
     private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
         HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration);
 
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
+        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
 
         request.setRequestUri(pathHelper.getRequestUri(servletRequest));
         request.setContextPath(pathHelper.getContextPath(servletRequest));
@@ -111,9 +113,10 @@ public class HttpMessageController {
 
         request.setRequestMethod(method);
 
+        ResponseEntity<String> responseEntity;
         Message response = endpointAdapter.handleMessage(request);
         if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
+            responseEntity = new ResponseEntity(HttpStatus.OK);
         } else {
             HttpMessage httpResponse;
             if (response instanceof HttpMessage) {
@@ -126,10 +129,11 @@ public class HttpMessageController {
                 httpResponse.setStatusCode(HttpStatus.OK);
             }
 
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
+            responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
         }
 
-        return responseCache;
+        servletRequest.setAttribute(RESPONSE_ATTRIBUTE, responseEntity);
+        return responseEntity;
     }
     
     /**
@@ -165,10 +169,24 @@ public class HttpMessageController {
     }
 
     /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
+     * Gets the response of the request currently bound to this thread.
+     * @return the response or null if no request is bound or no response was generated yet.
      */
     public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        return getResponseCache(((ServletRequestAttributes) requestAttributes).getRequest());
+    }
+
+    /**
+     * Gets the response generated for given request.
+     * @param servletRequest
+     * @return the response or null if no response was generated yet.
+     */
+    public static ResponseEntity<String> getResponseCache(HttpServletRequest servletRequest) {
+        return (ResponseEntity<String>) servletRequest.getAttribute(RESPONSE_ATTRIBUTE);
     }
 }
@@ -17,6 +17,8 @@
 package com.consol.citrus.http.interceptor;
 
 import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.http.servlet.RequestCachingServletFilter;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.util.FileUtils;
@@ -26,10 +28,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Enumeration;
 
 /**
@@ -67,7 +71,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        handleResponse(getResponseContent(request, response));
     }
 
     /**
@@ -140,26 +144,48 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
         
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+        builder.append(getRequestBody(request));
         
         return builder.toString();
     }
+
+    /**
+     * Reads request body for logging. Streamed request bodies are not read as they can be consumed only once. Large
+     * request bodies spilled to temporary file by the caching request wrapper are not loaded into memory either.
+     * @param request
+     * @return
+     * @throws IOException
+     */
+    private String getRequestBody(HttpServletRequest request) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(RequestCachingServletFilter.STREAMING_ATTRIBUTE))) {
+            return "[streamed request body]";
+        }
+
+        InputStream inputStream = request.getInputStream();
+        CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(request, CachingHttpServletRequestWrapper.class);
+        if (cachingRequest != null && cachingRequest.getBodyFile() != null) {
+            inputStream.close();
+            return "[request body of " + cachingRequest.getBodyFile().length() + " bytes cached in temporary file]";
+        }
+
+        return FileUtils.readToString(inputStream);
+    }
     
     /**
+     * Builds raw response message content using the response generated for the request by message controller.
+     * @param request
      * @param response
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response) {
         StringBuilder builder = new StringBuilder();
         
         builder.append(response);
-        
-        if (handler instanceof HttpMessageController) {
-            ResponseEntity<String> responseEntity = ((HttpMessageController)handler).getResponseCache();
-            if (responseEntity != null) {
-                builder.append(NEWLINE);
-                builder.append(responseEntity.getBody());
-            }
+
+        ResponseEntity<String> responseEntity = HttpMessageController.getResponseCache(request);
+        if (responseEntity != null) {
+            builder.append(NEWLINE);
+            builder.append(responseEntity.getBody());
         }
         
         return builder.toString();
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.server;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Jetty thread pool preset for Http servers simulating backends under load. Worker threads are started eagerly up
+ * to a large minimum, pending jobs wait in a bounded queue so overload is rejected early instead of piling up
+ * unlimited requests in memory.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class BoundedQueuedThreadPool extends QueuedThreadPool {
+
+    /** Default pool settings */
+    public static final int DEFAULT_MIN_THREADS = 50;
+    public static final int DEFAULT_MAX_THREADS = 500;
+    public static final int DEFAULT_MAX_QUEUED = 5000;
+    public static final int DEFAULT_IDLE_TIMEOUT = 60000;
+
+    /**
+     * Default constructor using default pool settings.
+     */
+    public BoundedQueuedThreadPool() {
+        this(DEFAULT_MIN_THREADS, DEFAULT_MAX_THREADS, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Constructor using thread limits and queue capacity.
+     * @param minThreads
+     * @param maxThreads
+     * @param maxQueued
+     */
+    public BoundedQueuedThreadPool(int minThreads, int maxThreads, int maxQueued) {
+        super(new ArrayBlockingQueue<Runnable>(maxQueued));
+        setMinThreads(minThreads);
+        setMaxThreads(maxThreads);
+        setMaxQueued(maxQueued);
+        setMaxIdleTimeMs(DEFAULT_IDLE_TIMEOUT);
+        setName("citrus-http-server");
+    }
+}
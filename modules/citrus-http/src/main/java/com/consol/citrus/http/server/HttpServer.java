@@ -25,7 +25,10 @@ import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.*;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -94,6 +97,32 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Optional custom server thread pool */
+    private ThreadPool threadPool;
+
+    /** Server thread pool settings used when no custom thread pool is set */
+    private int minThreads = 8;
+    private int maxThreads = 254;
+    private int threadIdleTimeout = 60000;
+
+    /** Maximum number of requests waiting for a free thread, unbounded when negative */
+    private int maxQueuedRequests = -1;
+
+    /** Number of acceptor threads of default connector, Jetty uses as many selector sets as acceptors. Jetty default when zero or less */
+    private int acceptors = 0;
+
+    /** Accept queue size of default connector, operating system default when zero */
+    private int acceptQueueSize = 0;
+
+    /** Maximum idle time of connections on default connector */
+    private int idleTimeout = 200000;
+
+    /** Request body size in bytes above which cached request data is spilled to temporary file, negative to always cache in memory */
+    private long requestCacheThreshold = -1L;
+
+    /** Pass through request bodies without caching */
+    private boolean streamRequests = false;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -117,8 +146,11 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 jettyServer = new Server();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                jettyServer = new Server();
+                jettyServer.addConnector(createDefaultConnector());
             }
+
+            jettyServer.setThreadPool(getThreadPool());
             
             HandlerCollection handlers = new HandlerCollection();
             
@@ -164,6 +196,203 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         }
     }
 
+    /**
+     * Creates default connector on server port using acceptor, accept queue and idle timeout settings.
+     * @return
+     */
+    private Connector createDefaultConnector() {
+        SelectChannelConnector defaultConnector = new SelectChannelConnector();
+        defaultConnector.setPort(port);
+        if (acceptors > 0) {
+            defaultConnector.setAcceptors(acceptors);
+        }
+        defaultConnector.setAcceptQueueSize(acceptQueueSize);
+        defaultConnector.setMaxIdleTime(idleTimeout);
+        return defaultConnector;
+    }
+
+    /**
+     * Gets the custom thread pool or creates queued thread pool using thread pool settings on first access.
+     * @return
+     */
+    public ThreadPool getThreadPool() {
+        if (threadPool == null) {
+            threadPool = createThreadPool();
+        }
+
+        return threadPool;
+    }
+
+    /**
+     * Creates new queued thread pool using thread pool settings.
+     * @return
+     */
+    private ThreadPool createThreadPool() {
+        QueuedThreadPool queuedThreadPool;
+        if (maxQueuedRequests > 0) {
+            queuedThreadPool = new BoundedQueuedThreadPool(minThreads, maxThreads, maxQueuedRequests);
+        } else {
+            queuedThreadPool = new QueuedThreadPool();
+            queuedThreadPool.setMinThreads(minThreads);
+            queuedThreadPool.setMaxThreads(maxThreads);
+        }
+        queuedThreadPool.setMaxIdleTimeMs(threadIdleTimeout);
+
+        return queuedThreadPool;
+    }
+
+    /**
+     * Sets custom server thread pool.
+     * @param threadPool
+     */
+    public void setThreadPool(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * Gets the minimum number of server threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minimum number of server threads.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the maximum number of server threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maximum number of server threads.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the idle timeout of server threads.
+     * @return
+     */
+    public int getThreadIdleTimeout() {
+        return threadIdleTimeout;
+    }
+
+    /**
+     * Sets the idle timeout of server threads.
+     * @param threadIdleTimeout
+     */
+    public void setThreadIdleTimeout(int threadIdleTimeout) {
+        this.threadIdleTimeout = threadIdleTimeout;
+    }
+
+    /**
+     * Gets the maximum number of queued requests.
+     * @return
+     */
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    /**
+     * Sets the maximum number of queued requests.
+     * @param maxQueuedRequests
+     */
+    public void setMaxQueuedRequests(int maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    /**
+     * Gets the number of acceptors.
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the number of acceptors.
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the accept queue size.
+     * @return
+     */
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /**
+     * Sets the accept queue size.
+     * @param acceptQueueSize
+     */
+    public void setAcceptQueueSize(int acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    /**
+     * Gets the connection idle timeout.
+     * @return
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the connection idle timeout.
+     * @param idleTimeout
+     */
+    public void setIdleTimeout(int idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the request cache threshold.
+     * @return
+     */
+    public long getRequestCacheThreshold() {
+        return requestCacheThreshold;
+    }
+
+    /**
+     * Sets the request cache threshold.
+     * @param requestCacheThreshold
+     */
+    public void setRequestCacheThreshold(long requestCacheThreshold) {
+        this.requestCacheThreshold = requestCacheThreshold;
+    }
+
+    /**
+     * Gets the request streaming mode.
+     * @return
+     */
+    public boolean isStreamRequests() {
+        return streamRequests;
+    }
+
+    /**
+     * Sets the request streaming mode.
+     * @param streamRequests
+     */
+    public void setStreamRequests(boolean streamRequests) {
+        this.streamRequests = streamRequests;
+    }
+
     /**
      * Adds default Spring dispatcher servlet with servlet mapping.
      */
@@ -190,7 +419,11 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         filterMapping.setFilterName("request-caching-filter");
         filterMapping.setPathSpec("/*");
 
-        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
+        RequestCachingServletFilter requestCachingFilter = new RequestCachingServletFilter();
+        requestCachingFilter.setFileThreshold(requestCacheThreshold);
+        requestCachingFilter.setStreaming(streamRequests);
+
+        FilterHolder filterHolder = new FilterHolder(requestCachingFilter);
         filterHolder.setName("request-caching-filter");
         servletHandler.addFilter(filterHolder, filterMapping);
     }
@@ -16,55 +16,181 @@
 
 package com.consol.citrus.http.servlet;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
-import org.springframework.util.FileCopyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
 
 /**
- * Caching wrapper saves request body data to cache when read.
+ * Caching wrapper saves request body data to cache when read. Request bodies exceeding the
+ * file threshold are spilled to a temporary file instead of being held in memory. Callers must
+ * release the wrapper after request processing in order to close file streams and delete temporary files.
+ *
  * @author Christoph Deppisch
  */
 public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CachingHttpServletRequestWrapper.class);
+
     /** Cached request data initialized when first read from input stream */
     private byte[] body;
+
+    /** Temporary file holding request data exceeding file threshold */
+    private File bodyFile;
+
+    /** File streams opened on temporary file */
+    private final List<InputStream> fileStreams = new ArrayList<InputStream>();
+
+    /** Body size in bytes above which request data is spilled to temporary file, negative to always cache in memory */
+    private final long fileThreshold;
     
     /**
      * Default constructor using initial servlet request.
      * @param request
      */
     public CachingHttpServletRequestWrapper(HttpServletRequest request) {
+        this(request, -1L);
+    }
+
+    /**
+     * Constructor using initial servlet request and file threshold.
+     * @param request
+     * @param fileThreshold
+     */
+    public CachingHttpServletRequestWrapper(HttpServletRequest request, long fileThreshold) {
         super(request);
+        this.fileThreshold = fileThreshold;
     }
     
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (body == null) {
+        if (body == null && bodyFile == null) {
             if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
+                cacheBody(super.getInputStream());
             } else {
                 body = new byte[] {};
             }
         }
-        return new RequestCachingInputStream();
+
+        if (bodyFile != null) {
+            InputStream fileStream = new BufferedInputStream(new FileInputStream(bodyFile));
+            fileStreams.add(fileStream);
+            return new RequestCachingInputStream(fileStream);
+        } else {
+            return new RequestCachingInputStream(new ByteArrayInputStream(body));
+        }
+    }
+
+    /**
+     * Reads request data to memory. Switches to temporary file as soon as file threshold is exceeded.
+     * @param inputStream
+     * @throws IOException
+     */
+    private void cacheBody(InputStream inputStream) throws IOException {
+        if (fileThreshold < 0) {
+            body = StreamUtils.copyToByteArray(inputStream);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[StreamUtils.BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, bytesRead);
+
+            if (buffer.size() > fileThreshold) {
+                spillToFile(buffer, inputStream);
+                return;
+            }
+        }
+
+        body = buffer.toByteArray();
+    }
+
+    /**
+     * Writes already buffered data and remaining request data to temporary file.
+     * @param buffer
+     * @param inputStream
+     * @throws IOException
+     */
+    private void spillToFile(ByteArrayOutputStream buffer, InputStream inputStream) throws IOException {
+        bodyFile = File.createTempFile("citrus-http-request", ".tmp");
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(bodyFile));
+        try {
+            buffer.writeTo(out);
+            StreamUtils.copy(inputStream, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Releases cached request data, closes open file streams and deletes temporary file if any.
+     */
+    public void release() {
+        body = null;
+
+        for (InputStream fileStream : fileStreams) {
+            try {
+                fileStream.close();
+            } catch (IOException e) {
+                log.warn("Failed to close request body file stream", e);
+            }
+        }
+        fileStreams.clear();
+
+        if (bodyFile != null) {
+            if (!bodyFile.delete()) {
+                bodyFile.deleteOnExit();
+            }
+            bodyFile = null;
+        }
+    }
+
+    /**
+     * Gets the temporary file holding request data or null if data is cached in memory.
+     * @return
+     */
+    public File getBodyFile() {
+        return bodyFile;
     }
     
     /** Input stream uses cached request data */
-    private final class RequestCachingInputStream extends ServletInputStream {
-        private final ByteArrayInputStream is;
+    private static final class RequestCachingInputStream extends ServletInputStream {
+        private final InputStream is;
 
-        private RequestCachingInputStream() {
-            this.is = new ByteArrayInputStream(body);
+        private RequestCachingInputStream(InputStream is) {
+            this.is = is;
         }
 
         @Override
         public int read() throws IOException {
             return is.read();
         }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return is.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return is.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            is.close();
+        }
     }
     
-}
\ No newline at end of file
+}
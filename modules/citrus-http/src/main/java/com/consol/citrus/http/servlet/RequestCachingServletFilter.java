@@ -28,17 +28,70 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * usual servlet request implementation data can only be read once.
  * 
  * For logging and tracing reasons we introduce a servlet request wrapper caching 
- * the request data.
+ * the request data. Large request bodies above the file threshold are cached in temporary files.
+ * In streaming mode requests are passed through without caching so request data can only be read once. Streamed
+ * requests are marked with a request attribute so interceptors do not consume the request body.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
 public class RequestCachingServletFilter extends OncePerRequestFilter {
 
+    /** Request attribute marking requests passed through in streaming mode */
+    public static final String STREAMING_ATTRIBUTE = RequestCachingServletFilter.class.getName() + ".streaming";
+
+    /** Body size in bytes above which cached request data is spilled to temporary file, negative to always cache in memory */
+    private long fileThreshold = -1L;
+
+    /** Pass through request data without caching */
+    private boolean streaming = false;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
             FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(new CachingHttpServletRequestWrapper(request), response);
+        if (streaming) {
+            request.setAttribute(STREAMING_ATTRIBUTE, Boolean.TRUE);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CachingHttpServletRequestWrapper requestWrapper = new CachingHttpServletRequestWrapper(request, fileThreshold);
+        try {
+            filterChain.doFilter(requestWrapper, response);
+        } finally {
+            requestWrapper.release();
+        }
+    }
+
+    /**
+     * Gets the file threshold.
+     * @return
+     */
+    public long getFileThreshold() {
+        return fileThreshold;
+    }
+
+    /**
+     * Sets the file threshold.
+     * @param fileThreshold
+     */
+    public void setFileThreshold(long fileThreshold) {
+        this.fileThreshold = fileThreshold;
+    }
+
+    /**
+     * Gets the streaming mode.
+     * @return
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the streaming mode.
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
     }
-    
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.ErrorHandlingStrategy;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListeners;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.easymock.EasyMock;
+import org.springframework.http.*;
+import org.springframework.http.client.*;
+import org.springframework.util.concurrent.ListenableFutureTask;
+import org.springframework.web.client.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.easymock.EasyMock.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class AsyncHttpClientTest extends AbstractTestNGUnitTest {
+
+    private AsyncRestTemplate asyncRestTemplate = EasyMock.createMock(AsyncRestTemplate.class);
+
+    @Test
+    public void testAsyncHttpPostRequest() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        AsyncHttpClient httpClient = new AsyncHttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        final String responseBody = "<TestResponse><Message>Hello World!</Message></TestResponse>";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(asyncRestTemplate);
+        endpointConfiguration.setAsyncRestTemplate(asyncRestTemplate);
+        reset(asyncRestTemplate);
+
+        ListenableFutureTask<ResponseEntity<String>> response = new ListenableFutureTask<ResponseEntity<String>>(new Callable<ResponseEntity<String>>() {
+            @Override
+            public ResponseEntity<String> call() throws Exception {
+                return new ResponseEntity<String>(responseBody, HttpStatus.OK);
+            }
+        });
+
+        expect(asyncRestTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(response).once();
+
+        replay(asyncRestTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        response.run();
+
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(responseMessage.getPayload(), responseBody);
+        Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.OK);
+
+        verify(asyncRestTemplate);
+    }
+
+    @Test
+    public void testAsyncHttpRequestFailure() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        AsyncHttpClient httpClient = new AsyncHttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.THROWS_EXCEPTION);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(asyncRestTemplate);
+        endpointConfiguration.setAsyncRestTemplate(asyncRestTemplate);
+        reset(asyncRestTemplate);
+
+        ListenableFutureTask<ResponseEntity<String>> response = new ListenableFutureTask<ResponseEntity<String>>(new Callable<ResponseEntity<String>>() {
+            @Override
+            public ResponseEntity<String> call() throws Exception {
+                throw new HttpClientErrorException(HttpStatus.FORBIDDEN);
+            }
+        });
+
+        expect(asyncRestTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(response).once();
+
+        replay(asyncRestTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        response.run();
+
+        long start = System.currentTimeMillis();
+        try {
+            httpClient.receive(context, 5000L);
+            Assert.fail("Missing exception due to http error status code");
+        } catch (HttpClientErrorException e) {
+            Assert.assertEquals(e.getMessage(), "403 FORBIDDEN");
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        }
+
+        verify(asyncRestTemplate);
+    }
+
+    @Test
+    public void testAsyncHttpErrorResponsePropagated() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        AsyncHttpClient httpClient = new AsyncHttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.PROPAGATE);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(asyncRestTemplate);
+        endpointConfiguration.setAsyncRestTemplate(asyncRestTemplate);
+
+        ListenableFutureTask<ResponseEntity<String>> response = new ListenableFutureTask<ResponseEntity<String>>(new Callable<ResponseEntity<String>>() {
+            @Override
+            public ResponseEntity<String> call() throws Exception {
+                throw new HttpClientErrorException(HttpStatus.FORBIDDEN);
+            }
+        });
+
+        expect(asyncRestTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(response).once();
+
+        replay(asyncRestTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        response.run();
+
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 5000L);
+        Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.FORBIDDEN);
+
+        verify(asyncRestTemplate);
+    }
+
+    @Test
+    public void testDefaultAsyncRequestFactoryUsesClientInterceptors() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        ClientHttpRequestFactory requestFactory = EasyMock.createMock(ClientHttpRequestFactory.class);
+        ClientHttpRequest request = EasyMock.createMock(ClientHttpRequest.class);
+        ClientHttpRequestInterceptor interceptor = EasyMock.createMock(ClientHttpRequestInterceptor.class);
+        ClientHttpResponse response = EasyMock.createMock(ClientHttpResponse.class);
+
+        endpointConfiguration.setRequestFactory(requestFactory);
+        endpointConfiguration.setClientInterceptors(Collections.singletonList(interceptor));
+
+        reset(requestFactory, request, interceptor, response);
+
+        expect(interceptor.intercept(anyObject(HttpRequest.class), aryEq("Hello".getBytes()), anyObject(ClientHttpRequestExecution.class)))
+                .andReturn(response).once();
+
+        replay(requestFactory, request, interceptor, response);
+
+        AsyncClientHttpRequest asyncRequest = endpointConfiguration.getAsyncRequestFactory()
+                .createAsyncRequest(new URI("http://localhost:8088/test"), HttpMethod.POST);
+        asyncRequest.getBody().write("Hello".getBytes());
+
+        Assert.assertSame(asyncRequest.executeAsync().get(5000L, TimeUnit.MILLISECONDS), response);
+
+        endpointConfiguration.shutdownConnectionManager();
+
+        verify(requestFactory, request, interceptor, response);
+    }
+
+    @Test
+    public void testMessageListenersInformedOnce() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        AsyncHttpClient httpClient = new AsyncHttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        ClientHttpRequestFactory requestFactory = EasyMock.createMock(ClientHttpRequestFactory.class);
+        ClientHttpRequest request = EasyMock.createNiceMock(ClientHttpRequest.class);
+        ClientHttpResponse response = EasyMock.createNiceMock(ClientHttpResponse.class);
+        MessageListeners messageListeners = EasyMock.createMock(MessageListeners.class);
+
+        endpointConfiguration.setRequestFactory(requestFactory);
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        context.setMessageListeners(messageListeners);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(requestFactory, request, response, messageListeners);
+
+        expect(requestFactory.createRequest(new URI(requestUrl), HttpMethod.POST)).andReturn(request).once();
+        expect(request.getHeaders()).andReturn(new HttpHeaders()).anyTimes();
+        expect(request.getBody()).andReturn(new ByteArrayOutputStream()).anyTimes();
+        expect(request.execute()).andReturn(response).once();
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(MediaType.TEXT_PLAIN);
+        expect(response.getStatusCode()).andReturn(HttpStatus.OK).anyTimes();
+        expect(response.getRawStatusCode()).andReturn(HttpStatus.OK.value()).anyTimes();
+        expect(response.getStatusText()).andReturn("OK").anyTimes();
+        expect(response.getHeaders()).andReturn(responseHeaders).anyTimes();
+        expect(response.getBody()).andReturn(new ByteArrayInputStream("Hello".getBytes())).anyTimes();
+
+        expect(messageListeners.isEmpty()).andReturn(false).anyTimes();
+        messageListeners.onOutboundMessage(anyObject(Message.class), anyObject(TestContext.class));
+        expectLastCall().once();
+        messageListeners.onInboundMessage(anyObject(Message.class), anyObject(TestContext.class));
+        expectLastCall().once();
+
+        replay(requestFactory, request, response, messageListeners);
+
+        httpClient.send(requestMessage, context);
+
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 5000L);
+        Assert.assertEquals(responseMessage.getPayload(), "Hello");
+
+        endpointConfiguration.shutdownConnectionManager();
+
+        verify(requestFactory, request, response, messageListeners);
+    }
+}
@@ -23,8 +23,10 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.springframework.http.*;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.*;
 import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.List;
@@ -38,6 +40,11 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
     private RestTemplate restTemplate = EasyMock.createMock(RestTemplate.class);
 
+    @BeforeMethod
+    public void resetRestTemplate() {
+        reset(restTemplate);
+    }
+
     @Test
     public void testHttpPostRequest() {
         HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
@@ -57,8 +64,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -108,8 +113,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -161,8 +164,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -211,8 +212,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.GET), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -259,8 +258,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.GET), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -307,8 +304,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.PUT), anyObject(HttpEntity.class), eq(String.class)))
                 .andAnswer(new IAnswer<ResponseEntity<String>>() {
@@ -358,8 +353,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.GET), anyObject(HttpEntity.class), eq(String.class)))
                 .andReturn(new ResponseEntity<String>(responseBody, HttpStatus.OK)).once();
@@ -400,8 +393,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(endpointUriResolver.resolveEndpointUri(requestMessage, "http://localhost:8088/test")).andReturn("http://localhost:8081/new").once();
 
@@ -441,8 +432,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
                 .andReturn(new ResponseEntity<String>(responseBody, HttpStatus.FORBIDDEN)).once();
@@ -477,8 +466,6 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         restTemplate.setInterceptors(anyObject(List.class));
         expectLastCall().once();
-        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
-        expectLastCall().once();
 
         expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
                 .andThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN)).once();
@@ -495,4 +482,64 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
             verify(restTemplate);
         }
     }
+
+    @Test
+    public void testResponseErrorHandlerStrategy() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        ResponseErrorHandler errorHandler = endpointConfiguration.getRestTemplate().getErrorHandler();
+        Assert.assertEquals(errorHandler.getClass(), HttpResponseErrorHandler.class);
+
+        MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.FORBIDDEN);
+        Assert.assertFalse(errorHandler.hasError(response));
+
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.THROWS_EXCEPTION);
+        Assert.assertTrue(errorHandler.hasError(response));
+        Assert.assertSame(endpointConfiguration.getRestTemplate().getErrorHandler(), errorHandler);
+    }
+
+    @Test
+    public void testErrorResponsePropagateStrategyCustomErrorHandler() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.PROPAGATE);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN)).once();
+
+        replay(restTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 1000L);
+        Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.FORBIDDEN);
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testCustomRestTemplateKeepsErrorHandler() {
+        ResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+        RestTemplate customRestTemplate = new RestTemplate();
+        customRestTemplate.setErrorHandler(errorHandler);
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRestTemplate(customRestTemplate);
+
+        Assert.assertSame(endpointConfiguration.getRestTemplate().getErrorHandler(), errorHandler);
+        Assert.assertNull(endpointConfiguration.getConnectionManager());
+    }
 }
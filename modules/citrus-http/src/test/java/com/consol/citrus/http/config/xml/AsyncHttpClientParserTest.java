@@ -0,0 +1,57 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.config.xml;
+
+import com.consol.citrus.http.client.AsyncHttpClient;
+import com.consol.citrus.http.client.TaskExecutingAsyncClientHttpRequestFactory;
+import com.consol.citrus.message.ErrorHandlingStrategy;
+import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import org.springframework.http.HttpMethod;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class AsyncHttpClientParserTest extends AbstractBeanDefinitionParserTest {
+
+    @Test
+    public void testAsyncHttpClientParser() {
+        Map<String, AsyncHttpClient> clients = beanDefinitionContext.getBeansOfType(AsyncHttpClient.class);
+
+        Assert.assertEquals(clients.size(), 3);
+
+        // 1st client
+        AsyncHttpClient httpClient = clients.get("asyncHttpClient1");
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestUrl(), "http://localhost:8080/test");
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncRequestFactory().getClass(), TaskExecutingAsyncClientHttpRequestFactory.class);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
+
+        // 2nd client
+        httpClient = clients.get("asyncHttpClient2");
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncRequestFactory(), beanDefinitionContext.getBean("asyncRequestFactory"));
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.GET);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 10000L);
+
+        // 3rd client
+        httpClient = clients.get("asyncHttpClient3");
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncRestTemplate(), beanDefinitionContext.getBean("asyncRestTemplate"));
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getErrorHandlingStrategy(), ErrorHandlingStrategy.THROWS_EXCEPTION);
+    }
+}
@@ -49,6 +49,9 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 20);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getConnectionManager().getMaxTotal(), 100);
 
 
         // 2nd message sender
@@ -80,6 +83,11 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNotNull(httpClient.getEndpointConfiguration().getClientInterceptors());
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 200);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 50);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getIdleConnectionTimeout(), 10000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getKeepAliveTimeout(), 5000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getConnectionManager().getDefaultMaxPerRoute(), 50);
     }
 
     @Test
@@ -20,10 +20,12 @@ import com.consol.citrus.channel.ChannelEndpointAdapter;
 import com.consol.citrus.channel.ChannelEndpointConfiguration;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.endpoint.adapter.*;
+import com.consol.citrus.http.server.BoundedQueuedThreadPool;
 import com.consol.citrus.http.server.HttpServer;
 import com.consol.citrus.jms.endpoint.JmsEndpointAdapter;
 import com.consol.citrus.jms.endpoint.JmsEndpointConfiguration;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.context.ApplicationContext;
 import org.springframework.util.StringUtils;
 import org.testng.Assert;
@@ -59,6 +61,14 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
+        Assert.assertEquals(server.getMinThreads(), 8);
+        Assert.assertEquals(server.getMaxThreads(), 254);
+        Assert.assertEquals(server.getMaxQueuedRequests(), -1);
+        Assert.assertEquals(server.getAcceptors(), 0);
+        Assert.assertEquals(server.getRequestCacheThreshold(), -1L);
+        Assert.assertFalse(server.isStreamRequests());
+        Assert.assertEquals(server.getThreadPool().getClass(), QueuedThreadPool.class);
+        Assert.assertSame(server.getThreadPool(), server.getThreadPool());
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -75,6 +85,16 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/citrus");
         Assert.assertEquals(server.getServletName(), "citrus-http");
         Assert.assertEquals(server.getServletMappingPath(), "/foo");
+        Assert.assertEquals(server.getMinThreads(), 16);
+        Assert.assertEquals(server.getMaxThreads(), 128);
+        Assert.assertEquals(server.getThreadIdleTimeout(), 30000);
+        Assert.assertEquals(server.getMaxQueuedRequests(), 1000);
+        Assert.assertEquals(server.getAcceptors(), 2);
+        Assert.assertEquals(server.getAcceptQueueSize(), 512);
+        Assert.assertEquals(server.getIdleTimeout(), 10000);
+        Assert.assertEquals(server.getRequestCacheThreshold(), 1048576L);
+        Assert.assertEquals(server.getThreadPool().getClass(), BoundedQueuedThreadPool.class);
+        Assert.assertEquals(((QueuedThreadPool) server.getThreadPool()).getMaxThreads(), 128);
         
         // 3rd message sender
         server = servers.get("httpServer3");
@@ -88,6 +108,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer3-servlet");
+        Assert.assertEquals(server.getThreadPool(), beanDefinitionContext.getBean("threadPool"));
         
         // 4th message sender
         server = servers.get("httpServer4");
@@ -101,6 +122,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer4-servlet");
+        Assert.assertTrue(server.isStreamRequests());
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
         
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpMessageControllerTest {
+
+    private static final int CONCURRENT_REQUESTS = 4;
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_REQUESTS);
+        final HttpMessageController controller = new HttpMessageController();
+        controller.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new CitrusRuntimeException(e);
+                }
+
+                return new DefaultMessage("Reply:" + message.getPayload(String.class));
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                final String payload = "Hello" + i;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        MockHttpServletRequest servletRequest = new MockHttpServletRequest("POST", "/test");
+                        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+
+                        try {
+                            ResponseEntity<String> response = controller.handlePostRequest(new HttpEntity<String>(payload));
+
+                            Assert.assertEquals(response.getBody(), "Reply:" + payload);
+                            Assert.assertSame(controller.getResponseCache(), response);
+                            Assert.assertSame(HttpMessageController.getResponseCache(servletRequest), response);
+                            return true;
+                        } finally {
+                            RequestContextHolder.resetRequestAttributes();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertNull(controller.getResponseCache());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CachingHttpServletRequestWrapperTest {
+
+    private static final String PAYLOAD = "<TestMessage><Text>Hello Citrus!</Text></TestMessage>";
+
+    @Test
+    public void testCacheInMemory() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(PAYLOAD.getBytes());
+
+        CachingHttpServletRequestWrapper requestWrapper = new CachingHttpServletRequestWrapper(request, 1024L);
+
+        Assert.assertEquals(new String(FileCopyUtils.copyToByteArray(requestWrapper.getInputStream())), PAYLOAD);
+        Assert.assertEquals(new String(FileCopyUtils.copyToByteArray(requestWrapper.getInputStream())), PAYLOAD);
+        Assert.assertNull(requestWrapper.getBodyFile());
+    }
+
+    @Test
+    public void testSpillToFile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(PAYLOAD.getBytes());
+
+        CachingHttpServletRequestWrapper requestWrapper = new CachingHttpServletRequestWrapper(request, 10L);
+
+        Assert.assertEquals(new String(FileCopyUtils.copyToByteArray(requestWrapper.getInputStream())), PAYLOAD);
+        Assert.assertEquals(new String(FileCopyUtils.copyToByteArray(requestWrapper.getInputStream())), PAYLOAD);
+
+        File bodyFile = requestWrapper.getBodyFile();
+        Assert.assertNotNull(bodyFile);
+        Assert.assertTrue(bodyFile.exists());
+        Assert.assertEquals(bodyFile.length(), PAYLOAD.length());
+
+        requestWrapper.release();
+        Assert.assertFalse(bodyFile.exists());
+        Assert.assertNull(requestWrapper.getBodyFile());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import com.consol.citrus.http.interceptor.LoggingHandlerInterceptor;
+import com.consol.citrus.util.FileUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class RequestCachingServletFilterTest {
+
+    private static final String PAYLOAD = "<TestMessage><Text>Hello Citrus!</Text></TestMessage>";
+
+    private LoggingHandlerInterceptor loggingInterceptor = new LoggingHandlerInterceptor();
+
+    @Test
+    public void testCachedRequestBody() throws Exception {
+        RequestCachingServletFilter filter = new RequestCachingServletFilter();
+
+        Assert.assertEquals(doFilter(filter), PAYLOAD);
+    }
+
+    @Test
+    public void testSpilledRequestBody() throws Exception {
+        RequestCachingServletFilter filter = new RequestCachingServletFilter();
+        filter.setFileThreshold(10L);
+
+        Assert.assertEquals(doFilter(filter), PAYLOAD);
+    }
+
+    @Test
+    public void testStreamedRequestBody() throws Exception {
+        RequestCachingServletFilter filter = new RequestCachingServletFilter();
+        filter.setStreaming(true);
+
+        Assert.assertEquals(doFilter(filter), PAYLOAD);
+    }
+
+    /**
+     * Sends request with payload through filter. Filter chain invokes logging interceptor before
+     * reading the request body like the message controller does.
+     * @param filter
+     * @return the request body read after logging interceptor
+     */
+    private String doFilter(RequestCachingServletFilter filter) throws Exception {
+        MockHttpServletRequest request = new SingleReadHttpServletRequest();
+        request.setContent(PAYLOAD.getBytes());
+
+        final StringBuilder body = new StringBuilder();
+        filter.doFilter(request, new MockHttpServletResponse(), new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                try {
+                    loggingInterceptor.preHandle((HttpServletRequest) request, (HttpServletResponse) response, null);
+                } catch (Exception e) {
+                    throw new ServletException(e);
+                }
+
+                body.append(FileUtils.readToString(request.getInputStream()));
+            }
+        });
+
+        return body.toString();
+    }
+
+    /**
+     * Mock request returning same input stream on each call so request body can only be read once
+     * like with real servlet requests.
+     */
+    private static class SingleReadHttpServletRequest extends MockHttpServletRequest {
+        private ServletInputStream inputStream;
+
+        SingleReadHttpServletRequest() {
+            super("POST", "/test");
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (inputStream == null) {
+                inputStream = super.getInputStream();
+            }
+
+            return inputStream;
+        }
+    }
+}
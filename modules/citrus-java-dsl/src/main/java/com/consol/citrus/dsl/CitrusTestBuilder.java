@@ -18,6 +18,7 @@ package com.consol.citrus.dsl;
 
 import com.consol.citrus.*;
 import com.consol.citrus.actions.*;
+import com.consol.citrus.common.TestLoader;
 import com.consol.citrus.container.*;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.dsl.definition.*;
@@ -47,7 +48,7 @@ import java.util.*;
  * @author Christoph Deppisch
  * @since 1.3.1
  */
-public class CitrusTestBuilder implements TestBuilder, InitializingBean {
+public class CitrusTestBuilder implements TestBuilder, TestLoader, InitializingBean {
 
     /** This builders test case */
     private TestCase testCase;
@@ -663,6 +664,16 @@ public class CitrusTestBuilder implements TestBuilder, InitializingBean {
         return testCase;
     }
 
+    /**
+     * Provides the built test case so builders can be run by test loader based executions
+     * such as concurrent test suite runs.
+     * @return
+     */
+    @Override
+    public TestCase load() {
+        return getTestCase();
+    }
+
     /**
      * Get the test variables.
      *
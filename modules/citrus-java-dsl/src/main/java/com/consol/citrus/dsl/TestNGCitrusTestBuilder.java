@@ -51,63 +51,63 @@ public class TestNGCitrusTestBuilder extends AbstractTestNGCitrusTest implements
     /** Logger */
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
-    /** Test builder delegate */
-    private CitrusTestBuilder testBuilder;
+    /** Test builder delegate per thread as test methods may run in parallel */
+    private ThreadLocal<CitrusTestBuilder> testBuilder = new ThreadLocal<CitrusTestBuilder>();
 
     @Override
     public void run(final IHookCallBack callBack, ITestResult testResult) {
-        Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+        try {
+            Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
 
-        if (method != null && method.getAnnotation(CitrusTest.class) != null) {
-            CitrusTest citrusTestAnnotation = method.getAnnotation(CitrusTest.class);
+            if (method != null && method.getAnnotation(CitrusTest.class) != null) {
+                CitrusTest citrusTestAnnotation = method.getAnnotation(CitrusTest.class);
 
-            init();
+                init();
 
-            if (StringUtils.hasText(citrusTestAnnotation.name())) {
-                name(citrusTestAnnotation.name());
-            } else {
-                name(method.getName());
-            }
-
-            Object[][] parameters = null;
-            if (method.getAnnotation(Test.class) != null &&
-                    StringUtils.hasText(method.getAnnotation(Test.class).dataProvider())) {
-                parameters = (Object[][]) ReflectionUtils.invokeMethod(
-                        ReflectionUtils.findMethod(method.getDeclaringClass(), method.getAnnotation(Test.class).dataProvider()), this);
-            }
-
-            if (parameters != null) {
-                ReflectionUtils.invokeMethod(method, this,
-                        parameters[testResult.getMethod().getCurrentInvocationCount() % parameters.length]);
-            } else {
-                ReflectionUtils.invokeMethod(method, this);
-            }
-
-            try {
-                if (citrus == null) {
-                    citrus = Citrus.newInstance(applicationContext);
+                if (StringUtils.hasText(citrusTestAnnotation.name())) {
+                    name(citrusTestAnnotation.name());
+                } else {
+                    name(method.getName());
                 }
 
-                TestContext ctx = prepareTestContext(citrus.createTestContext());
-                TestCase testCase = testBuilder.getTestCase();
+                Object[][] parameters = null;
+                if (method.getAnnotation(Test.class) != null &&
+                        StringUtils.hasText(method.getAnnotation(Test.class).dataProvider())) {
+                    parameters = (Object[][]) ReflectionUtils.invokeMethod(
+                            ReflectionUtils.findMethod(method.getDeclaringClass(), method.getAnnotation(Test.class).dataProvider()), this);
+                }
 
                 if (parameters != null) {
-                    handleTestParameters(testResult.getMethod(), testCase,
+                    ReflectionUtils.invokeMethod(method, this,
                             parameters[testResult.getMethod().getCurrentInvocationCount() % parameters.length]);
+                } else {
+                    ReflectionUtils.invokeMethod(method, this);
                 }
 
-                citrus.run(testCase, ctx);
-            } catch (RuntimeException e) {
-                testResult.setThrowable(e);
-                testResult.setStatus(ITestResult.FAILURE);
-            } catch (Exception e) {
-                testResult.setThrowable(e);
-                testResult.setStatus(ITestResult.FAILURE);
-            }
+                try {
+                    TestContext ctx = prepareTestContext(getCitrus().createTestContext());
+                    TestCase testCase = testBuilder.get().getTestCase();
+
+                    if (parameters != null) {
+                        handleTestParameters(testResult.getMethod(), testCase,
+                                parameters[testResult.getMethod().getCurrentInvocationCount() % parameters.length]);
+                    }
+
+                    getCitrus().run(testCase, ctx);
+                } catch (RuntimeException e) {
+                    testResult.setThrowable(e);
+                    testResult.setStatus(ITestResult.FAILURE);
+                } catch (Exception e) {
+                    testResult.setThrowable(e);
+                    testResult.setStatus(ITestResult.FAILURE);
+                }
 
-            super.run(new FakeExecutionCallBack(callBack.getParameters()), testResult);
-        } else {
-            super.run(callBack, testResult);
+                super.run(new FakeExecutionCallBack(callBack.getParameters()), testResult);
+            } else {
+                super.run(callBack, testResult);
+            }
+        } finally {
+            testBuilder.remove();
         }
     }
 
@@ -115,7 +115,7 @@ public class TestNGCitrusTestBuilder extends AbstractTestNGCitrusTest implements
      * Initialize test case and variables. Must be done with each test run.
      */
     public void init() {
-        testBuilder = new CitrusTestBuilder(applicationContext);
+        testBuilder.set(new CitrusTestBuilder(applicationContext));
         name(this.getClass().getSimpleName());
         packageName(this.getClass().getPackage().getName());
     }
@@ -137,317 +137,317 @@ public class TestNGCitrusTestBuilder extends AbstractTestNGCitrusTest implements
 
     @Override
     public TestCase getTestCase() {
-        return testBuilder.getTestCase();
+        return testBuilder.get().getTestCase();
     }
 
     @Override
     public void name(String name) {
-        testBuilder.name(name);
+        testBuilder.get().name(name);
     }
 
     @Override
     public void description(String description) {
-        testBuilder.description(description);
+        testBuilder.get().description(description);
     }
 
     @Override
     public void author(String author) {
-        testBuilder.author(author);
+        testBuilder.get().author(author);
     }
 
     @Override
     public void packageName(String packageName) {
-        testBuilder.packageName(packageName);
+        testBuilder.get().packageName(packageName);
     }
 
     @Override
     public void status(TestCaseMetaInfo.Status status) {
-        testBuilder.status(status);
+        testBuilder.get().status(status);
     }
 
     @Override
     public void creationDate(Date date) {
-        testBuilder.creationDate(date);
+        testBuilder.get().creationDate(date);
     }
 
     @Override
     public void variable(String name, Object value) {
-        testBuilder.variable(name, value);
+        testBuilder.get().variable(name, value);
     }
 
     @Override
     public CreateVariablesActionDefinition variables() {
-        return testBuilder.variables();
+        return testBuilder.get().variables();
     }
 
     @Override
     public CreateVariablesAction setVariable(String variableName, String value) {
-        return testBuilder.setVariable(variableName, value);
+        return testBuilder.get().setVariable(variableName, value);
     }
 
     @Override
     public void action(TestAction testAction) {
-        testBuilder.action(testAction);
+        testBuilder.get().action(testAction);
     }
 
     @Override
     public void applyBehavior(TestBehavior behavior) {
-        testBuilder.applyBehavior(behavior);
+        testBuilder.get().applyBehavior(behavior);
     }
 
     @Override
     public AntRunActionDefinition antrun(String buildFilePath) {
-        return testBuilder.antrun(buildFilePath);
+        return testBuilder.get().antrun(buildFilePath);
     }
 
     @Override
     public EchoAction echo(String message) {
-        return testBuilder.echo(message);
+        return testBuilder.get().echo(message);
     }
 
     @Override
     public ExecutePLSQLActionDefinition plsql(DataSource dataSource) {
-        return testBuilder.plsql(dataSource);
+        return testBuilder.get().plsql(dataSource);
     }
 
     @Override
     public ExecuteSQLActionDefinition sql(DataSource dataSource) {
-        return testBuilder.sql(dataSource);
+        return testBuilder.get().sql(dataSource);
     }
 
     @Override
     public ExecuteSQLQueryActionDefinition query(DataSource dataSource) {
-        return testBuilder.query(dataSource);
+        return testBuilder.get().query(dataSource);
     }
 
     @Override
     public ReceiveTimeoutActionDefinition expectTimeout(Endpoint messageEndpoint) {
-        return testBuilder.expectTimeout(messageEndpoint);
+        return testBuilder.get().expectTimeout(messageEndpoint);
     }
 
     @Override
     public ReceiveTimeoutActionDefinition expectTimeout(String messageEndpointName) {
-        return testBuilder.expectTimeout(messageEndpointName);
+        return testBuilder.get().expectTimeout(messageEndpointName);
     }
 
     @Override
     public FailAction fail(String message) {
-        return testBuilder.fail(message);
+        return testBuilder.get().fail(message);
     }
 
     @Override
     public InputActionDefinition input() {
-        return testBuilder.input();
+        return testBuilder.get().input();
     }
 
     @Override
     public JavaActionDefinition java(String className) {
-        return testBuilder.java(className);
+        return testBuilder.get().java(className);
     }
 
     @Override
     public JavaActionDefinition java(Class<?> clazz) {
-        return testBuilder.java(clazz);
+        return testBuilder.get().java(clazz);
     }
 
     @Override
     public JavaActionDefinition java(Object instance) {
-        return testBuilder.java(instance);
+        return testBuilder.get().java(instance);
     }
 
     @Override
     public LoadPropertiesAction load(String filePath) {
-        return testBuilder.load(filePath);
+        return testBuilder.get().load(filePath);
     }
 
     @Override
     public PurgeJMSQueuesActionDefinition purgeQueues(ConnectionFactory connectionFactory) {
-        return testBuilder.purgeQueues(connectionFactory);
+        return testBuilder.get().purgeQueues(connectionFactory);
     }
 
     @Override
     public PurgeJMSQueuesActionDefinition purgeQueues() {
-        return testBuilder.purgeQueues();
+        return testBuilder.get().purgeQueues();
     }
 
     @Override
     public PurgeMessageChannelActionDefinition purgeChannels() {
-        return testBuilder.purgeChannels();
+        return testBuilder.get().purgeChannels();
     }
 
     @Override
     public ReceiveSoapMessageActionDefinition receive(WebServiceServer server) {
-        return testBuilder.receive(server);
+        return testBuilder.get().receive(server);
     }
 
     @Override
     public ReceiveMessageActionDefinition receive(Endpoint messageEndpoint) {
-        return testBuilder.receive(messageEndpoint);
+        return testBuilder.get().receive(messageEndpoint);
     }
 
     @Override
     public ReceiveMessageActionDefinition receive(String messageEndpointName) {
-        return testBuilder.receive(messageEndpointName);
+        return testBuilder.get().receive(messageEndpointName);
     }
 
     @Override
     public SendSoapMessageActionDefinition send(WebServiceClient client) {
-        return testBuilder.send(client);
+        return testBuilder.get().send(client);
     }
 
     @Override
     public SendMessageActionDefinition send(Endpoint messageEndpoint) {
-        return testBuilder.send(messageEndpoint);
+        return testBuilder.get().send(messageEndpoint);
     }
 
     @Override
     public SendMessageActionDefinition send(String messageEndpointName) {
-        return testBuilder.send(messageEndpointName);
+        return testBuilder.get().send(messageEndpointName);
     }
 
     @Override
     public SendSoapFaultActionDefinition sendSoapFault(String messageEndpointName) {
-        return testBuilder.sendSoapFault(messageEndpointName);
+        return testBuilder.get().sendSoapFault(messageEndpointName);
     }
 
     @Override
     public SendSoapFaultActionDefinition sendSoapFault(Endpoint messageEndpoint) {
-        return testBuilder.sendSoapFault(messageEndpoint);
+        return testBuilder.get().sendSoapFault(messageEndpoint);
     }
 
     @Override
     public SleepAction sleep() {
-        return testBuilder.sleep();
+        return testBuilder.get().sleep();
     }
 
     @Override
     public SleepAction sleep(long milliseconds) {
-        return testBuilder.sleep(milliseconds);
+        return testBuilder.get().sleep(milliseconds);
     }
 
     @Override
     public SleepAction sleep(double seconds) {
-        return testBuilder.sleep(seconds);
+        return testBuilder.get().sleep(seconds);
     }
 
     @Override
     public StartServerAction start(Server... servers) {
-        return testBuilder.start(servers);
+        return testBuilder.get().start(servers);
     }
 
     @Override
     public StartServerAction start(Server server) {
-        return testBuilder.start(server);
+        return testBuilder.get().start(server);
     }
 
     @Override
     public StopServerAction stop(Server... servers) {
-        return testBuilder.stop(servers);
+        return testBuilder.get().stop(servers);
     }
 
     @Override
     public StopServerAction stop(Server server) {
-        return testBuilder.stop(server);
+        return testBuilder.get().stop(server);
     }
 
     @Override
     public StopTimeAction stopTime() {
-        return testBuilder.stopTime();
+        return testBuilder.get().stopTime();
     }
 
     @Override
     public StopTimeAction stopTime(String id) {
-        return testBuilder.stopTime(id);
+        return testBuilder.get().stopTime(id);
     }
 
     @Override
     public TraceVariablesAction traceVariables() {
-        return testBuilder.traceVariables();
+        return testBuilder.get().traceVariables();
     }
 
     @Override
     public TraceVariablesAction traceVariables(String... variables) {
-        return testBuilder.traceVariables(variables);
+        return testBuilder.get().traceVariables(variables);
     }
 
     @Override
     public GroovyActionDefinition groovy(String script) {
-        return testBuilder.groovy(script);
+        return testBuilder.get().groovy(script);
     }
 
     @Override
     public GroovyActionDefinition groovy(Resource scriptResource) {
-        return testBuilder.groovy(scriptResource);
+        return testBuilder.get().groovy(scriptResource);
     }
 
     @Override
     public TransformActionDefinition transform() {
-        return testBuilder.transform();
+        return testBuilder.get().transform();
     }
 
     @Override
     public AssertDefinition assertException(TestAction testAction) {
-        return testBuilder.assertException(testAction);
+        return testBuilder.get().assertException(testAction);
     }
 
     @Override
     public Catch catchException(String exception, TestAction ... actions) {
-        return testBuilder.catchException(exception, actions);
+        return testBuilder.get().catchException(exception, actions);
     }
 
     @Override
     public Catch catchException(Class<? extends Throwable> exception, TestAction ... actions) {
-        return testBuilder.catchException(exception, actions);
+        return testBuilder.get().catchException(exception, actions);
     }
 
     @Override
     public Catch catchException(TestAction ... actions) {
-        return testBuilder.catchException(actions);
+        return testBuilder.get().catchException(actions);
     }
 
     @Override
     public AssertSoapFaultDefinition assertSoapFault(TestAction testAction) {
-        return testBuilder.assertSoapFault(testAction);
+        return testBuilder.get().assertSoapFault(testAction);
     }
 
     @Override
     public ConditionalDefinition conditional(TestAction ... actions) {
-        return testBuilder.conditional(actions);
+        return testBuilder.get().conditional(actions);
     }
 
     @Override
     public IterateDefinition iterate(TestAction ... actions) {
-        return testBuilder.iterate(actions);
+        return testBuilder.get().iterate(actions);
     }
 
     @Override
     public Parallel parallel(TestAction ... actions) {
-        return testBuilder.parallel(actions);
+        return testBuilder.get().parallel(actions);
     }
 
     @Override
     public RepeatOnErrorUntilTrueDefinition repeatOnError(TestAction... actions) {
-        return testBuilder.repeatOnError(actions);
+        return testBuilder.get().repeatOnError(actions);
     }
 
     @Override
     public RepeatUntilTrueDefinition repeat(TestAction... actions) {
-        return testBuilder.repeat(actions);
+        return testBuilder.get().repeat(actions);
     }
 
     @Override
     public Sequence sequential(TestAction ... actions) {
-        return testBuilder.sequential(actions);
+        return testBuilder.get().sequential(actions);
     }
 
     @Override
     public TemplateDefinition template(String name) {
-        return testBuilder.template(name);
+        return testBuilder.get().template(name);
     }
 
     @Override
     public void doFinally(TestAction ... actions) {
-        testBuilder.doFinally(actions);
+        testBuilder.get().doFinally(actions);
     }
 
     /**
@@ -455,7 +455,7 @@ public class TestNGCitrusTestBuilder extends AbstractTestNGCitrusTest implements
      * @return
      */
     protected Map<String, Object> getVariables() {
-        return testBuilder.getVariables();
+        return testBuilder.get().getVariables();
     }
 
 }
@@ -36,8 +36,9 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
  * many cases this action clears all messages from a destination regardless of
  * JMS broker vendor implementations.
  *
- * Consumer will continue to receive messages until message receive timeout is reached,
- * so no messages are left.
+ * Consumer drains all messages that are immediately available without waiting and acknowledges consumed
+ * messages in batches. Once the destination seems to be empty consumer waits for the receive timeout as grace period
+ * and stops on the first empty receive, so no messages are left.
  *  
  * @author Christoph Deppisch
  * @since 2007
@@ -56,8 +57,11 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     /** Time to wait until timeout in ms */
     private long receiveTimeout = 100;
     
-    /** Wait some time between message consumption in ms */
-    private long sleepTime = 350;
+    /** Wait some time between purged message batches in ms */
+    private long sleepTime = 0;
+
+    /** Number of messages acknowledged at once */
+    private int batchSize = 100;
 
     /**
      * Logger
@@ -136,24 +140,54 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
 
         MessageConsumer messageConsumer = session.createConsumer(destination);
         try {
+            int purged = 0;
             javax.jms.Message message;
+            // last consumed message, acknowledging it in client acknowledge mode acknowledges all messages consumed before
+            javax.jms.Message unacknowledged = null;
             do {
-                message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
-    
+                message = messageConsumer.receiveNoWait();
+
+                if (message == null) {
+                    // grace period for messages not yet delivered to this consumer
+                    message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
+                }
+
                 if (message != null) {
-                    log.debug("Removed message from queue " + destinationName);
-                    
-                    try {
-                        Thread.sleep(sleepTime);
-                    } catch (InterruptedException e) {
-                        log.warn("Interrupted during wait", e);
+                    unacknowledged = message;
+                    purged++;
+
+                    if (purged % batchSize == 0) {
+                        unacknowledged.acknowledge();
+                        unacknowledged = null;
+                        waitBetweenBatches();
                     }
                 }
             } while (message != null);
+
+            if (unacknowledged != null) {
+                unacknowledged.acknowledge();
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("Removed " + purged + " messages from queue " + destinationName);
+            }
         } finally {
             JmsUtils.closeMessageConsumer(messageConsumer);
         }
     }
+
+    /**
+     * Waits configured sleep time between purged message batches.
+     */
+    private void waitBetweenBatches() {
+        if (sleepTime > 0) {
+            try {
+                Thread.sleep(sleepTime);
+            } catch (InterruptedException e) {
+                log.warn("Interrupted during wait", e);
+            }
+        }
+    }
     
     /**
      * Resolves destination by given name.
@@ -179,16 +213,16 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     }
     
     /**
-     * Create queue session.
+     * Create queue session. Session uses client acknowledge mode so purged messages get acknowledged in batches.
      * @param connection
      * @return
      * @throws JMSException
      */
     protected Session createSession(Connection connection) throws JMSException {
         if (connection instanceof QueueConnection) {
-            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+            return ((QueueConnection) connection).createQueueSession(false, Session.CLIENT_ACKNOWLEDGE);
         }
-        return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        return connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
     }
 
     /**
@@ -255,7 +289,7 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     }
 
     /**
-     * Sets the sleepTime.
+     * Sets the sleepTime between purged message batches.
      * @param sleepTime the sleepTime to set
      */
     public void setSleepTime(long sleepTime) {
@@ -270,4 +304,24 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         return sleepTime;
     }
 
+    /**
+     * Sets the number of messages acknowledged at once. Must be at least one.
+     * @param batchSize the batchSize to set
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new CitrusRuntimeException("Invalid batch size for purging JMS queues: " + batchSize + " - must be at least 1");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the batchSize.
+     * @return the batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
 }
@@ -23,6 +23,7 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Endpoint adapter forwards incoming requests to jms destination and waits for response
@@ -32,7 +33,7 @@ import org.slf4j.LoggerFactory;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class JmsEndpointAdapter extends AbstractEndpointAdapter {
+public class JmsEndpointAdapter extends AbstractEndpointAdapter implements DisposableBean {
 
     /** Endpoint handling incoming requests */
     private JmsSyncEndpoint endpoint;
@@ -76,6 +77,14 @@ public class JmsEndpointAdapter extends AbstractEndpointAdapter {
         return replyMessage;
     }
 
+    /**
+     * Destroy method closing producer sessions and temporary reply destinations.
+     */
+    @Override
+    public void destroy() {
+        producer.destroy();
+    }
+
     @Override
     public Endpoint getEndpoint() {
         return endpoint;
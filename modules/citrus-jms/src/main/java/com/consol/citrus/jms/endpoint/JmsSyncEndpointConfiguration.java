@@ -39,7 +39,7 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration {
     /** Reply destination name */
     private String replyDestinationName;
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time between reply message lookups when waiting for synchronous reply, waiting stops early as soon as reply arrives */
     private long pollingInterval = 500;
 
     /**
@@ -31,19 +31,37 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.*;
 
 /**
+ * Synchronous JMS producer sends request and waits for reply message on reply destination. Each send operation borrows
+ * a reply channel with its own JMS session from a pool, so concurrent senders do not share sessions. Reply channels keep
+ * a long-lived temporary reply destination and consumer that are reused for all requests. Replies on temporary
+ * destinations are correlated to the request by JMSCorrelationID. Reply channels whose request timed out are closed
+ * instead of being reused, so late replies of timed out requests never reach later requests.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
 public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
     /** JMS connection */
-    private Connection connection = null;
+    private volatile Connection connection = null;
 
     /** JMS session */
     private Session session = null;
 
+    /** Maximum number of idle reply channels kept for reuse */
+    private static final int MAX_IDLE_REPLY_CHANNELS = 16;
+
+    /** Idle reply channels */
+    private final BlockingQueue<ReplyChannel> replyChannels = new LinkedBlockingQueue<ReplyChannel>(MAX_IDLE_REPLY_CHANNELS);
+
+    /** All open reply channels, idle or in use */
+    private final Set<ReplyChannel> openReplyChannels = Collections.newSetFromMap(new ConcurrentHashMap<ReplyChannel, Boolean>());
+
     /** Store of reply messages */
     private CorrelationManager<Message> replyManager = new DefaultCorrelationManager<Message>();
 
@@ -78,35 +96,41 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
-        MessageProducer messageProducer = null;
+        ReplyChannel replyChannel = null;
         MessageConsumer messageConsumer = null;
-        Destination replyToDestination = null;
+        boolean reusable = false;
 
         try {
             createConnection();
-            createSession(connection);
+            replyChannel = borrowReplyChannel();
+            Session session = replyChannel.session;
 
             javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration);
             endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration);
 
-            messageProducer = session.createProducer(getDefaultDestination(session));
+            if (replyChannel.producer == null) {
+                replyChannel.producer = session.createProducer(getDefaultDestination(session));
+            }
 
-            replyToDestination = getReplyDestination(session, message);
-            if (replyToDestination instanceof TemporaryQueue || replyToDestination instanceof TemporaryTopic) {
-                messageConsumer = session.createConsumer(replyToDestination);
+            Destination replyToDestination = getReplyDestination(session, message);
+            if (replyToDestination == null) {
+                replyToDestination = replyChannel.getTemporaryDestination();
             }
 
             jmsRequest.setJMSReplyTo(replyToDestination);
-            messageProducer.send(jmsRequest);
+            replyChannel.producer.send(jmsRequest);
 
-            if (messageConsumer == null) {
-                messageConsumer = createMessageConsumer(replyToDestination, jmsRequest.getJMSMessageID());
+            if (replyToDestination != replyChannel.temporaryDestination) {
+                messageConsumer = createMessageConsumer(session, replyToDestination, jmsRequest.getJMSMessageID());
             }
 
             log.info("Message was successfully sent to destination: '{}'", defaultDestinationName);
             log.info("Waiting for reply message on destination: '{}'", replyToDestination);
 
-            javax.jms.Message jmsReplyMessage = (endpointConfiguration.getTimeout() >= 0) ? messageConsumer.receive(endpointConfiguration.getTimeout()) : messageConsumer.receive();
+            javax.jms.Message jmsReplyMessage = receiveReply(messageConsumer != null ? messageConsumer : replyChannel.consumer, jmsRequest);
+
+            // temporary reply destination of timed out request may still get late reply so do not reuse it
+            reusable = jmsReplyMessage != null || messageConsumer != null;
 
             if (jmsReplyMessage == null) {
                 throw new ActionTimeoutException("Reply timed out after " +
@@ -121,14 +145,81 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
             onReplyMessage(correlationKey, responseMessage);
         } catch (JMSException e) {
+            reusable = false;
             throw new CitrusRuntimeException(e);
         } finally {
-            JmsUtils.closeMessageProducer(messageProducer);
             JmsUtils.closeMessageConsumer(messageConsumer);
-            deleteTemporaryDestination(replyToDestination);
+
+            if (replyChannel != null && !(reusable && replyChannels.offer(replyChannel))) {
+                replyChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Receives reply message for request. Skips reply messages carrying a correlation id that does not match
+     * the request. These are late replies to previous requests that timed out.
+     * @param messageConsumer
+     * @param jmsRequest
+     * @return the reply message or null on timeout.
+     * @throws JMSException
+     */
+    private javax.jms.Message receiveReply(MessageConsumer messageConsumer, javax.jms.Message jmsRequest) throws JMSException {
+        long timeout = endpointConfiguration.getTimeout();
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            javax.jms.Message jmsReplyMessage;
+            if (timeout >= 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+
+                jmsReplyMessage = messageConsumer.receive(remaining);
+            } else {
+                jmsReplyMessage = messageConsumer.receive();
+            }
+
+            if (jmsReplyMessage == null || isReplyTo(jmsReplyMessage, jmsRequest)) {
+                return jmsReplyMessage;
+            }
+
+            log.warn("Discarding reply message with unknown correlation id: '{}'", jmsReplyMessage.getJMSCorrelationID());
         }
     }
 
+    /**
+     * Checks if reply message correlates to request. Replies without correlation id are accepted.
+     * @param jmsReplyMessage
+     * @param jmsRequest
+     * @return
+     * @throws JMSException
+     */
+    private boolean isReplyTo(javax.jms.Message jmsReplyMessage, javax.jms.Message jmsRequest) throws JMSException {
+        String correlationId = jmsReplyMessage.getJMSCorrelationID();
+
+        return correlationId == null
+                || correlationId.equals(jmsRequest.getJMSMessageID())
+                || correlationId.equals(jmsRequest.getJMSCorrelationID());
+    }
+
+    /**
+     * Gets idle reply channel from pool or creates new reply channel with its own session.
+     * @return
+     * @throws JMSException
+     */
+    private ReplyChannel borrowReplyChannel() throws JMSException {
+        ReplyChannel replyChannel = replyChannels.poll();
+
+        if (replyChannel == null) {
+            replyChannel = new ReplyChannel(createReplyChannelSession(connection));
+            openReplyChannels.add(replyChannel);
+        }
+
+        return replyChannel;
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(context.getCorrelationKey(this), context);
@@ -156,10 +247,14 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
                 RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            if (replyManager instanceof BlockingCorrelationManager) {
+                ((BlockingCorrelationManager<Message>) replyManager).await(selector, timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
+            } else {
+                try {
+                    Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                }
             }
 
             message = findReplyMessage(selector);
@@ -177,7 +272,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * @return connection
      * @throws JMSException
      */
-    protected void createConnection() throws JMSException {
+    protected synchronized void createConnection() throws JMSException {
         if (connection == null) {
             if (!endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof QueueConnectionFactory) {
                 connection = ((QueueConnectionFactory) endpointConfiguration.getConnectionFactory()).createQueueConnection();
@@ -200,19 +295,31 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * @param connection to use for session creation.
      * @return session.
      * @throws JMSException
+     * @deprecated send operations use pooled reply channel sessions created with {@link #createReplyChannelSession(Connection)}
      */
+    @Deprecated
     protected void createSession(Connection connection) throws JMSException {
         if (session == null) {
-            if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
-                session = ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
-                session = ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else {
-                log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
-                        " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+            session = createReplyChannelSession(connection);
+        }
+    }
 
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            }
+    /**
+     * Create new JMS session for a reply channel.
+     * @param connection to use for session creation.
+     * @return session.
+     * @throws JMSException
+     */
+    protected Session createReplyChannelSession(Connection connection) throws JMSException {
+        if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
+            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
+            return ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else {
+            log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
+                    " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+
+            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
         }
     }
 
@@ -220,12 +327,13 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Creates a message consumer on temporary/durable queue or topic. Durable queue/topic destinations
      * require a message selector to be set.
      *
+     * @param session the JMS session.
      * @param replyToDestination the reply destination.
      * @param messageId the messageId used for optional message selector.
      * @return
      * @throws JMSException
      */
-    private MessageConsumer createMessageConsumer(Destination replyToDestination, String messageId) throws JMSException {
+    private MessageConsumer createMessageConsumer(Session session, Destination replyToDestination, String messageId) throws JMSException {
         MessageConsumer messageConsumer;
 
         if (replyToDestination instanceof Queue) {
@@ -240,26 +348,8 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     }
 
     /**
-     * Delete temporary destinations.
-     * @param destination
-     */
-    private void deleteTemporaryDestination(Destination destination) {
-        log.debug("Delete temporary destination: '{}'", destination);
-
-        try {
-            if (destination instanceof TemporaryQueue) {
-                ((TemporaryQueue) destination).delete();
-            } else if (destination instanceof TemporaryTopic) {
-                ((TemporaryTopic) destination).delete();
-            }
-        } catch (JMSException e) {
-            log.error("Error while deleting temporary destination '" + destination + "'", e);
-        }
-    }
-
-    /**
-     * Retrieve the reply destination either by injected instance, destination name or
-     * by creating a new temporary destination.
+     * Retrieve the reply destination either by injected instance or destination name. Returns null
+     * in case temporary reply destination should be used.
      *
      * @param session current JMS session
      * @param message holding possible reply destination in header.
@@ -279,11 +369,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
             return resolveDestinationName(endpointConfiguration.getReplyDestinationName(), session);
         }
 
-        if (endpointConfiguration.isPubSubDomain() && session instanceof TopicSession){
-            return session.createTemporaryTopic();
-        } else {
-            return session.createTemporaryQueue();
-        }
+        return null;
     }
 
     /**
@@ -331,13 +417,81 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     }
 
     /**
-     * Destroy method closing JMS session and connection
+     * Destroy method closing JMS sessions, temporary reply destinations and connection. Reply channels
+     * currently in use are closed too.
      */
     public void destroy() {
+        replyChannels.clear();
+        for (ReplyChannel replyChannel : openReplyChannels) {
+            replyChannel.close();
+        }
+
         JmsUtils.closeSession(session);
 
         if (connection != null) {
             ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getConnectionFactory(), true);
         }
     }
+
+    /**
+     * Reply channel holds JMS session used by a single send operation at a time together with the producer on default
+     * destination and the temporary reply destination and its consumer which are created on first use.
+     */
+    private final class ReplyChannel {
+        private final Session session;
+        private MessageProducer producer;
+        private Destination temporaryDestination;
+        private MessageConsumer consumer;
+
+        private ReplyChannel(Session session) {
+            this.session = session;
+        }
+
+        /**
+         * Gets temporary reply destination, creates temporary destination and consumer on first access.
+         * @return
+         * @throws JMSException
+         */
+        private Destination getTemporaryDestination() throws JMSException {
+            if (temporaryDestination == null) {
+                if (endpointConfiguration.isPubSubDomain() && session instanceof TopicSession) {
+                    temporaryDestination = session.createTemporaryTopic();
+                } else {
+                    temporaryDestination = session.createTemporaryQueue();
+                }
+
+                consumer = session.createConsumer(temporaryDestination);
+            }
+
+            return temporaryDestination;
+        }
+
+        /**
+         * Closes producer, consumer and session and deletes temporary destination.
+         */
+        private void close() {
+            if (!openReplyChannels.remove(this)) {
+                return;
+            }
+
+            JmsUtils.closeMessageProducer(producer);
+            JmsUtils.closeMessageConsumer(consumer);
+
+            if (temporaryDestination != null) {
+                log.debug("Delete temporary destination: '{}'", temporaryDestination);
+
+                try {
+                    if (temporaryDestination instanceof TemporaryQueue) {
+                        ((TemporaryQueue) temporaryDestination).delete();
+                    } else if (temporaryDestination instanceof TemporaryTopic) {
+                        ((TemporaryTopic) temporaryDestination).delete();
+                    }
+                } catch (JMSException e) {
+                    log.error("Error while deleting temporary destination '" + temporaryDestination + "'", e);
+                }
+            }
+
+            JmsUtils.closeSession(session);
+        }
+    }
 }
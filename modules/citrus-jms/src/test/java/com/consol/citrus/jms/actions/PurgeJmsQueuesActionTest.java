@@ -16,9 +16,11 @@
 
 package com.consol.citrus.jms.actions;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.jms.endpoint.TextMessageImpl;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.easymock.EasyMock;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.jms.*;
@@ -62,7 +64,8 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         expect(session.createQueue("myQueue")).andReturn(queue).once();
         
         expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
-        expect(messageConsumer.receive(100L)).andReturn(jmsRequest).times(2).andReturn(null);
+        expect(messageConsumer.receiveNoWait()).andReturn(jmsRequest).times(2).andReturn(null);
+        expect(messageConsumer.receive(100L)).andReturn(null).once();
         
         replay(connectionFactory, connection, session, messageConsumer);
         
@@ -70,6 +73,101 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         
         verify(connectionFactory, connection, session, messageConsumer);
     }
+
+    @Test
+    public void testPurgeAcknowledgeInBatches() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+        purgeQueuesAction.setBatchSize(2);
+
+        List<String> queueNames = new ArrayList<String>();
+        queueNames.add("myQueue");
+        purgeQueuesAction.setQueueNames(queueNames);
+
+        Message jmsMessage = EasyMock.createMock(Message.class);
+
+        reset(connectionFactory, connection, session, messageConsumer, jmsMessage);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+
+        expect(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).andReturn(session).once();
+
+        expect(session.createQueue("myQueue")).andReturn(queue).once();
+
+        expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receiveNoWait()).andReturn(jmsMessage).times(2).andReturn(null).times(2);
+        expect(messageConsumer.receive(100L)).andReturn(jmsMessage).once().andReturn(null).once();
+
+        jmsMessage.acknowledge();
+        expectLastCall().times(2);
+
+        replay(connectionFactory, connection, session, messageConsumer, jmsMessage);
+
+        purgeQueuesAction.execute(context);
+
+        verify(connectionFactory, connection, session, messageConsumer, jmsMessage);
+    }
+
+    @Test
+    public void testPurgeAcknowledgeFinalPartialBatch() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+        purgeQueuesAction.setBatchSize(3);
+
+        List<String> queueNames = new ArrayList<String>();
+        queueNames.add("myQueue");
+        purgeQueuesAction.setQueueNames(queueNames);
+
+        Message[] jmsMessages = new Message[5];
+        for (int i = 0; i < jmsMessages.length; i++) {
+            jmsMessages[i] = EasyMock.createMock(Message.class);
+        }
+
+        reset(connectionFactory, connection, session, messageConsumer);
+        reset((Object[]) jmsMessages);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+
+        expect(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).andReturn(session).once();
+
+        expect(session.createQueue("myQueue")).andReturn(queue).once();
+
+        expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receiveNoWait()).andReturn(jmsMessages[0]).andReturn(jmsMessages[1]).andReturn(jmsMessages[2])
+                .andReturn(jmsMessages[3]).andReturn(jmsMessages[4]).andReturn(null);
+        expect(messageConsumer.receive(100L)).andReturn(null).once();
+
+        // last message of full batch and last message of final partial batch get acknowledged
+        jmsMessages[2].acknowledge();
+        expectLastCall().once();
+        jmsMessages[4].acknowledge();
+        expectLastCall().once();
+
+        replay(connectionFactory, connection, session, messageConsumer);
+        replay((Object[]) jmsMessages);
+
+        purgeQueuesAction.execute(context);
+
+        verify(connectionFactory, connection, session, messageConsumer);
+        verify((Object[]) jmsMessages);
+    }
+
+    @Test
+    public void testDefaultSettings() {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+
+        Assert.assertEquals(purgeQueuesAction.getSleepTime(), 0L);
+        Assert.assertEquals(purgeQueuesAction.getBatchSize(), 100);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testInvalidBatchSize() {
+        new PurgeJmsQueuesAction().setBatchSize(0);
+    }
     
 	@Test
 	public void testPurgeWithQueueNamesNoMessages() throws JMSException {
@@ -91,6 +189,7 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         expect(session.createQueue("myQueue")).andReturn(queue).once();
         
         expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receiveNoWait()).andReturn(null).once();
         expect(messageConsumer.receive(100L)).andReturn(null).once();
         
         replay(connectionFactory, connection, session, messageConsumer);
@@ -124,6 +223,7 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         expect(session.createQueue("someQueue")).andReturn(queue).once();
         
         expect(session.createConsumer(queue)).andReturn(messageConsumer).times(3);
+        expect(messageConsumer.receiveNoWait()).andReturn(null).times(3);
         expect(messageConsumer.receive(100L)).andReturn(null).times(3);
         
         replay(connectionFactory, connection, session, messageConsumer);
@@ -154,6 +254,7 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         
         expect(queue.getQueueName()).andReturn("myQueue").times(3);
         expect(session.createConsumer(queue)).andReturn(messageConsumer).times(3);
+        expect(messageConsumer.receiveNoWait()).andReturn(null).times(3);
         expect(messageConsumer.receive(100L)).andReturn(null).times(3);
         
         replay(connectionFactory, connection, session, messageConsumer, queue);
@@ -184,6 +285,7 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         expect(session.createQueue("myQueue")).andReturn(queue).once();
         
         expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receiveNoWait()).andReturn(null).once();
         expect(messageConsumer.receive(500L)).andReturn(null).once();
         
         replay(connectionFactory, connection, session, messageConsumer);
@@ -62,7 +62,7 @@ public class JmsEndpointAdapterTest extends AbstractTestNGUnitTest {
     }
 
     @Test
-    public void testEndpointAdapter() throws JMSException {
+    public void testEndpointAdapter() throws Exception {
         TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>());
 
         reset(connectionFactory, connection, session, messageConsumer, messageProducer, tempReplyQueue);
@@ -94,11 +94,12 @@ public class JmsEndpointAdapterTest extends AbstractTestNGUnitTest {
         Assert.assertNotNull(response);
         Assert.assertEquals(response.getPayload().toString(), "<TestResponse>Hello World!</TestResponse>");
 
+        endpointAdapter.destroy();
         verify(connectionFactory, connection, session, messageConsumer, messageProducer, tempReplyQueue);
     }
 
     @Test
-    public void testNoResponse() throws JMSException {
+    public void testNoResponse() throws Exception {
         reset(connectionFactory, connection, session, messageConsumer, messageProducer, tempReplyQueue);
 
         expect(connectionFactory.createConnection()).andReturn(connection).once();
@@ -126,6 +127,7 @@ public class JmsEndpointAdapterTest extends AbstractTestNGUnitTest {
 
         Assert.assertNull(endpointAdapter.handleMessage(new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>")));
 
+        endpointAdapter.destroy();
         verify(connectionFactory, connection, session, messageConsumer, messageProducer, tempReplyQueue);
     }
 
@@ -163,11 +163,115 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         
         replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
 
-        endpoint.createProducer().send(message, context);
+        JmsSyncProducer jmsSyncProducer = (JmsSyncProducer) endpoint.createProducer();
+        jmsSyncProducer.send(message, context);
+        jmsSyncProducer.destroy();
         
         verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
     }
 
+    @Test
+    public void testReuseTemporaryReplyDestination() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        Map<String, Object> responseHeaders = new HashMap<String, Object>();
+        TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", responseHeaders);
+
+        TextMessage lateResponse = createMock(TextMessage.class);
+        TextMessage jmsRequest = createNiceMock(TextMessage.class);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, lateResponse, jmsRequest);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).once();
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(jmsRequest).times(2);
+        jmsRequest.setJMSReplyTo(tempReplyQueue);
+        expectLastCall().times(2);
+        expect(jmsRequest.getJMSMessageID()).andReturn("123456789").anyTimes();
+        expect(jmsRequest.getJMSCorrelationID()).andReturn(null).anyTimes();
+
+        expect(lateResponse.getJMSCorrelationID()).andReturn("987654321").anyTimes();
+
+        messageProducer.send(jmsRequest);
+        expectLastCall().times(2);
+        expect(messageConsumer.receive(anyLong())).andReturn(jmsResponse).once().andReturn(lateResponse).once().andReturn(jmsResponse).once();
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, lateResponse, jmsRequest);
+
+        JmsSyncProducer jmsSyncProducer = (JmsSyncProducer) endpoint.createProducer();
+        jmsSyncProducer.send(message, context);
+        jmsSyncProducer.send(message, context);
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue, lateResponse, jmsRequest);
+    }
+
+    @Test
+    public void testDiscardTemporaryReplyDestinationAfterTimeout() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setTimeout(100L);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        Map<String, Object> responseHeaders = new HashMap<String, Object>();
+        TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", responseHeaders);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).times(2);
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).times(2);
+        expect(session.createProducer(destination)).andReturn(messageProducer).times(2);
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(2);
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().times(2);
+
+        expect(messageConsumer.receive(anyLong())).andReturn(null).once().andReturn(jmsResponse).once();
+
+        messageConsumer.close();
+        expectLastCall().once();
+        messageProducer.close();
+        expectLastCall().once();
+        session.close();
+        expectLastCall().once();
+        tempReplyQueue.delete();
+        expectLastCall().once();
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        JmsSyncProducer jmsSyncProducer = (JmsSyncProducer) endpoint.createProducer();
+        try {
+            jmsSyncProducer.send(message, context);
+            Assert.fail("Missing action timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Reply timed out after 100ms"));
+        }
+
+        jmsSyncProducer.send(message, context);
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
     @Test
     @SuppressWarnings("rawtypes")
     public void testSendMessageWithReplyHandler() throws JMSException {
@@ -412,4 +516,32 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
             Assert.assertEquals(retryCount, 1);
         }
     }
+
+    @Test
+    public void testReplyMessageArrivesWhileWaiting() {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setPollingInterval(10000L);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final JmsSyncProducer jmsSyncProducer = (JmsSyncProducer)endpoint.createProducer();
+        context.saveCorrelationKey(jmsSyncProducer.toString(), jmsSyncProducer);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                jmsSyncProducer.onReplyMessage(jmsSyncProducer.toString(), message);
+            }
+        }).start();
+
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(jmsSyncProducer.receive(context, 20000L), message);
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000L);
+    }
 }
@@ -26,33 +26,44 @@ import com.consol.citrus.ssh.SshResponse;
 import com.jcraft.jsch.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.util.Map;
+import java.util.concurrent.*;
 
 /**
- * Ssh client connects to ssh server and sends commands to that server.
+ * Ssh client connects to ssh server and sends commands to that server. Authenticated sessions are pooled
+ * per remote user and reused for subsequent commands, each command is executed on a new exec channel of a
+ * pooled session.
  *
  * @author Roland Huss, Christoph Deppisch
  * @since 1.4
  */
-public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
 
     public static final String CLASSPATH_PREFIX = "classpath:";
 
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SshClient.class);
+
     /** Store of reply messages */
     private CorrelationManager<Message> replyManager = new DefaultCorrelationManager<Message>();
 
     /** Retry logger */
     private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.MessageRetryLogger");
 
-    // Session for the SSH communication
-    private Session session;
+    // Idle sessions for the SSH communication by remote user
+    private final Map<String, ConcurrentLinkedQueue<Session>> sessions = new ConcurrentHashMap<String, ConcurrentLinkedQueue<Session>>();
 
     // SSH implementation
     private JSch jsch = new JSch();
 
+    // Private key identity already added to SSH implementation
+    private boolean identityAdded = false;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -92,27 +103,39 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
 
         String rUser = getRemoteUser(message);
-        connect(rUser);
-        ChannelExec channelExec = null;
+        Session session = getIdleSession(rUser);
         ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        ByteArrayOutputStream errStream = new ByteArrayOutputStream();
+        ChannelCloseAwareOutputStream errStream = null;
         int rc = 0;
         try {
-            channelExec = openChannelExec();
-            channelExec.setErrStream(errStream);
-            channelExec.setOutputStream(outStream);
-            channelExec.setCommand(request.getCommand());
-            doConnect(channelExec);
+            if (session != null) {
+                try {
+                    errStream = openChannelExec(session, request.getCommand(), outStream);
+                } catch (CitrusRuntimeException e) {
+                    log.warn("Pooled SSH session is not usable any more - retrying with new session: " + e.getMessage());
+                    session.disconnect();
+                    session = null;
+                }
+            }
+
+            if (session == null) {
+                session = connect(rUser);
+                errStream = openChannelExec(session, request.getCommand(), outStream);
+            }
+
             if (request.getStdin() != null) {
-                sendStandardInput(channelExec, request.getStdin());
+                sendStandardInput(errStream.getChannel(), request.getStdin());
             }
-            waitCommandToFinish(channelExec);
-            rc = channelExec.getExitStatus();
+            waitCommandToFinish(errStream);
+            rc = errStream.getChannel().getExitStatus();
         } finally {
-            if (channelExec != null && channelExec.isConnected()) {
-                channelExec.disconnect();
+            if (errStream != null && errStream.getChannel().isConnected()) {
+                errStream.getChannel().disconnect();
+            }
+
+            if (session != null) {
+                release(rUser, session);
             }
-            disconnect();
         }
         SshResponse sshResp = new SshResponse(outStream.toString(),errStream.toString(),rc);
         Message response = new DefaultMessage(getEndpointConfiguration().getXmlMapper().toXML(sshResp))
@@ -147,10 +170,14 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
                 RETRY_LOG.debug("Reply message did not arrive yet - retrying in " + (timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            if (replyManager instanceof BlockingCorrelationManager) {
+                ((BlockingCorrelationManager<Message>) replyManager).await(selector, timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+            } else {
+                try {
+                    Thread.sleep(timeLeft > 0 ? getEndpointConfiguration().getPollingInterval() : getEndpointConfiguration().getPollingInterval() + timeLeft);
+                } catch (InterruptedException e) {
+                    RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                }
             }
 
             message = findReplyMessage(selector);
@@ -187,60 +214,145 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return this;
     }
 
-    private void connect(String rUser) {
-        if (session == null || !session.isConnected()) {
-            try {
-                if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
-                    jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
+    /**
+     * Gets idle connected session for remote user from pool.
+     * @param rUser
+     * @return the idle session or null if no connected session is available.
+     */
+    private Session getIdleSession(String rUser) {
+        ConcurrentLinkedQueue<Session> idleSessions = sessions.get(rUser);
+        if (idleSessions != null) {
+            Session session;
+            while ((session = idleSessions.poll()) != null) {
+                if (session.isConnected()) {
+                    return session;
                 }
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
             }
-            try {
-                session = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
-                if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
-                    session.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
-                    session.setPassword(getEndpointConfiguration().getPassword());
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates and connects new session for remote user.
+     * @param rUser
+     * @return
+     */
+    private Session connect(String rUser) {
+        addIdentity();
+
+        try {
+            Session session = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
+            if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
+                session.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
+                session.setPassword(getEndpointConfiguration().getPassword());
+            }
+            session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
+            session.connect();
+            return session;
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
+        }
+    }
+
+    /**
+     * Adds private key identity to JSch once as identities are kept for all subsequent sessions.
+     */
+    private synchronized void addIdentity() {
+        if (identityAdded) {
+            return;
+        }
+
+        try {
+            if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
+                jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
+            }
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+        }
+
+        identityAdded = true;
+    }
+
+    /**
+     * Returns session to pool of idle sessions for remote user if still connected.
+     * @param rUser
+     * @param session
+     */
+    private void release(String rUser, Session session) {
+        if (!session.isConnected()) {
+            return;
+        }
+
+        ConcurrentLinkedQueue<Session> idleSessions = sessions.get(rUser);
+        if (idleSessions == null) {
+            synchronized (sessions) {
+                idleSessions = sessions.get(rUser);
+                if (idleSessions == null) {
+                    idleSessions = new ConcurrentLinkedQueue<Session>();
+                    sessions.put(rUser, idleSessions);
                 }
-                session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
-                session.connect();
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
             }
         }
+
+        idleSessions.offer(session);
     }
 
-    private void disconnect() {
-        if (session.isConnected()) {
-            session.disconnect();
+    /**
+     * Disconnects all idle sessions.
+     */
+    @Override
+    public void destroy() {
+        for (ConcurrentLinkedQueue<Session> idleSessions : sessions.values()) {
+            Session session;
+            while ((session = idleSessions.poll()) != null) {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            }
         }
     }
 
-    private ChannelExec openChannelExec() throws CitrusRuntimeException {
+    /**
+     * Opens and connects new exec channel on session for given command.
+     * @param session
+     * @param command
+     * @param outStream
+     * @return error stream of connected channel awaiting channel close.
+     */
+    private ChannelCloseAwareOutputStream openChannelExec(Session session, String command, OutputStream outStream) throws CitrusRuntimeException {
         ChannelExec channelExec;
         try {
             channelExec = (ChannelExec) session.openChannel("exec");
         } catch (JSchException e) {
             throw new CitrusRuntimeException("Cannot open EXEC SSH channel: " + e,e);
         }
-        return channelExec;
-    }
 
-    private void waitCommandToFinish(ChannelExec pCh) {
-        final long until = System.currentTimeMillis() + getEndpointConfiguration().getCommandTimeout();
+        ChannelCloseAwareOutputStream errStream = new ChannelCloseAwareOutputStream(channelExec);
+        channelExec.setErrStream(errStream);
+        channelExec.setOutputStream(outStream);
+        channelExec.setCommand(command);
 
         try {
-            while (!pCh.isClosed() && System.currentTimeMillis() < until) {
-                Thread.sleep(250);
-            }
-        } catch (InterruptedException e) {
-            throw new RuntimeException("Interrupted", e);
+            doConnect(channelExec);
+        } catch (CitrusRuntimeException e) {
+            channelExec.disconnect();
+            throw e;
         }
 
-        if (!pCh.isClosed()) {
-            throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
+        return errStream;
+    }
+
+    private void waitCommandToFinish(ChannelCloseAwareOutputStream pOut) {
+        try {
+            if (!pOut.awaitChannelClosed(getEndpointConfiguration().getCommandTimeout()) && !pOut.getChannel().isClosed()) {
+                throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for SSH command to finish", e);
         }
     }
 
@@ -327,6 +439,34 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    // Standard output is closed by JSch as soon as channel reaches end of file, error stream is closed
+    // only when channel is closed which signals command completion with exit status available
+    private static class ChannelCloseAwareOutputStream extends ByteArrayOutputStream {
+        private final ChannelExec channel;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        public ChannelCloseAwareOutputStream(ChannelExec pChannel) {
+            channel = pChannel;
+        }
+
+        public ChannelExec getChannel() {
+            return channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+
+            if (channel.isClosed()) {
+                closed.countDown();
+            }
+        }
+
+        public boolean awaitChannelClosed(long pTimeout) throws InterruptedException {
+            return closed.await(pTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
     // UserInfo which simply returns a plain password
     private static class UserInfoWithPlainPassword implements UserInfo {
         private String password;
@@ -371,8 +511,9 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
      * Sets the JSch implementation.
      * @param jsch
      */
-    public void setJsch(JSch jsch) {
+    public synchronized void setJsch(JSch jsch) {
         this.jsch = jsch;
+        this.identityAdded = false;
     }
 
 }
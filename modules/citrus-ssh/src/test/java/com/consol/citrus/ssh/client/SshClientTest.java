@@ -23,6 +23,8 @@ import com.consol.citrus.ssh.SshRequest;
 import com.consol.citrus.ssh.XmlMapper;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.jcraft.jsch.*;
+import org.easymock.Capture;
+import org.easymock.IAnswer;
 import org.easymock.IArgumentMatcher;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.annotations.BeforeMethod;
@@ -165,6 +167,30 @@ public class SshClientTest extends AbstractTestNGUnitTest {
         standardChannelPrepAndSend();
     }
 
+    @Test
+    public void reuseSession() throws JSchException, IOException {
+        strictHostChecking(false, null);
+        session.connect();
+        prepareChannel(COMMAND, 0);
+        prepareChannel(COMMAND, 0);
+        disconnect();
+        disconnect();
+        expect(session.isConnected()).andReturn(true);
+        replay(jsch, session, channel);
+
+        send();
+        send();
+        verify(jsch, session);
+
+        reset(session);
+        expect(session.isConnected()).andReturn(true);
+        session.disconnect();
+        replay(session);
+
+        client.destroy();
+        verify(session);
+    }
+
     private void send() {
         client.send(createMessage(COMMAND, STDIN), context);
     }
@@ -172,19 +198,25 @@ public class SshClientTest extends AbstractTestNGUnitTest {
     private void disconnect() throws JSchException {
         channel.disconnect();
         expect(session.isConnected()).andReturn(true);
-        session.disconnect();
         expect(session.openChannel("exec")).andReturn(channel);
     }
 
     private void prepareChannel(String pCommand, int pExitStatus) throws JSchException, IOException {
-        channel.setErrStream((OutputStream) anyObject());
+        final Capture<OutputStream> channelError = new Capture<OutputStream>();
+        channel.setErrStream(capture(channelError));
         channel.setOutputStream((OutputStream) anyObject());
         channel.setInputStream((InputStream) anyObject());
         channel.setCommand(pCommand);
         channel.connect(CONNECTTION_TIMEOUT);
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                channelError.getValue().close();
+                return null;
+            }
+        });
         expect(channel.getOutputStream()).andReturn(outStream);
-        expect(channel.isClosed()).andReturn(false);
-        expect(channel.isClosed()).andReturn(true).times(2);
+        expect(channel.isClosed()).andReturn(true);
         expect(channel.getExitStatus()).andReturn(pExitStatus);
         expect(channel.isConnected()).andReturn(true);
     }
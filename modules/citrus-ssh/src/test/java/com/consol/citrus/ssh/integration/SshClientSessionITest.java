@@ -0,0 +1,224 @@
+/*
+ * Copyright 2006-2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.consol.citrus.ssh.integration;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.ssh.SshRequest;
+import com.consol.citrus.ssh.XmlMapper;
+import com.consol.citrus.ssh.client.SshClient;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.apache.sshd.SshServer;
+import org.apache.sshd.common.keyprovider.ResourceKeyPairProvider;
+import org.apache.sshd.server.*;
+import org.apache.sshd.server.session.ServerSession;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.easymock.EasyMock.*;
+
+/**
+ * Runs ssh client against real SSH server in order to check command completion on channel close
+ * and session pooling with reconnect of stale sessions.
+ *
+ * @author Christoph Deppisch
+ * @since 2.1
+ */
+public class SshClientSessionITest extends AbstractTestNGUnitTest {
+
+    /** Command execution time on server */
+    private static final long COMMAND_DELAY = 500L;
+
+    /** Client command timeout, completion must be signaled long before */
+    private static final long COMMAND_TIMEOUT = 10000L;
+
+    private SshServer sshd;
+    private SshClient client;
+
+    /** Number of successful authentications on server */
+    private AtomicInteger authentications = new AtomicInteger();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        ServerSocket socket = new ServerSocket(0);
+        int port = socket.getLocalPort();
+        socket.close();
+
+        sshd = SshServer.setUpDefaultServer();
+        sshd.setPort(port);
+        sshd.setKeyPairProvider(new ResourceKeyPairProvider(new String[] { "com/consol/citrus/ssh/citrus.pem" }));
+        sshd.setPasswordAuthenticator(new PasswordAuthenticator() {
+            public boolean authenticate(String username, String password, ServerSession session) {
+                authentications.incrementAndGet();
+                return username.equals("citrus") && password.equals("admin");
+            }
+        });
+        sshd.setCommandFactory(new CommandFactory() {
+            public Command createCommand(String command) {
+                return new EchoCommand(command);
+            }
+        });
+        sshd.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws InterruptedException {
+        if (sshd != null) {
+            sshd.stop();
+        }
+    }
+
+    @BeforeMethod
+    public void setup() {
+        authentications.set(0);
+
+        client = new SshClient();
+        client.getEndpointConfiguration().setHost("localhost");
+        client.getEndpointConfiguration().setPort(sshd.getPort());
+        client.getEndpointConfiguration().setUser("citrus");
+        client.getEndpointConfiguration().setPassword("admin");
+        client.getEndpointConfiguration().setCommandTimeout(COMMAND_TIMEOUT);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void destroyClient() {
+        client.destroy();
+    }
+
+    @Test
+    public void testCommandCompletion() {
+        long start = System.currentTimeMillis();
+        Message response = send("hello", "Citrus");
+
+        long duration = System.currentTimeMillis() - start;
+
+        Assert.assertTrue(duration >= COMMAND_DELAY, "Command completion not awaited");
+        Assert.assertTrue(duration < COMMAND_TIMEOUT / 2, "Channel close not signaled");
+        Assert.assertTrue(response.getPayload(String.class).contains("<stdout><![CDATA[hello Citrus]]></stdout>"), response.getPayload(String.class));
+        Assert.assertTrue(response.getPayload(String.class).contains("<exit>3</exit>"), response.getPayload(String.class));
+    }
+
+    @Test
+    public void testSessionReuse() {
+        send("first", "Citrus");
+        send("second", "Citrus");
+
+        Assert.assertEquals(authentications.get(), 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReconnectStaleSession() throws JSchException {
+        Session staleSession = createMock(Session.class);
+        expect(staleSession.isConnected()).andReturn(true).anyTimes();
+        expect(staleSession.openChannel("exec")).andThrow(new JSchException("session is down"));
+        staleSession.disconnect();
+        expectLastCall().once();
+        replay(staleSession);
+
+        Queue<Session> idleSessions = new ConcurrentLinkedQueue<Session>();
+        idleSessions.add(staleSession);
+        ((Map<String, Queue<Session>>) ReflectionTestUtils.getField(client, "sessions")).put("citrus", idleSessions);
+
+        Message response = send("retry", "Citrus");
+        Assert.assertTrue(response.getPayload(String.class).contains("<stdout><![CDATA[retry Citrus]]></stdout>"), response.getPayload(String.class));
+        Assert.assertEquals(authentications.get(), 1);
+
+        verify(staleSession);
+    }
+
+    /**
+     * Sends command with standard input and receives the response.
+     * @param command
+     * @param stdin
+     * @return
+     */
+    private Message send(String command, String stdin) {
+        // request mapping is not under test here, keep it independent from XStream reflection support of this JVM
+        final SshRequest request = new SshRequest(command, stdin);
+        client.getEndpointConfiguration().setXmlMapper(new XmlMapper() {
+            @Override
+            public Object fromXML(String xml) {
+                return request;
+            }
+        });
+
+        client.send(new DefaultMessage(command), context);
+        return client.receive(context);
+    }
+
+    /**
+     * Command answers with command name followed by standard input after some delay and exits with status 3.
+     */
+    private static class EchoCommand implements Command, Runnable {
+        private final String command;
+        private InputStream in;
+        private OutputStream out;
+        private ExitCallback exitCallback;
+
+        public EchoCommand(String command) {
+            this.command = command;
+        }
+
+        public void setInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        public void setOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        public void setErrorStream(OutputStream err) {
+        }
+
+        public void setExitCallback(ExitCallback callback) {
+            this.exitCallback = callback;
+        }
+
+        public void start(Environment env) throws IOException {
+            new Thread(this).start();
+        }
+
+        public void run() {
+            try {
+                String stdin = FileCopyUtils.copyToString(new InputStreamReader(in));
+                Thread.sleep(COMMAND_DELAY);
+
+                out.write((command + " " + stdin).getBytes());
+                out.flush();
+                exitCallback.onExit(3);
+            } catch (Exception e) {
+                exitCallback.onExit(1, e.getMessage());
+            }
+        }
+
+        public void destroy() {
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.consol.citrus.vertx.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractMessageConsumer;
 import org.slf4j.Logger;
@@ -25,7 +26,15 @@ import org.slf4j.LoggerFactory;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Consumer registers a single message handler on the Vert.x event bus address as soon as it is created. Handler
+ * stays registered and buffers all incoming messages in a bounded queue that receive operations drain. So
+ * messages arriving before or between receive operations are not lost.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
@@ -37,12 +46,15 @@ public class VertxConsumer extends AbstractMessageConsumer {
     /** Endpoint configuration */
     private final VertxEndpointConfiguration endpointConfiguration;
 
+    /** Event bus handler buffering incoming messages */
+    private final VertxBufferingMessageHandler messageHandler;
+
+    /** Whether handler is registered on event bus address */
+    private boolean registered = false;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(VertxConsumer.class);
 
-    /** Retry logger */
-    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.MessageRetryLogger");
-
     /**
      * Default constructor using endpoint.
      * @param name
@@ -53,40 +65,29 @@ public class VertxConsumer extends AbstractMessageConsumer {
         super(name, endpointConfiguration);
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
+
+        this.messageHandler = new VertxBufferingMessageHandler(endpointConfiguration.getMessageBufferSize());
+        register();
     }
 
     @Override
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
-        VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
-        vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), vertxMessageHandler);
-
-        long timeLeft = timeout;
-        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
-
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(String.format("Waiting for message on Vert.x event bus address '%s' - retrying in %s ms",
-                        endpointConfiguration.getAddress(),
-                        (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft)));
-            }
-
-            try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for message on Vert.x event bus", e);
-            }
-
-            message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
+        org.vertx.java.core.eventbus.Message vertxMessage;
+        try {
+            vertxMessage = messageHandler.getMessages().poll(Math.max(timeout, 0L), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for message on Vert.x event bus", e);
         }
 
-        if (message == null) {
+        if (vertxMessage == null) {
             throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
         }
 
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessage, endpointConfiguration);
+
         log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
         context.onInboundMessage(message);
@@ -95,29 +96,51 @@ public class VertxConsumer extends AbstractMessageConsumer {
     }
 
     /**
-     * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
-     * until subscription is unregistered automatically.
+     * Registers message handler on event bus address.
      */
-    private class VertxSingleMessageHandler implements Handler<org.vertx.java.core.eventbus.Message> {
-        private org.vertx.java.core.eventbus.Message message;
+    private synchronized void register() {
+        if (!registered) {
+            vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), messageHandler);
+            registered = true;
+        }
+    }
+
+    /**
+     * Unregisters message handler from event bus address and discards all buffered messages.
+     */
+    public synchronized void destroy() {
+        if (registered) {
+            vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), messageHandler);
+            messageHandler.getMessages().clear();
+            registered = false;
+        }
+    }
+
+    /**
+     * Vert.x message handler buffers messages received on event bus. Messages are dropped when buffer
+     * is full.
+     */
+    private class VertxBufferingMessageHandler implements Handler<org.vertx.java.core.eventbus.Message> {
+        private final BlockingQueue<org.vertx.java.core.eventbus.Message> messages;
+
+        VertxBufferingMessageHandler(int bufferSize) {
+            this.messages = new LinkedBlockingQueue<org.vertx.java.core.eventbus.Message>(bufferSize);
+        }
 
         @Override
         public void handle(org.vertx.java.core.eventbus.Message event) {
-            if (message == null) {
-                this.message = event;
-                vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), this);
-            } else {
-                log.warn("Vert.x message handler ignored message on event bus address '" + endpointConfiguration.getAddress() + "'");
+            if (!messages.offer(event)) {
+                log.warn("Vert.x message handler buffer is full - ignored message on event bus address '" + endpointConfiguration.getAddress() + "'");
                 log.debug("Vert.x message ignored is " + event);
             }
         }
 
         /**
-         * Gets the vert.x message received on event bus.
+         * Gets the vert.x messages received on event bus.
          * @return
          */
-        public org.vertx.java.core.eventbus.Message getMessage() {
-            return message;
+        public BlockingQueue<org.vertx.java.core.eventbus.Message> getMessages() {
+            return messages;
         }
     }
 
@@ -20,16 +20,20 @@ import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class VertxEndpoint extends AbstractEndpoint {
+public class VertxEndpoint extends AbstractEndpoint implements DisposableBean {
 
     /** Vert.x instance */
     private VertxInstanceFactory vertxInstanceFactory;
 
+    /** Cached consumer keeps event bus subscription across receive operations */
+    private VertxConsumer vertxMessageConsumer;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -53,9 +57,20 @@ public class VertxEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Consumer createConsumer() {
-        return new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public synchronized Consumer createConsumer() {
+        if (vertxMessageConsumer == null) {
+            vertxMessageConsumer = new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxMessageConsumer;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (vertxMessageConsumer != null) {
+            vertxMessageConsumer.destroy();
+        }
     }
 
     @Override
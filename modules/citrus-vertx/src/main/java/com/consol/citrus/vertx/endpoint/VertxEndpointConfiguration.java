@@ -37,9 +37,12 @@ public class VertxEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should use publish subscribe */
     private boolean pubSubDomain = false;
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time between reply message lookups when waiting for synchronous reply, waiting stops early as soon as reply arrives */
     private long pollingInterval = 500;
 
+    /** Maximum number of received messages buffered by consumer */
+    private int messageBufferSize = 1000;
+
     /** Message converter */
     private VertxMessageConverter messageConverter = new VertxMessageConverter();
 
@@ -138,4 +141,20 @@ public class VertxEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setMessageConverter(VertxMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the maximum number of received messages buffered by consumer.
+     * @return
+     */
+    public int getMessageBufferSize() {
+        return messageBufferSize;
+    }
+
+    /**
+     * Sets the maximum number of received messages buffered by consumer.
+     * @param messageBufferSize
+     */
+    public void setMessageBufferSize(int messageBufferSize) {
+        this.messageBufferSize = messageBufferSize;
+    }
 }
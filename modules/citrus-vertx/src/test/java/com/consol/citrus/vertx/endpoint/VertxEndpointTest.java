@@ -16,8 +16,10 @@
 
 package com.consol.citrus.vertx.endpoint;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.vertx.factory.SingleVertxInstanceFactory;
@@ -31,6 +33,9 @@ import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -99,7 +104,7 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
     }
 
     @Test
-    public void testVertxEndpointConsumer() {
+    public void testVertxEndpointConsumer() throws Exception {
         String eventBusAddress = "news-feed";
         VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
         endpointConfiguration.setAddress(eventBusAddress);
@@ -132,6 +137,100 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_ADDRESS), eventBusAddress);
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_REPLY_ADDRESS), "replyAddress");
 
+        vertxEndpoint.destroy();
+
+        verify(vertx, eventBus, messageMock);
+    }
+
+    @Test
+    public void testVertxEndpointConsumerBuffersMessages() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setMessageBufferSize(2);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final org.vertx.java.core.eventbus.Message secondMessageMock = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+        final org.vertx.java.core.eventbus.Message droppedMessageMock = EasyMock.createMock(org.vertx.java.core.eventbus.Message.class);
+
+        reset(vertx, eventBus, messageMock);
+
+        expect(messageMock.body()).andReturn("Hello from Vertx!").once();
+        expect(messageMock.address()).andReturn(eventBusAddress).once();
+        expect(messageMock.replyAddress()).andReturn("replyAddress").once();
+
+        expect(secondMessageMock.body()).andReturn("Hello again!").once();
+        expect(secondMessageMock.address()).andReturn(eventBusAddress).once();
+        expect(secondMessageMock.replyAddress()).andReturn("replyAddress").once();
+
+        expect(vertx.eventBus()).andReturn(eventBus).once();
+        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                Handler handler = (Handler) getCurrentArguments()[1];
+                handler.handle(messageMock);
+                handler.handle(secondMessageMock);
+                handler.handle(droppedMessageMock);
+                return eventBus;
+            }
+        }).once();
+
+        replay(vertx, eventBus, messageMock, secondMessageMock, droppedMessageMock);
+
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 1000L).getPayload(), "Hello from Vertx!");
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 1000L).getPayload(), "Hello again!");
+
+        try {
+            vertxEndpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing action timeout exception");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains(eventBusAddress));
+        }
+
+        verify(vertx, eventBus, messageMock, secondMessageMock, droppedMessageMock);
+    }
+
+    @Test
+    public void testVertxEndpointConsumerRegistersOnCreation() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final List<Handler> handlers = new ArrayList<Handler>();
+
+        reset(vertx, eventBus, messageMock);
+
+        expect(messageMock.body()).andReturn("Hello from Vertx!").once();
+        expect(messageMock.address()).andReturn(eventBusAddress).once();
+        expect(messageMock.replyAddress()).andReturn("replyAddress").once();
+
+        expect(vertx.eventBus()).andReturn(eventBus).times(2);
+        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                handlers.add((Handler) getCurrentArguments()[1]);
+                return eventBus;
+            }
+        }).once();
+        expect(eventBus.unregisterHandler(eq(eventBusAddress), anyObject(Handler.class))).andReturn(eventBus).once();
+
+        replay(vertx, eventBus, messageMock);
+
+        Consumer consumer = vertxEndpoint.createConsumer();
+        Assert.assertEquals(handlers.size(), 1);
+
+        // message published before first receive operation
+        handlers.get(0).handle(messageMock);
+
+        Assert.assertEquals(consumer.receive(context, 1000L).getPayload(), "Hello from Vertx!");
+
+        vertxEndpoint.destroy();
+
         verify(vertx, eventBus, messageMock);
     }
 